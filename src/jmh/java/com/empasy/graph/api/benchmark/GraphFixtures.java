@@ -0,0 +1,199 @@
+package com.empasy.graph.api.benchmark;
+
+import com.empasy.graph.api.entity.GraphStyle;
+import com.empasy.graph.api.repository.GraphStyleRepository;
+import com.empasy.graph.api.util.GraphUtil;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalPath;
+import org.neo4j.driver.internal.InternalRelationship;
+import org.neo4j.driver.types.Entity;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Relationship;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * 벤치마크용 합성 드라이버 값(Node/Relationship/Path)과 DB 없이 동작하는 GraphUtil 을 만듭니다.
+ * 같은 seed 로 항상 같은 그래프를 만들어 실행 간 결과를 비교할 수 있게 합니다.
+ */
+public final class GraphFixtures {
+
+    private static final String[] LABELS = {"Person", "Movie", "Company", "Device", "Account", "Location", "Event", "Document"};
+    private static final String[] TYPES = {"ACTED_IN", "DIRECTED", "WORKS_AT", "OWNS", "LOCATED_IN", "ATTENDED", "MENTIONS"};
+    private static final String[] DIRECTIONS = {"OUTGOING", "INCOMING"};
+    private static final String[] RAW_PROPERTY_TYPES = {"String", "Long", "Double", "Boolean", "StringArray", "LongArray",
+            "LIST OF STRING", "List<String>", "Date", "DateTime", "LocalDateTime", "Point"};
+
+    private static final long SEED = 42L;
+
+    private GraphFixtures() {
+    }
+
+    /**
+     * 라벨마다 캡션 설정이 있는 스타일을 돌려주는 스텁 저장소를 사용합니다. (요청 단위 캐시 동작은 운영과 같음)
+     */
+    public static GraphUtil graphUtil() {
+        GraphStyleRepository repository = (GraphStyleRepository) Proxy.newProxyInstance(
+                GraphStyleRepository.class.getClassLoader(),
+                new Class<?>[]{GraphStyleRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByLabelAndElementType".equals(method.getName())) {
+                        return Optional.of(style((String) args[0], (String) args[1]));
+                    }
+                    return switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "GraphStyleRepositoryStub";
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        return new GraphUtil(repository);
+    }
+
+    /**
+     * elements 개(노드 + 릴레이션) 안팎의 요소로 이루어진 길이 1~3 경로 행을 만듭니다. 노드는 여러 경로에서 재사용됩니다.
+     */
+    public static List<Map<String, Object>> pathRows(int elements) {
+        Random random = new Random(SEED);
+        int nodeCount = Math.max(2, elements / 2);
+        List<Node> nodes = nodes(nodeCount, random);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        int relationships = 0;
+        while (relationships < elements - nodeCount) {
+            int length = 1 + random.nextInt(3);
+            List<Entity> entities = new ArrayList<>();
+            Node current = nodes.get(random.nextInt(nodeCount));
+            entities.add(current);
+            for (int i = 0; i < length; i++) {
+                Node next = nodes.get(random.nextInt(nodeCount));
+                entities.add(relationship(relationships++, current, next, random));
+                entities.add(next);
+                current = next;
+            }
+            rows.add(Map.of("p", new InternalPath(entities)));
+        }
+        return rows;
+    }
+
+    /**
+     * 노드 상세(중심 노드 + 이웃) 조회 결과 행 (n, r, connectedNode) 을 만듭니다.
+     */
+    public static List<Map<String, Object>> neighborRows(int neighbors) {
+        Random random = new Random(SEED);
+        List<Node> nodes = nodes(neighbors + 1, random);
+        Node center = nodes.get(0);
+
+        List<Map<String, Object>> rows = new ArrayList<>(neighbors);
+        for (int i = 1; i <= neighbors; i++) {
+            Node neighbor = nodes.get(i);
+            boolean outgoing = random.nextBoolean();
+            Relationship rel = relationship(i, outgoing ? center : neighbor, outgoing ? neighbor : center, random);
+            Map<String, Object> row = new HashMap<>();
+            row.put("n", center);
+            row.put("r", rel);
+            row.put("connectedNode", neighbor);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * 확장 통계 조회 결과 행 (relType, targetLabels, direction, cnt) 을 만듭니다.
+     */
+    public static List<Map<String, Object>> expansionRows(int count) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of(
+                    "relType", TYPES[random.nextInt(TYPES.length)],
+                    "targetLabels", List.of(LABELS[random.nextInt(LABELS.length)]),
+                    "direction", DIRECTIONS[random.nextInt(DIRECTIONS.length)],
+                    "cnt", (long) random.nextInt(1000)));
+        }
+        return rows;
+    }
+
+    /**
+     * 검색바 스키마의 (라벨 수 x 프로퍼티 수) 만큼의 원본 프로퍼티 타입 문자열입니다.
+     */
+    public static List<String> rawPropertyTypes(int count) {
+        Random random = new Random(SEED);
+        List<String> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            types.add(RAW_PROPERTY_TYPES[random.nextInt(RAW_PROPERTY_TYPES.length)]);
+        }
+        return types;
+    }
+
+    private static List<Node> nodes(int count, Random random) {
+        List<Node> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String label = LABELS[random.nextInt(LABELS.length)];
+            nodes.add(new InternalNode(i, "4:bench:" + i, List.of(label), properties(i, random)));
+        }
+        return nodes;
+    }
+
+    private static Relationship relationship(long id, Node start, Node end, Random random) {
+        Map<String, Value> properties = new HashMap<>();
+        properties.put("since", Values.value(LocalDate.of(2000 + random.nextInt(25), 1 + random.nextInt(12), 1)));
+        properties.put("weight", Values.value(random.nextDouble()));
+        properties.put("role", Values.value("role-" + random.nextInt(100)));
+        return new InternalRelationship(id, "5:bench:" + id, start.id(), start.elementId(), end.id(), end.elementId(),
+                TYPES[random.nextInt(TYPES.length)], properties);
+    }
+
+    /**
+     * 운영 데이터와 비슷하게 문자열, 숫자, 날짜, 리스트가 섞인 20개 내외의 프로퍼티입니다.
+     */
+    private static Map<String, Value> properties(int index, Random random) {
+        Map<String, Value> properties = new HashMap<>();
+        properties.put("name", Values.value("name-" + index));
+        properties.put("title", Values.value("title " + index + " " + randomText(random, 24)));
+        properties.put("description", Values.value(randomText(random, 256)));
+        properties.put("code", Values.value(Integer.toHexString(random.nextInt())));
+        properties.put("score", Values.value(random.nextDouble() * 100));
+        properties.put("rank", Values.value((long) random.nextInt(10_000)));
+        properties.put("active", Values.value(random.nextBoolean()));
+        properties.put("tags", Values.value(List.of(randomText(random, 8), randomText(random, 8), randomText(random, 8))));
+        properties.put("createdAt", Values.value(OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                .plusMinutes(random.nextInt(1_000_000))));
+        properties.put("birthDate", Values.value(LocalDate.of(1950 + random.nextInt(70), 1 + random.nextInt(12), 1)));
+        for (int i = 0; i < 10; i++) {
+            properties.put("attr" + i, Values.value(randomText(random, 32)));
+        }
+        return properties;
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static GraphStyle style(String label, String elementType) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("color", "#" + Integer.toHexString(label.hashCode() & 0xFFFFFF));
+        config.put("size", 40);
+        if ("NODE".equals(elementType)) {
+            config.put("captions", List.of(
+                    Map.of("property", "nodeLabel", "showOnNode", true),
+                    Map.of("property", "name", "showOnNode", true),
+                    Map.of("property", "title", "showOnNode", false)));
+        }
+        return GraphStyle.builder()
+                .label(label)
+                .elementType(elementType)
+                .styleConfig(config)
+                .build();
+    }
+}
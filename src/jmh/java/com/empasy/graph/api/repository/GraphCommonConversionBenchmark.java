@@ -0,0 +1,60 @@
+package com.empasy.graph.api.repository;
+
+import com.empasy.graph.api.benchmark.GraphFixtures;
+import com.empasy.graph.api.dto.GraphDetailDto;
+import com.empasy.graph.api.dto.GraphExpansionStatsDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphCommonRepository 의 결과 변환 경로 벤치마크입니다.
+ * - convertToGraphDetailDto: 노드 이웃 조회 (n, r, connectedNode) 행
+ * - convertToExpansionStatsDto: 확장 통계 (relType, targetLabels, direction, cnt) 행
+ * - formatPropertyType: 검색바 스키마 프로퍼티 타입 표기 변환
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphCommonConversionBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int elements;
+
+    private GraphCommonRepository graphCommonRepository;
+    private List<Map<String, Object>> neighborRows;
+    private List<Map<String, Object>> expansionRows;
+    private List<String> rawPropertyTypes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graphCommonRepository = new GraphCommonRepository(null, GraphFixtures.graphUtil(), null, null);
+        // 이웃 행은 릴레이션 + 이웃 노드 두 요소씩
+        neighborRows = GraphFixtures.neighborRows(elements / 2);
+        expansionRows = GraphFixtures.expansionRows(elements);
+        rawPropertyTypes = GraphFixtures.rawPropertyTypes(elements);
+    }
+
+    @Benchmark
+    public GraphDetailDto convertToGraphDetailDto() {
+        return graphCommonRepository.convertToGraphDetailDto(neighborRows);
+    }
+
+    @Benchmark
+    public GraphExpansionStatsDto convertToExpansionStatsDto() {
+        return graphCommonRepository.convertToExpansionStatsDto(expansionRows);
+    }
+
+    @Benchmark
+    public void formatPropertyType(Blackhole blackhole) {
+        for (String rawType : rawPropertyTypes) {
+            blackhole.consume(GraphCommonRepository.formatPropertyType(rawType));
+        }
+    }
+}
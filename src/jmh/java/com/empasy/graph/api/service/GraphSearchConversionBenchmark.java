@@ -0,0 +1,39 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.benchmark.GraphFixtures;
+import com.empasy.graph.api.dto.GraphSearchResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블록 검색 결과(Path 행) -> 노드/릴레이션 맵 변환(convertToGroupData 의 convert 단계) 벤치마크입니다.
+ * 처리량과 지연 시간 분포를 측정하고, 할당률은 -prof gc 로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphSearchConversionBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int elements;
+
+    private GraphSearchService graphSearchService;
+    private List<Map<String, Object>> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graphSearchService = new GraphSearchService(null, GraphFixtures.graphUtil(), null, null, null, null, null, null);
+        rows = GraphFixtures.pathRows(elements);
+    }
+
+    @Benchmark
+    public GraphSearchResponseDto convertRows() {
+        return graphSearchService.convertRows(rows);
+    }
+}
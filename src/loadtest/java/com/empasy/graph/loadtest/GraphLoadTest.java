@@ -0,0 +1,230 @@
+package com.empasy.graph.loadtest;
+
+import com.empasy.graph.api.EmpasyGraphApiApplication;
+import com.empasy.graph.api.entity.GraphCypherQuery;
+import com.empasy.graph.api.entity.GraphScene;
+import com.empasy.graph.api.entity.GraphStyle;
+import com.empasy.graph.api.repository.GraphCypherQueryRepository;
+import com.empasy.graph.api.repository.GraphSceneRepository;
+import com.empasy.graph.api.repository.GraphStyleRepository;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 엔드포인트 부하 테스트 하네스입니다. in-process Neo4j 하네스와 MariaDB 모드 H2(vcisodb 대체)로 애플리케이션을 띄우고,
+ * 합성 그래프와 스타일/씬/저장 쿼리를 넣은 뒤 엔드포인트별로 동시 호출해 지연 시간 백분위와 처리량을 출력합니다.
+ * <p>
+ * 실행: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="-Dloadtest.concurrency=16 -Dloadtest.duration-seconds=60"
+ * <ul>
+ *     <li>loadtest.concurrency: 동시 요청 수 (기본 8)</li>
+ *     <li>loadtest.warmup-seconds / loadtest.duration-seconds: 엔드포인트별 예열 / 측정 시간 (기본 5 / 30)</li>
+ *     <li>loadtest.persons / loadtest.movies: 합성 그래프 크기 (기본 5000 / 1000)</li>
+ *     <li>loadtest.endpoints: 실행할 엔드포인트 이름 (쉼표 구분, 기본 전체)</li>
+ * </ul>
+ */
+public final class GraphLoadTest {
+
+    private static final String API = "/api/v1";
+    private static final int SAMPLE_NODES = 200;
+
+    private GraphLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+        int persons = Integer.getInteger("loadtest.persons", 5000);
+        int movies = Integer.getInteger("loadtest.movies", 1000);
+        Set<String> selected = parseEndpoints(System.getProperty("loadtest.endpoints", ""));
+
+        try (Neo4j neo4j = Neo4jBuilders.newInProcessBuilder()
+                .withDisabledServer()
+                .withFixture(db -> {
+                    fixture(persons, movies).forEach(db::executeTransactionally);
+                    return null;
+                })
+                .build()) {
+
+            SpringApplication application = new SpringApplication(EmpasyGraphApiApplication.class);
+            application.setAdditionalProfiles("loadtest");
+            try (ConfigurableApplicationContext context = application.run(
+                    "--spring.neo4j.uri=" + neo4j.boltURI(),
+                    "--server.port=0")) {
+
+                long sceneId = seedMariaDb(context);
+                List<String> personIds = sampleElementIds(context.getBean(Driver.class));
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                List<LoadScenario> scenarios = scenarios("http://localhost:" + port + API, sceneId, personIds).stream()
+                        .filter(scenario -> selected.isEmpty() || selected.contains(scenario.name()))
+                        .toList();
+
+                System.out.printf("Load test: concurrency=%d, warmup=%ds, duration=%ds, persons=%d, movies=%d%n",
+                        concurrency, warmup.toSeconds(), duration.toSeconds(), persons, movies);
+                LoadRunner runner = new LoadRunner(concurrency, warmup, duration);
+                List<LoadRunner.Result> results = new ArrayList<>();
+                for (LoadScenario scenario : scenarios) {
+                    results.add(runner.run(scenario));
+                }
+                print(results);
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Person -[:ACTED_IN|DIRECTED]-> Movie, Person -[:FOLLOWS]-> Person 으로 이루어진 합성 그래프입니다. 문장마다 별도 트랜잭션으로 실행합니다.
+     */
+    private static List<String> fixture(int persons, int movies) {
+        return List.of(
+                "CREATE INDEX person_name IF NOT EXISTS FOR (p:Person) ON (p.name)",
+                "CREATE INDEX movie_title IF NOT EXISTS FOR (m:Movie) ON (m.title)",
+                """
+                UNWIND range(0, %d - 1) AS i
+                CREATE (:Person {name: 'person-' + i, born: 1940 + i %% 70, email: 'person' + i + '@example.com'})
+                """.formatted(persons),
+                """
+                UNWIND range(0, %d - 1) AS i
+                CREATE (:Movie {title: 'movie-' + i, released: 1970 + i %% 55, tagline: 'tagline of movie ' + i})
+                """.formatted(movies),
+                """
+                MATCH (p:Person) WITH collect(p) AS people
+                MATCH (m:Movie) WITH people, collect(m) AS films
+                UNWIND range(0, size(people) - 1) AS i
+                UNWIND range(0, 2) AS k
+                WITH people[i] AS p, films[(i * 7 + k * 13) % size(films)] AS m, k
+                CREATE (p)-[:ACTED_IN {roles: ['role-' + k]}]->(m)
+                """,
+                """
+                MATCH (p:Person) WITH collect(p) AS people
+                MATCH (m:Movie) WITH people, collect(m) AS films
+                UNWIND range(0, size(people) - 1, 10) AS i
+                WITH people[i] AS p, films[i % size(films)] AS m
+                CREATE (p)-[:DIRECTED]->(m)
+                """,
+                """
+                MATCH (p:Person) WITH collect(p) AS people
+                UNWIND range(0, size(people) - 1) AS i
+                UNWIND range(1, 3) AS k
+                WITH people[i] AS p, people[(i + k * 31) % size(people)] AS q
+                CREATE (p)-[:FOLLOWS]->(q)
+                """);
+    }
+
+    /**
+     * vcisodb 테이블(tb_graph_style, tb_graph_scene, tb_graph_cypher_query)에 테스트용 행을 넣고 씬 id 를 반환합니다.
+     */
+    private static long seedMariaDb(ConfigurableApplicationContext context) {
+        GraphStyleRepository styles = context.getBean(GraphStyleRepository.class);
+        for (String label : List.of("Person", "Movie")) {
+            styles.save(GraphStyle.builder()
+                    .label(label)
+                    .elementType("NODE")
+                    .styleConfig(Map.of("color", "#4C8EDA", "size", 40,
+                            "captions", List.of(Map.of("property", "Person".equals(label) ? "name" : "title", "showOnNode", true))))
+                    .build());
+        }
+        for (String type : List.of("ACTED_IN", "DIRECTED", "FOLLOWS")) {
+            styles.save(GraphStyle.builder()
+                    .label(type)
+                    .elementType("RELATIONSHIP")
+                    .styleConfig(Map.of("color", "#A5ABB6", "width", 2))
+                    .build());
+        }
+
+        context.getBean(GraphCypherQueryRepository.class).save(GraphCypherQuery.builder()
+                .title("actors of recent movies")
+                .cypherQuery("MATCH p=(:Person)-[:ACTED_IN]->(m:Movie) WHERE m.released >= 2010 RETURN p LIMIT 500")
+                .queryType("GRAPH")
+                .build());
+
+        GraphScene scene = context.getBean(GraphSceneRepository.class).save(GraphScene.builder()
+                .sceneName("load-test scene")
+                .sceneQuery("")
+                .sceneConfig(Map.of("cypherBlocks", searchBlocks()))
+                .build());
+        return scene.getId();
+    }
+
+    private static List<String> sampleElementIds(Driver driver) {
+        return driver.executableQuery("MATCH (p:Person) RETURN elementId(p) AS id LIMIT $limit")
+                .withParameters(Map.of("limit", SAMPLE_NODES))
+                .execute()
+                .records()
+                .stream()
+                .map((Record record) -> record.get("id").asString())
+                .toList();
+    }
+
+    private static List<Map<String, Object>> searchBlocks() {
+        return List.of(
+                Map.of("type", "NODE", "label", "Person",
+                        "properties", Map.of("born", Map.of("value", 1980, "operator", "GREATER_THAN_OR_EQUAL", "type", "Long"))),
+                Map.of("type", "RELATIONSHIP", "label", "ACTED_IN", "direction", "OUT"),
+                Map.of("type", "NODE", "label", "Movie"));
+    }
+
+    private static List<LoadScenario> scenarios(String baseUrl, long sceneId, List<String> personIds) {
+        String searchBody = """
+                {"limit": 300, "cyphers": [
+                  {"type": "NODE", "label": "Person", "properties": {"born": {"value": 1980, "operator": "GREATER_THAN_OR_EQUAL", "type": "Long"}}},
+                  {"type": "RELATIONSHIP", "label": "ACTED_IN", "direction": "OUT"},
+                  {"type": "NODE", "label": "Movie"}
+                ]}""";
+        String batchBody = """
+                {"criteriaList": [
+                  {"relation": "ACTED_IN", "direction": "OUT", "targetLabel": "Movie"},
+                  {"relation": "FOLLOWS", "direction": "OUT", "targetLabel": "Person"}
+                ]}""";
+
+        return List.of(
+                new LoadScenario("graph-search", i -> post(baseUrl + "/graph/search", searchBody)),
+                new LoadScenario("neighbors-batch", i -> post(
+                        baseUrl + "/graph/node/" + encode(personIds.get(i % personIds.size())) + "/neighbors/batch", batchBody)),
+                new LoadScenario("nodes-table", i -> post(baseUrl + "/nodes/table",
+                        "{\"label\": \"Person\", \"pageIndex\": " + (i % 20) + ", \"pageSize\": 50}")),
+                new LoadScenario("graph-scene", i -> HttpRequest.newBuilder(URI.create(baseUrl + "/graph-scene/" + sceneId))
+                        .GET()
+                        .build()));
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String encode(String elementId) {
+        return java.net.URLEncoder.encode(elementId, java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    private static Set<String> parseEndpoints(String value) {
+        Set<String> endpoints = new HashSet<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) endpoints.add(name.trim());
+        }
+        return endpoints;
+    }
+
+    private static void print(List<LoadRunner.Result> results) {
+        System.out.printf("%n%-18s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        for (LoadRunner.Result result : results) {
+            System.out.printf("%-18s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Ms(), result.p90Ms(), result.p99Ms(), result.maxMs());
+        }
+    }
+}
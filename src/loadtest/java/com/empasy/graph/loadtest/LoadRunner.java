@@ -0,0 +1,117 @@
+package com.empasy.graph.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시나리오 하나를 정해진 동시성으로 일정 시간 동안 반복 호출하고 지연 시간 분포와 처리량을 집계합니다.
+ * 워커마다 지연 시간을 따로 모은 뒤 합치므로 측정 중에는 공유 상태 경합이 없습니다.
+ */
+class LoadRunner {
+
+    private final HttpClient httpClient;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadRunner(int concurrency, Duration warmup, Duration duration) {
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    Result run(LoadScenario scenario) throws InterruptedException {
+        if (!warmup.isZero()) {
+            drive(scenario, warmup);
+        }
+        return drive(scenario, duration);
+    }
+
+    private Result drive(LoadScenario scenario, Duration length) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger sequence = new AtomicInteger();
+        long deadline = System.nanoTime() + length.toNanos();
+
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                Worker worker = new Worker();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(
+                                scenario.requestFactory().apply(sequence.getAndIncrement()),
+                                HttpResponse.BodyHandlers.discarding());
+                        worker.record(System.nanoTime() - start, response.statusCode() < 400);
+                    } catch (Exception e) {
+                        worker.record(System.nanoTime() - start, false);
+                    }
+                }
+                return worker;
+            }));
+        }
+
+        Worker total = new Worker();
+        try {
+            for (Future<Worker> future : futures) {
+                total.merge(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed for " + scenario.name(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return total.toResult(scenario.name(), length);
+    }
+
+    record Result(String endpoint, long requests, long errors, double throughput,
+                  double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) errors++;
+        }
+
+        void merge(Worker other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Result toResult(String endpoint, Duration length) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(endpoint, count, errors, count / (length.toMillis() / 1000.0),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * fraction) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.empasy.graph.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.IntFunction;
+
+/**
+ * 부하 테스트 대상 엔드포인트 하나입니다. requestFactory 는 반복 번호를 받아 매번 새 요청을 만듭니다. (대상 노드 순환 등)
+ */
+record LoadScenario(String name, IntFunction<HttpRequest> requestFactory) {
+}
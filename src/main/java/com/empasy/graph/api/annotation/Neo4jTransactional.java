@@ -1,6 +1,7 @@
 package com.empasy.graph.api.annotation;
 
 import org.springframework.core.annotation.AliasFor;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.annotation.*;
@@ -23,4 +24,7 @@ public @interface Neo4jTransactional {
 
     @AliasFor(annotation = Transactional.class)
     boolean readOnly() default false;
+
+    @AliasFor(annotation = Transactional.class)
+    Propagation propagation() default Propagation.REQUIRED;
 }
@@ -11,6 +11,7 @@ public enum GraphQueryType {
     SCHEMA_INFO("""
             CALL db.schema.nodeTypeProperties()
             YIELD nodeType, propertyName, propertyTypes
+            WHERE propertyName IS NULL OR NOT propertyName STARTS WITH '_ci_'
             WITH replace(nodeType, ':', '') AS label,
                  propertyName,
                  head(propertyTypes) AS type
@@ -31,6 +32,8 @@ public enum GraphQueryType {
         CALL apoc.meta.nodeTypeProperties()
         YIELD nodeLabels, propertyName, propertyTypes
         UNWIND nodeLabels AS label
+        WITH label, propertyName, propertyTypes
+        WHERE propertyName IS NULL OR NOT propertyName STARTS WITH '_ci_'
         WITH DISTINCT label, propertyName AS property, propertyTypes[0] AS type
         WITH label, collect({key: property, type: type}) AS props
         WITH collect({label: label, properties: props}) AS nodeSchema
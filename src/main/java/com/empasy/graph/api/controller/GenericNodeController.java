@@ -1,6 +1,7 @@
 package com.empasy.graph.api.controller;
 
 import com.empasy.graph.api.dto.*;
+import com.empasy.graph.api.service.GenericNodeBulkService;
 import com.empasy.graph.api.service.GenericNodeService;
 import com.empasy.graph.api.support.BaseResponse;
 import com.empasy.graph.api.support.BaseRestControllerV2;
@@ -11,8 +12,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.Collection;
 import java.util.Map;
@@ -23,6 +26,7 @@ import java.util.Map;
 public class GenericNodeController extends BaseRestControllerV2 {
 
     private final GenericNodeService genericNodeService;
+    private final GenericNodeBulkService genericNodeBulkService;
 
     @GetMapping("/{label}")
     @Operation(description = "라벨 조회")
@@ -71,6 +75,81 @@ public class GenericNodeController extends BaseRestControllerV2 {
         return deferShortTimeDb(() -> BaseResponse.success(genericNodeService.createNode(requestDto)));
     }
 
+    @PostMapping("/bulk-create")
+    @Operation(description = "노드 대량 생성")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphBulkNodeResponseDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphBulkNodeResponseDto>> createNodes(@RequestBody GraphBulkCreateNodeRequestDto requestDto) {
+        return deferShortTimeDb(longRequestTimeoutMs, () -> BaseResponse.success(genericNodeBulkService.createNodes(requestDto, null)));
+    }
+
+    @PostMapping(value = "/bulk-create/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "노드 대량 생성 (배치별 진행 상황 스트리밍)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Batch progress events followed by the final result",
+                    content = @Content(schema = @Schema(implementation = GraphBulkProgressDto.class), mediaType = "application/x-ndjson"))
+    }
+    )
+    public ResponseBodyEmitter createNodesStream(@RequestBody GraphBulkCreateNodeRequestDto requestDto) {
+        return streamShortTimeDb(longRequestTimeoutMs, sender -> BaseResponse.success(
+                genericNodeBulkService.createNodes(requestDto, sender::accept)));
+    }
+
+    @PostMapping("/bulk-update")
+    @Operation(description = "노드 대량 수정")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphBulkNodeResponseDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphBulkNodeResponseDto>> updateNodes(@RequestBody GraphBulkUpdateNodeRequestDto requestDto) {
+        return deferShortTimeDb(longRequestTimeoutMs, () -> BaseResponse.success(genericNodeBulkService.updateNodes(requestDto, null)));
+    }
+
+    @PostMapping(value = "/bulk-update/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "노드 대량 수정 (배치별 진행 상황 스트리밍)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Batch progress events followed by the final result",
+                    content = @Content(schema = @Schema(implementation = GraphBulkProgressDto.class), mediaType = "application/x-ndjson"))
+    }
+    )
+    public ResponseBodyEmitter updateNodesStream(@RequestBody GraphBulkUpdateNodeRequestDto requestDto) {
+        return streamShortTimeDb(longRequestTimeoutMs, sender -> BaseResponse.success(
+                genericNodeBulkService.updateNodes(requestDto, sender::accept)));
+    }
+
+    @PostMapping("/bulk-delete")
+    @Operation(description = "노드 대량 삭제")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphBulkNodeResponseDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphBulkNodeResponseDto>> deleteNodes(@RequestBody GraphBulkDeleteNodeRequestDto requestDto) {
+        return deferShortTimeDb(longRequestTimeoutMs, () -> BaseResponse.success(genericNodeBulkService.deleteNodes(requestDto, null)));
+    }
+
+    @PostMapping(value = "/bulk-delete/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "노드 대량 삭제 (배치별 진행 상황 스트리밍)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Batch progress events followed by the final result",
+                    content = @Content(schema = @Schema(implementation = GraphBulkProgressDto.class), mediaType = "application/x-ndjson"))
+    }
+    )
+    public ResponseBodyEmitter deleteNodesStream(@RequestBody GraphBulkDeleteNodeRequestDto requestDto) {
+        return streamShortTimeDb(longRequestTimeoutMs, sender -> BaseResponse.success(
+                genericNodeBulkService.deleteNodes(requestDto, sender::accept)));
+    }
+
     @PutMapping("/{id}")
     @Operation(description = "노드 수정")
     @ApiResponses(value = {
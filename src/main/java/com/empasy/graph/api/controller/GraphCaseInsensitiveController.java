@@ -0,0 +1,48 @@
+package com.empasy.graph.api.controller;
+
+import com.empasy.graph.api.dto.GraphShadowBackfillDto;
+import com.empasy.graph.api.service.GraphCaseInsensitiveService;
+import com.empasy.graph.api.support.BaseResponse;
+import com.empasy.graph.api.support.BaseRestControllerV2;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/graph/case-insensitive")
+@RequiredArgsConstructor
+public class GraphCaseInsensitiveController extends BaseRestControllerV2 {
+
+    private final GraphCaseInsensitiveService graphCaseInsensitiveService;
+
+    @GetMapping
+    @Operation(description = "대소문자 무시 검색에 인덱스를 사용하는 라벨별 프로퍼티 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server")
+    }
+    )
+    public DeferredResult<BaseResponse<Map<String, List<String>>>> getIndexedProperties() {
+        return deferShortTimeDb(() -> BaseResponse.success(graphCaseInsensitiveService.getIndexedProperties()));
+    }
+
+    @PostMapping("/backfill")
+    @Operation(description = "기존 노드의 섀도 프로퍼티(소문자 값) 채우기 및 인덱스 생성")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphShadowBackfillDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphShadowBackfillDto>> backfill(@RequestBody GraphShadowBackfillDto requestDto) {
+        return deferShortTimeDb(longRequestTimeoutMs, () -> BaseResponse.success(graphCaseInsensitiveService.backfill(requestDto)));
+    }
+}
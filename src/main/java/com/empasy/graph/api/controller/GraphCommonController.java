@@ -2,9 +2,13 @@ package com.empasy.graph.api.controller;
 
 import com.empasy.graph.api.dto.*;
 import com.empasy.graph.api.service.GraphCommonService;
+import com.empasy.graph.api.service.GraphDegreeStatsService;
+import com.empasy.graph.api.service.GraphLayoutService;
+import com.empasy.graph.api.service.GraphPathService;
 import com.empasy.graph.api.service.GraphSearchService;
 import com.empasy.graph.api.support.BaseResponse;
 import com.empasy.graph.api.support.BaseRestControllerV2;
+import com.empasy.graph.api.support.GraphMetrics;
 import com.empasy.graph.api.support.ResultCode;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,13 +17,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/v1/graph")
@@ -27,7 +35,22 @@ import java.util.Map;
 public class GraphCommonController extends BaseRestControllerV2 {
 
     private final GraphCommonService graphCommonService;
+    private final GraphPathService graphPathService;
+    private final GraphLayoutService graphLayoutService;
     private final GraphSearchService graphSearchService;
+    private final GraphDegreeStatsService graphDegreeStatsService;
+
+    /**
+     * /query 결과가 행 수/메모리 제한으로 잘렸을 때 사유(ROW_LIMIT | BYTE_LIMIT)를 담는 응답 헤더입니다.
+     */
+    public static final String RESULT_TRUNCATED_HEADER = "X-Result-Truncated";
+
+    private static final Pattern TIMEOUT_PATTERN = Pattern.compile("\\s*\\d{1,18}\\s*");
+    // 쿼리 트랜잭션 타임아웃이 먼저 만료되어 Neo4j 오류가 그대로 응답되도록 요청 타임아웃을 조금 더 길게 둔다
+    private static final long QUERY_TIMEOUT_MARGIN_MS = 5000L;
+
+    @Value("${graph.query.max-timeout-ms:120000}")
+    private long maxQueryTimeoutMs;
 
     @GetMapping("/schema")
     @Operation(description = "노드 스키마 조회")
@@ -37,8 +60,9 @@ public class GraphCommonController extends BaseRestControllerV2 {
                     content = @Content(schema = @Schema(implementation = GraphSchemaDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<Collection<GraphSchemaDto>>> getSchemaInfo() {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.getSchemaInfo()));
+    public DeferredResult<BaseResponse<Collection<GraphSchemaDto>>> getSchemaInfo(WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphCommonService.graphDataEtag("schema"),
+                () -> BaseResponse.success(graphCommonService.getSchemaInfo()));
     }
 
     @GetMapping("/labels")
@@ -49,8 +73,9 @@ public class GraphCommonController extends BaseRestControllerV2 {
                     content = @Content(schema = @Schema(implementation = GraphLabelCountDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<Collection<GraphLabelCountDto>>> getLabelCounts() {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.getLabelCounts()));
+    public DeferredResult<BaseResponse<Collection<GraphLabelCountDto>>> getLabelCounts(WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphCommonService.graphDataEtag("labels"),
+                () -> BaseResponse.success(graphCommonService.getLabelCounts()));
     }
 
     @GetMapping("/search-bar")
@@ -61,23 +86,52 @@ public class GraphCommonController extends BaseRestControllerV2 {
                     content = @Content(schema = @Schema(implementation = GraphSearchBarDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<GraphSearchBarDto>> getSearchBarData() {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.getSearchBarData()));
+    public DeferredResult<BaseResponse<GraphSearchBarDto>> getSearchBarData(WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphCommonService.graphDataEtag("search-bar"),
+                () -> BaseResponse.success(graphCommonService.getSearchBarData()));
     }
 
     @PostMapping("/query")
-    @Operation(description = "싸이퍼 쿼리 조회")
+    @Operation(description = "싸이퍼 쿼리 조회 (결과 행 목록. 행 수/메모리 제한에 걸리면 잘린 행까지만 반환하고 X-Result-Truncated 헤더에 사유(ROW_LIMIT | BYTE_LIMIT)를 담음)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Get results from server")
     }
     )
-    public DeferredResult<BaseResponse<Collection<Map<String, Object>>>> executeQuery(@RequestBody Map<String, String> body) {
+    public DeferredResult<ResponseEntity<BaseResponse<Collection<Map<String, Object>>>>> executeQuery(@RequestBody Map<String, String> body) {
         String query = body.get("query");
-        if (query == null || query.trim().isEmpty()) {
+        String timeout = body.get("timeoutMs");
+        if (query == null || query.trim().isEmpty() || !isValidTimeout(timeout)) {
+            return deferShortTimeDb(() -> ResponseEntity.ok(BaseResponse.of(ResultCode.INVALID_PARAMETER)));
+        }
+        Long timeoutMs = (timeout == null || timeout.isBlank()) ? null : Long.valueOf(timeout.trim());
+        return deferShortTimeDb(queryRequestTimeoutMs(), () -> {
+            GraphCypherResultDto result = graphCommonService.executeCypher(query, timeoutMs);
+            // 본문 형태는 그대로 두고 잘림 여부만 헤더로 알린다
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.isTruncated()) {
+                response.header(RESULT_TRUNCATED_HEADER, result.getTruncatedReason());
+            }
+            return response.body(BaseResponse.success(result.getRows()));
+        });
+    }
+
+    @PostMapping("/query/result")
+    @Operation(description = "싸이퍼 쿼리 조회 (결과 행과 잘림 여부, 예상 크기, 실행 계획 경고)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphCypherResultDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphCypherResultDto>> executeQueryWithResult(@RequestBody Map<String, String> body) {
+        String query = body.get("query");
+        String timeout = body.get("timeoutMs");
+        if (query == null || query.trim().isEmpty() || !isValidTimeout(timeout)) {
             return deferShortTimeDb(() -> BaseResponse.of(ResultCode.INVALID_PARAMETER));
         }
-        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.executeCypher(query)));
+        Long timeoutMs = (timeout == null || timeout.isBlank()) ? null : Long.valueOf(timeout.trim());
+        return deferShortTimeDb(queryRequestTimeoutMs(), () -> BaseResponse.success(graphCommonService.executeCypher(query, timeoutMs)));
     }
 
     @PostMapping("/validate")
@@ -104,19 +158,39 @@ public class GraphCommonController extends BaseRestControllerV2 {
     }
     )
     public DeferredResult<BaseResponse<GraphSearchResponseDto>> searchGraph(@RequestBody GraphSearchRequestDto requestDto) {
-        return deferShortTimeDb(() -> BaseResponse.success(graphSearchService.searchByCyphers(requestDto)));
+        return deferShortTimeDb(() -> BaseResponse.success(
+                graphLayoutService.applyLayout(requestDto, graphSearchService.searchByCyphers(requestDto))
+        ));
     }
 
     @GetMapping("/node/{elementId}/neighbors")
-    @Operation(description = "노드의 관련 노드,릴레이션 조회")
+    @Operation(description = "노드의 관련 노드,릴레이션 조회 (summarizeSupernode=true 이면 슈퍼노드는 라벨 단위 요약, 응답 summarized = true)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphDetailDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphDetailDto>> getNodeNeighbors(
+            @PathVariable String elementId,
+            @RequestParam(defaultValue = "false") boolean summarizeSupernode
+    ) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.findNodeAndNeighbors(elementId, summarizeSupernode)));
+    }
+
+    @GetMapping("/node/{elementId}/neighbors/summary")
+    @Operation(description = "노드의 이웃을 라벨(+프로퍼티)/릴레이션 타입 단위로 요약 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Get results from server",
                     content = @Content(schema = @Schema(implementation = GraphDetailDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<GraphDetailDto>> getNodeNeighbors(@PathVariable String elementId) {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.findNodeAndNeighbors(elementId)));
+    public DeferredResult<BaseResponse<GraphDetailDto>> getNodeNeighborsSummary(
+            @PathVariable String elementId,
+            @RequestParam(required = false) String property
+    ) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphCommonService.summarizeNeighbors(elementId, property)));
     }
 
     @GetMapping("/node/{elementId}/neighbors/specific")
@@ -158,6 +232,37 @@ public class GraphCommonController extends BaseRestControllerV2 {
     }
 
 
+    @PostMapping("/node/{elementId}/expand")
+    @Operation(description = "노드 기준 k-홉 확장 (홉별 조건, 노드 수 제한)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphDetailDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphDetailDto>> expandNeighborhood(
+            @PathVariable String elementId,
+            @RequestBody GraphMultiHopRequestDto requestDto
+    ) {
+        return deferShortTimeDb(() -> BaseResponse.success(
+                graphCommonService.expandNeighborhood(elementId, requestDto)
+        ));
+    }
+
+
+    @PostMapping("/paths")
+    @Operation(description = "두 노드 사이의 경로 탐색 (짧은 순서로 최대 k 개)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphPathResponseDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphPathResponseDto>> findPaths(@RequestBody GraphPathRequestDto requestDto) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphPathService.findPaths(requestDto)));
+    }
+
+
     @PostMapping("/node/{elementId}/expansion-stats")
     @Operation(description = "노드의 관련 노드,릴레이션 stats 조회")
     @ApiResponses(value = {
@@ -175,5 +280,39 @@ public class GraphCommonController extends BaseRestControllerV2 {
         ));
     }
 
-}
+    @GetMapping("/degree-stats")
+    @Operation(description = "라벨별 차수 분포 및 슈퍼노드 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphDegreeStatsDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphDegreeStatsDto>> getDegreeStats(
+            @RequestParam(defaultValue = "100") int limit) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphDegreeStatsService.getStats(limit)));
+    }
+
+    @GetMapping("/metrics")
+    @Operation(description = "내부 카운터 조회 (요청 취소 등)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server")
+    }
+    )
+    public DeferredResult<BaseResponse<Map<String, Long>>> getMetrics() {
+        return deferShortTimeDb(() -> BaseResponse.success(GraphMetrics.snapshot()));
+    }
+
 
+    private long queryRequestTimeoutMs() {
+        return Math.max(requestTimeoutMs, maxQueryTimeoutMs + QUERY_TIMEOUT_MARGIN_MS);
+    }
+
+    /**
+     * timeoutMs 는 생략하거나(기본값 사용) 0 이상의 정수여야 합니다.
+     */
+    private boolean isValidTimeout(String timeout) {
+        return timeout == null || timeout.isBlank() || TIMEOUT_PATTERN.matcher(timeout).matches();
+    }
+}
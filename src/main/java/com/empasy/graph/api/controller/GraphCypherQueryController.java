@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
@@ -32,8 +33,9 @@ public class GraphCypherQueryController extends BaseRestControllerV2 {
     )
 
     public DeferredResult<BaseResponse<List<GraphCypherQueryDto>>> getAllQueries(
-            @RequestParam(required = false) String queryType) {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCypherQueryService.getAllQueries(queryType)));
+            @RequestParam(required = false) String queryType, WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphCypherQueryService.queriesEtag(queryType, false),
+                () -> BaseResponse.success(graphCypherQueryService.getAllQueries(queryType)));
     }
 
     @GetMapping("/valid")
@@ -45,8 +47,9 @@ public class GraphCypherQueryController extends BaseRestControllerV2 {
     }
     )
     public DeferredResult<BaseResponse<List<GraphCypherQueryDto>>> getValidQueries(
-            @RequestParam(required = false) String queryType) {
-        return deferShortTimeDb(() -> BaseResponse.success(graphCypherQueryService.getValidQueries(queryType)));
+            @RequestParam(required = false) String queryType, WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphCypherQueryService.queriesEtag(queryType, true),
+                () -> BaseResponse.success(graphCypherQueryService.getValidQueries(queryType)));
     }
 
     @GetMapping("/{id}")
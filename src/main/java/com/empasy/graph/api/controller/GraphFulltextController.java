@@ -0,0 +1,80 @@
+package com.empasy.graph.api.controller;
+
+import com.empasy.graph.api.dto.GraphFulltextIndexDto;
+import com.empasy.graph.api.dto.GraphFulltextSearchResponseDto;
+import com.empasy.graph.api.service.GraphFulltextService;
+import com.empasy.graph.api.support.BaseResponse;
+import com.empasy.graph.api.support.BaseRestControllerV2;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/graph/fulltext")
+@RequiredArgsConstructor
+public class GraphFulltextController extends BaseRestControllerV2 {
+
+    private final GraphFulltextService graphFulltextService;
+
+    @GetMapping("/indexes")
+    @Operation(description = "전문 인덱스 목록 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphFulltextIndexDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<List<GraphFulltextIndexDto>>> getIndexes() {
+        return deferShortTimeDb(() -> BaseResponse.success(graphFulltextService.getIndexes()));
+    }
+
+    @PostMapping("/indexes")
+    @Operation(description = "전문 인덱스 생성")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphFulltextIndexDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphFulltextIndexDto>> createIndex(@RequestBody GraphFulltextIndexDto requestDto) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphFulltextService.createIndex(requestDto)));
+    }
+
+    @DeleteMapping("/indexes/{name}")
+    @Operation(description = "전문 인덱스 삭제")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server")
+    }
+    )
+    public DeferredResult<BaseResponse<Void>> dropIndex(@PathVariable String name) {
+        return deferShortTimeDb(() -> {
+            graphFulltextService.dropIndex(name);
+            return BaseResponse.success();
+        });
+    }
+
+    @GetMapping("/search")
+    @Operation(description = "전문 인덱스 검색 (점수순, 페이지)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphFulltextSearchResponseDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<GraphFulltextSearchResponseDto>> search(
+            @RequestParam String index,
+            @RequestParam String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean raw) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphFulltextService.search(index, query, page, size, raw)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.empasy.graph.api.controller;
+
+import com.empasy.graph.api.dto.GraphIndexRecommendationDto;
+import com.empasy.graph.api.service.GraphIndexAdvisorService;
+import com.empasy.graph.api.support.BaseResponse;
+import com.empasy.graph.api.support.BaseRestControllerV2;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/graph/index-advisor")
+@RequiredArgsConstructor
+public class GraphIndexAdvisorController extends BaseRestControllerV2 {
+
+    private final GraphIndexAdvisorService graphIndexAdvisorService;
+
+    @GetMapping
+    @Operation(description = "검색 조건 통계 기반 인덱스 추천 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphIndexRecommendationDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<List<GraphIndexRecommendationDto>>> getRecommendations(
+            @RequestParam(required = false) Long minCount,
+            @RequestParam(defaultValue = "false") boolean includeCovered) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphIndexAdvisorService.getRecommendations(minCount, includeCovered)));
+    }
+
+    @PostMapping("/apply")
+    @Operation(description = "추천 인덱스 생성 (body: names = suggestedName 목록)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphIndexRecommendationDto.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<List<GraphIndexRecommendationDto>>> applyRecommendations(
+            @RequestBody Map<String, List<String>> body) {
+        return deferShortTimeDb(longRequestTimeoutMs, () -> BaseResponse.success(graphIndexAdvisorService.applyRecommendations(body.get("names"))));
+    }
+
+    @DeleteMapping("/stats")
+    @Operation(description = "검색 조건 통계 초기화")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server")
+    }
+    )
+    public DeferredResult<BaseResponse<Void>> resetStats() {
+        return deferShortTimeDb(() -> {
+            graphIndexAdvisorService.resetStats();
+            return BaseResponse.success();
+        });
+    }
+}
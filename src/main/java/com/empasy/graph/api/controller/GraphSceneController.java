@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
@@ -30,8 +31,9 @@ public class GraphSceneController extends BaseRestControllerV2 {
                     content = @Content(schema = @Schema(implementation = GraphSceneDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<List<GraphSceneDto>>> getAllScenes() {
-        return deferShortTimeDb(() -> BaseResponse.success(graphSceneService.getAllScenes()));
+    public DeferredResult<BaseResponse<List<GraphSceneDto>>> getAllScenes(WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphSceneService.scenesEtag(),
+                () -> BaseResponse.success(graphSceneService.getAllScenes()));
     }
 
     @GetMapping("/{id}")
@@ -42,8 +44,9 @@ public class GraphSceneController extends BaseRestControllerV2 {
                     content = @Content(schema = @Schema(implementation = GraphSceneDto.class), mediaType = "application/json"))
     }
     )
-    public DeferredResult<BaseResponse<GraphSceneDto>> getSceneById(@PathVariable Long id) {
-        return deferShortTimeDb(() -> BaseResponse.success(graphSceneService.getSceneById(id)));
+    public DeferredResult<BaseResponse<GraphSceneDto>> getSceneById(@PathVariable Long id,
+                                                                    @RequestParam(defaultValue = "false") boolean refresh) {
+        return deferShortTimeDb(() -> BaseResponse.success(graphSceneService.getSceneById(id, refresh)));
     }
 
     @PostMapping
@@ -11,12 +11,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/graph/style")
 @RequiredArgsConstructor
@@ -24,6 +28,19 @@ public class GraphStyleController extends BaseRestControllerV2 {
 
     private final GraphStyleService graphStyleService;
 
+    @GetMapping
+    @Operation(description = "라벨 스타일 전체 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Get results from server",
+                    content = @Content(schema = @Schema(implementation = GraphStyle.class), mediaType = "application/json"))
+    }
+    )
+    public DeferredResult<BaseResponse<List<GraphStyle>>> getAllStyles(WebRequest webRequest) {
+        return deferShortTimeDbIfModified(webRequest, graphStyleService.stylesEtag(),
+                () -> BaseResponse.success(graphStyleService.getAllStyles()));
+    }
+
     @PostMapping
     @Operation(description = "라벨 스타일 저장")
     @ApiResponses(value = {
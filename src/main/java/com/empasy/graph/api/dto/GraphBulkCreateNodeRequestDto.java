@@ -0,0 +1,18 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphBulkCreateNodeRequestDto {
+    @Schema(title = "노드 리스트", description = "생성할 노드(라벨, 프로퍼티스) 리스트")
+    private List<GraphCreateNodeRequestDto> nodes;
+    @Schema(title = "배치 크기", description = "트랜잭션당 생성할 노드 수 (미입력시 서버 기본값)")
+    private Integer batchSize;
+}
@@ -0,0 +1,23 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphBulkDeleteNodeRequestDto {
+    @Schema(title = "엘리먼트 ID 리스트", description = "삭제 대상 엘리먼트 ID (label 과 둘 중 하나 필수)")
+    private List<String> elementIds;
+    @Schema(title = "라벨", description = "삭제 대상 라벨")
+    private String label;
+    @Schema(title = "필터", description = "라벨 대상일 때 프로퍼티 일치 조건")
+    private Map<String, Object> filter;
+    @Schema(title = "배치 크기", description = "트랜잭션당 삭제할 노드/릴레이션 수 (미입력시 서버 기본값)")
+    private Integer batchSize;
+}
@@ -0,0 +1,23 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+public class GraphBulkNodeResponseDto {
+    @Schema(title = "처리 건수", description = "처리된 노드 수")
+    private long processedCount;
+    @Schema(title = "배치 수", description = "실행된 트랜잭션(배치) 수")
+    private int batchCount;
+    @Schema(title = "릴레이션 삭제 건수", description = "노드 삭제 전에 분할 삭제된 릴레이션 수")
+    private long relationshipCount;
+    @Schema(title = "엘리먼트 ID 리스트", description = "요청 순서대로 정렬된 생성 노드 엘리먼트 ID")
+    private List<String> elementIds;
+    @Schema(title = "라벨별 스타일", description = "라벨별 스타일")
+    private Map<String, Map<String, Object>> styles;
+}
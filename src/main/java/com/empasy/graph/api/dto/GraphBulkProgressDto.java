@@ -0,0 +1,26 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class GraphBulkProgressDto {
+    @Schema(title = "단계", description = "CREATE, UPDATE, DELETE_RELATIONSHIP, DELETE_NODE")
+    private String phase;
+    @Schema(title = "라벨", description = "배치 대상 라벨")
+    private String label;
+    @Schema(title = "배치 번호", description = "배치 번호 (0부터 시작)")
+    private int batchIndex;
+    @Schema(title = "배치 처리 건수", description = "이번 배치에서 처리된 건수")
+    private long batchCount;
+    @Schema(title = "누적 처리 건수", description = "누적 처리 건수")
+    private long processed;
+    @Schema(title = "전체 건수", description = "전체 건수 (알 수 없는 경우 -1)")
+    private long total;
+    @Schema(title = "엘리먼트 ID 리스트", description = "이번 배치에서 생성된 엘리먼트 ID")
+    private List<String> elementIds;
+}
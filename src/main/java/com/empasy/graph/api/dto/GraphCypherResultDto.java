@@ -0,0 +1,29 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphCypherResultDto {
+    @Schema(title = "결과 행", description = "쿼리 결과 행")
+    private List<Map<String, Object>> rows;
+    @Schema(title = "행 수", description = "반환된 행 수")
+    private int rowCount;
+    @Schema(title = "잘림 여부", description = "행 수/메모리 제한으로 결과가 잘렸는지 여부")
+    private boolean truncated;
+    @Schema(title = "잘림 사유", description = "ROW_LIMIT | BYTE_LIMIT")
+    private String truncatedReason;
+    @Schema(title = "예상 크기", description = "반환된 결과의 대략적인 메모리 크기(bytes)")
+    private long approximateBytes;
+    @Schema(title = "경고", description = "실행 계획 검사 경고")
+    private List<String> warnings;
+}
@@ -0,0 +1,66 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphDegreeStatsDto {
+    @Schema(title = "계산 시각", description = "통계를 마지막으로 계산한 시각 (계산 전이면 null)")
+    private OffsetDateTime computedAt;
+    @Schema(title = "계산 소요 시간", description = "ms")
+    private long elapsedMs;
+    @Schema(title = "라벨별 차수 분포", description = "라벨별 차수 히스토그램")
+    private List<LabelDegreeDto> labels;
+    @Schema(title = "슈퍼노드 기준 차수", description = "릴레이션 타입별 기준 차수, '*' 는 전체 차수 기준")
+    private Map<String, Long> thresholds;
+    @Schema(title = "슈퍼노드 수", description = "등록된 전체 슈퍼노드 수")
+    private int supernodeCount;
+    @Schema(title = "슈퍼노드 목록", description = "전체 차수 내림차순, 요청한 개수까지만 포함")
+    private List<SupernodeDto> supernodes;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LabelDegreeDto {
+        @Schema(title = "라벨", description = "라벨")
+        private String label;
+        @Schema(title = "샘플 노드 수", description = "분포 계산에 사용한 노드 수")
+        private long sampledNodes;
+        @Schema(title = "평균 차수", description = "평균 차수")
+        private double averageDegree;
+        @Schema(title = "최대 차수", description = "샘플 중 최대 차수")
+        private long maxDegree;
+        @Schema(title = "p50 차수", description = "히스토그램 구간 상한으로 추정한 중앙값")
+        private long p50Degree;
+        @Schema(title = "p99 차수", description = "히스토그램 구간 상한으로 추정한 99 백분위수")
+        private long p99Degree;
+        @Schema(title = "히스토그램", description = "0 번째는 차수 0, i 번째는 차수가 [2^(i-1), 2^i) 인 노드 수")
+        private List<Long> buckets;
+    }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SupernodeDto {
+        @Schema(title = "elementId", description = "노드 elementId")
+        private String elementId;
+        @Schema(title = "라벨", description = "노드 라벨")
+        private List<String> labels;
+        @Schema(title = "전체 차수", description = "전체 릴레이션 수")
+        private long degree;
+        @Schema(title = "타입별 차수", description = "기준 차수를 넘은 릴레이션 타입의 차수")
+        private Map<String, Long> degreeByType;
+    }
+}
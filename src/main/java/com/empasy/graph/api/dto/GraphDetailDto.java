@@ -23,4 +23,8 @@ public class GraphDetailDto {
     private Map<String, Long> nodeCount;
     @Schema(title = "릴레이션 총 갯수", description = "릴레이션 총 갯수")
     private Map<String, Long> relationCount;
+    @Schema(title = "summarized", description = "라벨 단위 요약 결과 여부 (nodes/relationships 가 meta 요약 노드/요약 릴레이션, id 는 meta:Label 형식)")
+    private boolean summarized;
+    @Schema(title = "truncated", description = "행 제한/노드 예산에 걸려 일부 결과가 빠진 부분 그래프인지 여부 (다중 홉 확장)")
+    private boolean truncated;
 }
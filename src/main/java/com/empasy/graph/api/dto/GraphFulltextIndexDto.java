@@ -0,0 +1,30 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphFulltextIndexDto {
+    @Schema(title = "인덱스 이름", description = "영문자로 시작하는 영문자/숫자/_ 조합")
+    private String name;
+    @Schema(title = "대상 종류", description = "NODE | RELATIONSHIP (기본 NODE)")
+    private String entityType;
+    @Schema(title = "라벨/타입 목록", description = "인덱스 대상 라벨 또는 릴레이션 타입")
+    private List<String> labelsOrTypes;
+    @Schema(title = "프로퍼티 목록", description = "인덱스 대상 프로퍼티")
+    private List<String> properties;
+    @Schema(title = "analyzer", description = "Lucene analyzer 이름 (없으면 Neo4j 기본값)")
+    private String analyzer;
+    @Schema(title = "상태", description = "ONLINE, POPULATING 등 (조회 시)")
+    private String state;
+    @Schema(title = "생성 진행률", description = "populationPercent (조회 시)")
+    private Double populationPercent;
+}
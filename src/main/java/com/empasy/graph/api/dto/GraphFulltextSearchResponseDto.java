@@ -0,0 +1,27 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphFulltextSearchResponseDto {
+    @Schema(title = "검색 결과", description = "노드(또는 릴레이션) 맵, score 포함, 점수 내림차순")
+    private List<Map<String, Object>> items;
+    @Schema(title = "페이지", description = "0 부터 시작")
+    private int page;
+    @Schema(title = "페이지 크기", description = "페이지 크기")
+    private int size;
+    @Schema(title = "다음 페이지 여부", description = "다음 페이지 여부")
+    private boolean hasNext;
+    @Schema(title = "실행한 Lucene 쿼리", description = "실행한 Lucene 쿼리")
+    private String luceneQuery;
+}
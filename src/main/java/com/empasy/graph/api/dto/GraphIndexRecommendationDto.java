@@ -0,0 +1,42 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphIndexRecommendationDto {
+    @Schema(title = "대상 종류", description = "NODE | RELATIONSHIP")
+    private String entityType;
+    @Schema(title = "라벨/타입", description = "라벨 또는 릴레이션 타입")
+    private String label;
+    @Schema(title = "프로퍼티", description = "프로퍼티")
+    private String property;
+    @Schema(title = "사용된 연산자", description = "이 인덱스 종류로 처리할 수 있는 관측된 연산자")
+    private List<String> operators;
+    @Schema(title = "인덱스 종류", description = "RANGE | TEXT | POINT | FULLTEXT")
+    private String indexType;
+    @Schema(title = "사용 횟수", description = "조건이 사용된 검색 수")
+    private long count;
+    @Schema(title = "평균 지연 시간", description = "조건이 포함된 검색의 평균 소요 시간(ms)")
+    private double averageLatencyMs;
+    @Schema(title = "최대 지연 시간", description = "조건이 포함된 검색의 최대 소요 시간(ms)")
+    private long maxLatencyMs;
+    @Schema(title = "기존 인덱스", description = "이미 조건을 처리할 수 있는 인덱스 이름 (없으면 null)")
+    private String existingIndex;
+    @Schema(title = "추천 인덱스 이름", description = "apply 요청에 사용하는 이름")
+    private String suggestedName;
+    @Schema(title = "생성 구문", description = "추천 인덱스 생성 Cypher")
+    private String createStatement;
+    @Schema(title = "섀도 프로퍼티 채우기 필요 여부", description = "true 이면 대소문자 무시 검색용 _ci_ 섀도 프로퍼티 인덱스이며, apply 시 섀도 값 채우기(backfill) 후 인덱스를 만듭니다")
+    private boolean shadowBackfill;
+    @Schema(title = "비고", description = "추천 사유 / 주의 사항")
+    private String note;
+}
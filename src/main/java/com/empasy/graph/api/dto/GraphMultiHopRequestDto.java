@@ -0,0 +1,22 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphMultiHopRequestDto {
+    @Schema(title = "최대 깊이", description = "확장할 최대 홉 수")
+    private Integer maxDepth;
+    @Schema(title = "홉별 조건", description = "i 번째 항목이 i+1 홉의 릴레이션/방향/타겟 라벨 조건. 항목이 부족하면 마지막 조건을 사용")
+    private List<GraphExpansionCriteriaDto> hops;
+    @Schema(title = "홉별 노드 수 제한", description = "한 홉에서 새로 추가할 최대 노드 수")
+    private Integer nodeBudget;
+}
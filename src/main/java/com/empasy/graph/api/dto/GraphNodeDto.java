@@ -1,5 +1,6 @@
 package com.empasy.graph.api.dto;
 
+import com.empasy.graph.api.util.ShadowPropertyUtil;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,7 +28,7 @@ public class GraphNodeDto {
                 .id(node.elementId())
                 .label(label)
                 .hasChildren(hasChildren != null ? hasChildren : false)
-                .properties(new HashMap<>(node.asMap()))
+                .properties(new HashMap<>(ShadowPropertyUtil.strip(node.asMap())))
                 .build();
     }
 }
\ No newline at end of file
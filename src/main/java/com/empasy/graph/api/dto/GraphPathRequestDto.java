@@ -0,0 +1,28 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphPathRequestDto {
+    @Schema(title = "시작 노드 id", description = "시작 노드 elementId")
+    private String sourceId;
+    @Schema(title = "도착 노드 id", description = "도착 노드 elementId")
+    private String targetId;
+    @Schema(title = "허용 릴레이션 타입", description = "비어 있으면 모든 타입 허용")
+    private List<String> relationshipTypes;
+    @Schema(title = "허용 라벨", description = "경유 노드의 허용 라벨. 비어 있으면 모든 라벨 허용 (시작/도착 노드는 제외)")
+    private List<String> labels;
+    @Schema(title = "최대 길이", description = "경로의 최대 릴레이션 수")
+    private Integer maxLength;
+    @Schema(title = "경로 수", description = "반환할 최대 경로 수(k)")
+    private Integer k;
+}
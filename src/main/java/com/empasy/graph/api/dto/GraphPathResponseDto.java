@@ -0,0 +1,40 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphPathResponseDto {
+    @Schema(title = "노드", description = "경로에 포함된 노드 (GraphDetailDto 와 같은 형식)")
+    private List<Map<String, Object>> nodes;
+    @Schema(title = "릴레이션", description = "경로에 포함된 릴레이션 (GraphDetailDto 와 같은 형식)")
+    private List<Map<String, Object>> relationships;
+    @Schema(title = "경로", description = "짧은 순서의 경로 목록")
+    private List<PathDto> paths;
+    @Schema(title = "탐색한 릴레이션 수", description = "탐색 중 조회한 릴레이션 수")
+    private long examinedRelationships;
+    @Schema(title = "중단 사유", description = "k 개를 찾기 전에 탐색이 끝난 경우 사유 (MAX_LENGTH | BUDGET | TIMEOUT | EXHAUSTED)")
+    private String stopReason;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PathDto {
+        @Schema(title = "노드 id 목록", description = "시작 노드부터 도착 노드까지 순서대로")
+        private List<String> nodeIds;
+        @Schema(title = "릴레이션 id 목록", description = "경로 순서대로")
+        private List<String> relationshipIds;
+        @Schema(title = "길이", description = "릴레이션 수")
+        private int length;
+    }
+}
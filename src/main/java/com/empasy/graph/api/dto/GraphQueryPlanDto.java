@@ -0,0 +1,32 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphQueryPlanDto {
+    @Schema(title = "루트 연산자", description = "실행 계획의 최상위 연산자")
+    private String rootOperator;
+    @Schema(title = "예상 결과 행 수", description = "루트 연산자의 EstimatedRows")
+    private double estimatedRows;
+    @Schema(title = "최대 예상 행 수", description = "실행 계획 내 연산자 중 가장 큰 EstimatedRows")
+    private double maxEstimatedRows;
+    @Schema(title = "전체 노드 스캔 여부", description = "AllNodesScan 연산자 포함 여부")
+    private boolean allNodesScan;
+    @Schema(title = "카테시안 곱 여부", description = "CartesianProduct 연산자 포함 여부")
+    private boolean cartesianProduct;
+    @Schema(title = "사용 인덱스", description = "인덱스를 사용하는 연산자의 상세 정보")
+    private List<String> indexes;
+    @Schema(title = "연산자 목록", description = "실행 계획의 연산자(전위 순회)")
+    private List<String> operators;
+    @Schema(title = "알림", description = "EXPLAIN 시 Neo4j 가 반환한 알림(성능 경고 등)")
+    private List<String> notifications;
+}
@@ -30,6 +30,11 @@ public class GraphSceneDto {
     @Schema(title = "relationsCount", description = "조건에 매칭된 릴레이션 타입별 갯수")
     private Map<String, Long> relationsCount;
 
+    @Schema(title = "countsComputedAt", description = "nodesCount/relationsCount 계산일시")
+    private OffsetDateTime countsComputedAt;
+    @Schema(title = "countsStale", description = "카운트가 오래되어 백그라운드 재계산 대상인지 여부")
+    private Boolean countsStale;
+
     @Schema(title = "sceneConfig", description = "sceneConfig JSON")
     private Map<String, Object> sceneConfig;
     @Schema(title = "createTimestamp", description = "생성일자")
@@ -44,6 +49,9 @@ public class GraphSceneDto {
                 .sceneQuery(entity.getSceneQuery())
                 .nodeCount(entity.getNodeCount())
                 .relCount(entity.getRelCount())
+                .nodesCount(entity.getNodesCount())
+                .relationsCount(entity.getRelationsCount())
+                .countsComputedAt(entity.getCountsComputedAt())
                 .sceneConfig(entity.getSceneConfig())
                 .createTimestamp(entity.getCreateTimestamp())
                 .updateTimestamp(entity.getUpdateTimestamp())
@@ -21,6 +21,18 @@ public class GraphSearchRequestDto {
     private int limit;
     @Schema(title = "caseInsensitiveSearch", description = "대소문자 구분 유무")
     private boolean caseInsensitiveSearch;
+    @Schema(title = "layout", description = "서버에서 노드 좌표(x, y)를 계산할지 여부")
+    private boolean layout;
+    @Schema(title = "sceneId", description = "씬 결과인 경우 씬 id (cyphers 가 씬 설정의 cypherBlocks 와 같을 때만 계산한 레이아웃을 씬에 캐싱)")
+    private Long sceneId;
+    @Schema(title = "summaryMode", description = "라벨 단위 요약 모드 (OFF: 요약 안 함, AUTO: 요소 수가 임계치를 넘으면 요약, ON: 항상 요약)")
+    private String summaryMode;
+    @Schema(title = "summaryProperty", description = "라벨 + 프로퍼티 값으로 묶을 때 사용할 프로퍼티 (없으면 라벨로만 묶음)")
+    private String summaryProperty;
+    @Schema(title = "drillLabel", description = "요약 노드 상세 조회 시 라벨")
+    private String drillLabel;
+    @Schema(title = "drillValue", description = "요약 노드 상세 조회 시 summaryProperty 값")
+    private String drillValue;
 
     @Getter
     @Builder
@@ -9,7 +9,7 @@ import java.util.Map;
 import lombok.Builder;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class GraphSearchResponseDto {
     @Schema(title = "nodes", description = "노드")
     private List<Map<String, Object>> nodes;
@@ -23,5 +23,11 @@ public class GraphSearchResponseDto {
     private Map<String, Long> nodeCount;
     @Schema(title = "relationCount", description = "릴레이션 갯수")
     private Map<String, Long> relationCount;
+    @Schema(title = "summarized", description = "라벨 단위 요약 결과 여부 (nodes/relationships 가 요약 노드/요약 릴레이션)")
+    private boolean summarized;
+    @Schema(title = "truncated", description = "FULLTEXT 조건의 전문 인덱스 후보가 graph.fulltext.max-candidates 에서 잘려 일부 결과가 빠졌을 수 있음")
+    private boolean truncated;
+    @Schema(title = "warnings", description = "검색 조건 처리 중 결과에 영향을 준 사항 (전문 인덱스 후보 잘림, 전문 인덱스가 없어 CONTAINS 로 대체 등)")
+    private List<String> warnings;
 
 }
@@ -0,0 +1,39 @@
+package com.empasy.graph.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphShadowBackfillDto {
+    @Schema(title = "라벨", description = "대상 노드 라벨")
+    private String label;
+    @Schema(title = "프로퍼티 목록", description = "대상 문자열 프로퍼티 (요청 시 비우면 라벨의 모든 문자열 프로퍼티)")
+    private List<String> properties;
+    @Schema(title = "프로퍼티별 결과", description = "응답에서만 사용")
+    private List<PropertyResultDto> results;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PropertyResultDto {
+        @Schema(title = "프로퍼티", description = "원본 프로퍼티")
+        private String property;
+        @Schema(title = "섀도 프로퍼티", description = "소문자 값이 저장되는 프로퍼티 (_ci_프로퍼티)")
+        private String shadowProperty;
+        @Schema(title = "갱신 노드 수", description = "섀도 값을 채우거나 고친 노드 수")
+        private long updated;
+        @Schema(title = "인덱스 이름", description = "섀도 프로퍼티 인덱스")
+        private String indexName;
+        @Schema(title = "인덱스 사용 여부", description = "ONLINE 인덱스가 있어 대소문자 무시 검색에 사용되는지 여부")
+        private boolean indexed;
+    }
+}
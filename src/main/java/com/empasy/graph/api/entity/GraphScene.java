@@ -1,9 +1,11 @@
 package com.empasy.graph.api.entity;
 
+import com.empasy.graph.api.util.SceneConfigHashUtil;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
@@ -18,6 +20,7 @@ import java.util.Map;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 @Comment("그래프 씬 테이블")
 public class GraphScene {
 
@@ -51,6 +54,33 @@ public class GraphScene {
     @Column(name = "scene_config", nullable = false, columnDefinition = "longtext")
     private Map<String, Object> sceneConfig;
 
+    @Comment("조건에 매칭된 라벨별 노드 갯수 JSON")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "nodes_count", columnDefinition = "longtext")
+    private Map<String, Long> nodesCount;
+
+    @Comment("조건에 매칭된 타입별 릴레이션 갯수 JSON")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "relations_count", columnDefinition = "longtext")
+    private Map<String, Long> relationsCount;
+
+    @Comment("카운트 계산일시 (null 이면 재계산 필요)")
+    @Column(name = "counts_computed_at")
+    private OffsetDateTime countsComputedAt;
+
+    @Comment("scene_config SHA-256 해시 (카운트 저장 시 설정이 바뀌지 않았는지 확인)")
+    @Column(name = "config_hash", length = 64)
+    private String configHash;
+
+    @Comment("연속 카운트 계산 실패 횟수")
+    @Column(name = "counts_failures", nullable = false, columnDefinition = "INT DEFAULT 0")
+    @Builder.Default
+    private Integer countsFailures = 0;
+
+    @Comment("카운트 계산 실패 후 다음 재시도 가능 일시")
+    @Column(name = "counts_retry_at")
+    private OffsetDateTime countsRetryAt;
+
     @Comment("생성일시")
     @CreationTimestamp
     @Column(name = "create_timestamp", updatable = false)
@@ -76,6 +106,11 @@ public class GraphScene {
         }
         if (sceneConfig != null) {
             this.sceneConfig = sceneConfig;
+            this.configHash = SceneConfigHashUtil.hash(sceneConfig);
+            // 조건이 바뀌었으므로 기존 카운트는 백그라운드에서 다시 계산되도록 표시
+            this.countsComputedAt = null;
+            this.countsFailures = 0;
+            this.countsRetryAt = null;
         }
     }
 }
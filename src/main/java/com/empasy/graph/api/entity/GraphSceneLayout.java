@@ -0,0 +1,49 @@
+package com.empasy.graph.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 씬 결과에 대해 서버에서 계산한 노드 좌표입니다. 노드 수만큼 커질 수 있어 씬 목록/카운트 조회 시 함께 읽히지 않도록 씬 테이블과 분리합니다.
+ */
+@Entity
+@Table(name = "tb_graph_scene_layout", schema = "vcisodb")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Comment("그래프 씬 레이아웃 테이블")
+public class GraphSceneLayout {
+
+    @Id
+    @Comment("씬 id (tb_graph_scene.id)")
+    @Column(name = "scene_id")
+    private Long sceneId;
+
+    @Comment("좌표를 계산할 때의 scene_config 해시 (씬 설정이 바뀌면 사용하지 않음)")
+    @Column(name = "config_hash", nullable = false, length = 64)
+    private String configHash;
+
+    @Comment("서버에서 계산한 노드 좌표 JSON (elementId -> [x, y])")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "scene_layout", nullable = false, columnDefinition = "longtext")
+    private Map<String, List<Double>> sceneLayout;
+
+    @Comment("수정일시")
+    @UpdateTimestamp
+    @Column(name = "update_timestamp")
+    private OffsetDateTime updateTimestamp;
+
+    public void update(String configHash, Map<String, List<Double>> sceneLayout) {
+        this.configHash = configHash;
+        this.sceneLayout = sceneLayout;
+    }
+}
@@ -2,6 +2,7 @@ package com.empasy.graph.api.repository;
 
 import com.empasy.graph.api.dto.*;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public interface GenericNodeRepository {
@@ -11,4 +12,10 @@ public interface GenericNodeRepository {
     GraphCreateNodeResponseDto createNode(GraphCreateNodeRequestDto requestDto);
     GraphCreateNodeResponseDto updateNode(String elementId, GraphUpdateNodeRequestDto requestDto);
     void deleteNode(String elementId);
+    List<String> createNodes(String label, List<Map<String, Object>> rows);
+    long updateNodes(List<String> elementIds, Map<String, Object> properties);
+    long updateNodesByLabel(String label, Map<String, Object> filter, Map<String, Object> properties, int batchSize);
+    List<String> findNodeIds(String label, Map<String, Object> filter, int limit);
+    long deleteRelationships(List<String> elementIds, int limit);
+    long deleteNodes(List<String> elementIds);
 }
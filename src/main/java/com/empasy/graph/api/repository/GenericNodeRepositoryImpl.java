@@ -1,7 +1,9 @@
 package com.empasy.graph.api.repository;
 
 import com.empasy.graph.api.dto.*;
+import com.empasy.graph.api.support.RequestTimings;
 import com.empasy.graph.api.util.GraphUtil;
+import com.empasy.graph.api.util.ShadowPropertyUtil;
 import lombok.RequiredArgsConstructor;
 import org.neo4j.cypherdsl.core.Cypher;
 import org.neo4j.cypherdsl.core.Statement;
@@ -24,7 +26,13 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
     @Override
     public Collection<Map<String, Object>> findAllByLabel(String label) {
         String query = String.format("MATCH (n:%s) RETURN n{.*, id: elementId(n)} as data", label);
-        return neo4jClient.query(query).fetch().all();
+        return neo4jClient.query(query).fetch().all().stream()
+                .map(row -> {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> data = (Map<String, Object>) row.get("data");
+                    return Map.<String, Object>of("data", ShadowPropertyUtil.strip(data));
+                })
+                .toList();
     }
 
     @Override
@@ -174,39 +182,47 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
             """.formatted(label);
         }
 
-        Long rowCount = neo4jClient.query(countQuery)
-                .bindAll(params)
-                .fetchAs(Long.class)
-                .one()
-                .orElse(0L);
+        Long rowCount;
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+            rowCount = neo4jClient.query(countQuery)
+                    .bindAll(params)
+                    .fetchAs(Long.class)
+                    .one()
+                    .orElse(0L);
+        }
 
-        Collection<Map<String, Object>> rawResults = neo4jClient.query(dataQuery)
-                .bindAll(params)
-                .fetch()
-                .all();
+        Collection<Map<String, Object>> rawResults;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            rawResults = neo4jClient.query(dataQuery)
+                    .bindAll(params)
+                    .fetch()
+                    .all();
+        }
 
         List<GraphNodeDto> finalData = new ArrayList<>();
 
-        for (Map<String, Object> row : rawResults) {
-            Object rootObj = row.get("root");
-            if (!(rootObj instanceof Node rootNode)) {
-                continue;
-            }
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            for (Map<String, Object> row : rawResults) {
+                Object rootObj = row.get("root");
+                if (!(rootObj instanceof Node rootNode)) {
+                    continue;
+                }
 
-            boolean hasTargetLabel = false;
-            for (String nodeLabel : rootNode.labels()) {
-                if (label.equals(nodeLabel)) {
-                    hasTargetLabel = true;
-                    break;
+                boolean hasTargetLabel = false;
+                for (String nodeLabel : rootNode.labels()) {
+                    if (label.equals(nodeLabel)) {
+                        hasTargetLabel = true;
+                        break;
+                    }
                 }
-            }
 
-            if (!hasTargetLabel) {
-                continue;
-            }
+                if (!hasTargetLabel) {
+                    continue;
+                }
 
-            Boolean hasChildren = row.get("hasChildren") instanceof Boolean b ? b : false;
-            finalData.add(GraphNodeDto.of(rootNode, hasChildren));
+                Boolean hasChildren = row.get("hasChildren") instanceof Boolean b ? b : false;
+                finalData.add(GraphNodeDto.of(rootNode, hasChildren));
+            }
         }
 
         return GraphLabelNodesResponseDto.builder()
@@ -262,7 +278,7 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
         String query = String.format("CREATE (n:`%s` $props) RETURN n", label);
 
         return neo4jClient.query(query)
-                .bind(properties).to("props")
+                .bind(ShadowPropertyUtil.withShadows(properties)).to("props")
                 .fetchAs(GraphCreateNodeResponseDto.class)
                 .mappedBy((typeSystem, record) -> {
                     Node node = record.get("n").asNode();
@@ -276,7 +292,7 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
                     return GraphCreateNodeResponseDto.builder()
                             .elementId(node.elementId())
                             .label(nodeLabel)
-                            .properties(node.asMap())
+                            .properties(ShadowPropertyUtil.strip(node.asMap()))
                             .style(styleConfig)
                             .build();
                 })
@@ -292,7 +308,7 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
 
         return neo4jClient.query(query)
                 .bind(elementId).to("elementId")
-                .bind(requestDto.getProperties()).to("props")
+                .bind(ShadowPropertyUtil.withShadows(requestDto.getProperties())).to("props")
                 .fetchAs(GraphCreateNodeResponseDto.class)
                 .mappedBy((typeSystem, record) -> {
                     Node node = record.get("n").asNode();
@@ -306,7 +322,7 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
                     return GraphCreateNodeResponseDto.builder()
                             .elementId(node.elementId())
                             .label(nodeLabel)
-                            .properties(node.asMap())
+                            .properties(ShadowPropertyUtil.strip(node.asMap()))
                             .style(styleConfig)
                             .build();
                 })
@@ -321,4 +337,141 @@ public class GenericNodeRepositoryImpl implements GenericNodeRepository {
                 .bind(elementId).to("elementId")
                 .run();
     }
+
+    @Override
+    public List<String> createNodes(String label, List<Map<String, Object>> rows) {
+        if (label == null || label.trim().isEmpty()) {
+            throw new IllegalArgumentException("Label cannot be empty");
+        }
+        if (rows == null || rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String query = """
+                UNWIND $rows AS row
+                CREATE (n:`%s`)
+                SET n = row
+                RETURN elementId(n) AS id
+                """.formatted(escapeName(label));
+
+        return new ArrayList<>(neo4jClient.query(query)
+                .bind(rows.stream().map(ShadowPropertyUtil::withShadows).toList()).to("rows")
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("id").asString())
+                .all());
+    }
+
+    @Override
+    public long updateNodes(List<String> elementIds, Map<String, Object> properties) {
+        String query = """
+                MATCH (n) WHERE elementId(n) IN $elementIds
+                SET n += $props
+                RETURN count(n) AS cnt
+                """;
+
+        return neo4jClient.query(query)
+                .bind(elementIds).to("elementIds")
+                .bind(ShadowPropertyUtil.withShadows(properties)).to("props")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    @Override
+    public long updateNodesByLabel(String label, Map<String, Object> filter, Map<String, Object> properties, int batchSize) {
+        Map<String, Object> params = new HashMap<>();
+        String whereClause = buildFilterClause(filter, params);
+        params.put("props", ShadowPropertyUtil.withShadows(properties));
+        params.put("batchSize", batchSize);
+
+        // 트랜잭션 메모리를 넘지 않도록 서버에서 batchSize 단위로 나누어 커밋 (auto-commit 트랜잭션에서만 동작)
+        String query = """
+                MATCH (n:`%s`) %s
+                CALL {
+                    WITH n
+                    SET n += $props
+                } IN TRANSACTIONS OF $batchSize ROWS
+                RETURN count(n) AS cnt
+                """.formatted(escapeName(label), whereClause);
+
+        return neo4jClient.query(query)
+                .bindAll(params)
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    @Override
+    public List<String> findNodeIds(String label, Map<String, Object> filter, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String whereClause = buildFilterClause(filter, params);
+        params.put("limit", limit);
+
+        String query = """
+                MATCH (n:`%s`) %s
+                RETURN elementId(n) AS id
+                LIMIT $limit
+                """.formatted(escapeName(label), whereClause);
+
+        return new ArrayList<>(neo4jClient.query(query)
+                .bindAll(params)
+                .fetchAs(String.class)
+                .all());
+    }
+
+    @Override
+    public long deleteRelationships(List<String> elementIds, int limit) {
+        String query = """
+                MATCH (n)-[r]-() WHERE elementId(n) IN $elementIds
+                WITH DISTINCT r LIMIT $limit
+                DELETE r
+                RETURN count(r) AS cnt
+                """;
+
+        return neo4jClient.query(query)
+                .bind(elementIds).to("elementIds")
+                .bind(limit).to("limit")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    @Override
+    public long deleteNodes(List<String> elementIds) {
+        // 릴레이션은 deleteRelationships 로 먼저 나누어 지운 뒤 호출되므로 DETACH 는 그 사이 생긴 릴레이션만 정리
+        String query = """
+                MATCH (n) WHERE elementId(n) IN $elementIds
+                DETACH DELETE n
+                RETURN count(n) AS cnt
+                """;
+
+        return neo4jClient.query(query)
+                .bind(elementIds).to("elementIds")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    private String buildFilterClause(Map<String, Object> filter, Map<String, Object> params) {
+        if (filter == null || filter.isEmpty()) {
+            return "";
+        }
+
+        List<String> conditions = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            if (key == null || key.trim().isEmpty()) {
+                throw new IllegalArgumentException("Filter key cannot be empty");
+            }
+            String paramName = "filter" + index++;
+            conditions.add("n.`" + escapeName(key) + "` = $" + paramName);
+            params.put(paramName, entry.getValue());
+        }
+        return "WHERE " + String.join(" AND ", conditions);
+    }
+
+    private String escapeName(String name) {
+        return name.replace("`", "``");
+    }
 }
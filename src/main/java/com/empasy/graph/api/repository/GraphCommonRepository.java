@@ -3,17 +3,38 @@ package com.empasy.graph.api.repository;
 import com.empasy.graph.api.annotation.Neo4jTransactional;
 import com.empasy.graph.api.constant.GraphQueryType;
 import com.empasy.graph.api.dto.*;
+import com.empasy.graph.api.support.RequestTimings;
+import com.empasy.graph.api.util.ElementIdInterner;
 import com.empasy.graph.api.util.GraphUtil;
+import com.empasy.graph.api.util.ShadowPropertyUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.Value;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.types.Entity;
 import org.neo4j.driver.types.Node;
 import org.neo4j.driver.types.Relationship;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
 import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.UserSelection;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Repository
@@ -23,6 +44,15 @@ public class GraphCommonRepository {
     private final Neo4jClient neo4jClient;
     private final GraphUtil graphUtil;
     private final org.neo4j.driver.Driver driver;
+    private final DatabaseSelectionProvider databaseSelectionProvider;
+
+    private static final Pattern ARRAY_PATTERN = Pattern.compile("(?i)array");
+    private static final Pattern LIST_OF_PATTERN = Pattern.compile("(?i)list of");
+    private static final Pattern LIST_PATTERN = Pattern.compile("(?i)list");
+    private static final Pattern NON_ALPHA_PATTERN = Pattern.compile("[^a-zA-Z]");
+    private static final Map<String, String> FORMATTED_TYPE_CACHE = new ConcurrentHashMap<>();
+    private static final String STATEMENT_ERROR_PREFIX = "Neo.ClientError.Statement.";
+    private static final String TRANSACTION_TIMEOUT_PREFIX = "Neo.ClientError.Transaction.TransactionTimedOut";
 
     @Neo4jTransactional(readOnly = true)
     public Collection<GraphSchemaDto> findSchemaInfo() {
@@ -69,30 +99,7 @@ public class GraphCommonRepository {
                                         .stream()
                                         .map(p -> {
                                             String propKey = p.get("key").asString();
-                                            String rawType = p.get("type").asString();
-                                            String formattedType = rawType;
-
-                                            if (rawType != null) {
-                                                String lowerType = rawType.toLowerCase();
-
-                                                if (lowerType.contains("array")) {
-                                                    String innerType = rawType.replaceAll("(?i)array", "")
-                                                            .replaceAll("[^a-zA-Z]", "") // 대괄호 등 특수문자 제거
-                                                            .toUpperCase();
-                                                    formattedType = innerType.isEmpty() ? "LIST" : "LIST(" + innerType + ")";
-                                                }
-                                                else if (lowerType.contains("[]")) {
-                                                    String innerType = rawType.replace("[]", "").replaceAll("[^a-zA-Z]", "").toUpperCase();
-                                                    formattedType = innerType.isEmpty() ? "LIST" : "LIST(" + innerType + ")";
-                                                }
-                                                else if (lowerType.contains("list")) {
-                                                    String innerType = rawType.replaceAll("(?i)list of", "")
-                                                            .replaceAll("(?i)list", "")
-                                                            .replaceAll("[^a-zA-Z]", "")
-                                                            .toUpperCase();
-                                                    formattedType = innerType.isEmpty() ? "LIST" : "LIST(" + innerType + ")";
-                                                }
-                                            }
+                                            String formattedType = formatPropertyType(p.get("type").asString());
 
                                             return new GraphSearchBarDto.PropertySchema(propKey, formattedType);
                                         })
@@ -129,6 +136,34 @@ public class GraphCommonRepository {
     }
 
 
+    /**
+     * 스키마 프로퍼티 타입 문자열을 검색바 표기(LIST(STRING) 등)로 변환합니다.
+     * 타입 종류가 많지 않으므로 변환 결과를 캐싱해 라벨/프로퍼티마다 정규식을 다시 돌리지 않습니다.
+     */
+    static String formatPropertyType(String rawType) {
+        if (rawType == null) return null;
+        return FORMATTED_TYPE_CACHE.computeIfAbsent(rawType, GraphCommonRepository::computeFormattedType);
+    }
+
+    private static String computeFormattedType(String rawType) {
+        String lowerType = rawType.toLowerCase();
+        String innerType;
+
+        if (lowerType.contains("array")) {
+            innerType = ARRAY_PATTERN.matcher(rawType).replaceAll("");
+        } else if (lowerType.contains("[]")) {
+            innerType = rawType.replace("[]", "");
+        } else if (lowerType.contains("list")) {
+            innerType = LIST_PATTERN.matcher(LIST_OF_PATTERN.matcher(rawType).replaceAll("")).replaceAll("");
+        } else {
+            return rawType;
+        }
+
+        // 대괄호 등 특수문자 제거
+        innerType = NON_ALPHA_PATTERN.matcher(innerType).replaceAll("").toUpperCase();
+        return innerType.isEmpty() ? "LIST" : "LIST(" + innerType + ")";
+    }
+
     @Neo4jTransactional(readOnly = true)
     public GraphDetailDto findNodeAndNeighbors(String elementId) {
 
@@ -139,13 +174,17 @@ public class GraphCommonRepository {
                 RETURN n, r, connectedNode
                 """;
 
-        Collection<Map<String, Object>> result = neo4jClient.query(query)
-                .bind(elementId).to("elementId")
-                .fetch()
-                .all();
-
+        Collection<Map<String, Object>> result;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            result = neo4jClient.query(query)
+                    .bind(elementId).to("elementId")
+                    .fetch()
+                    .all();
+        }
 
-        return convertToGraphDetailDto(result);
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            return convertToGraphDetailDto(result);
+        }
     }
 
     @Neo4jTransactional(readOnly = true)
@@ -178,12 +217,17 @@ public class GraphCommonRepository {
 
         String query = matchClause + "\n" + optionalMatch + "\n RETURN n, r, connectedNode";
 
-        Collection<Map<String, Object>> result = neo4jClient.query(query)
-                .bind(elementId).to("elementId")
-                .fetch()
-                .all();
+        Collection<Map<String, Object>> result;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            result = neo4jClient.query(query)
+                    .bind(elementId).to("elementId")
+                    .fetch()
+                    .all();
+        }
 
-        return convertToGraphDetailDto(result);
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            return convertToGraphDetailDto(result);
+        }
     }
 
     @Neo4jTransactional(readOnly = true)
@@ -230,10 +274,15 @@ public class GraphCommonRepository {
             runner = runner.bind(limit).to("limit");
         }
 
-        Collection<Map<String, Object>> result = runner.fetch().all();
-
+        Collection<Map<String, Object>> result;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            result = runner.fetch().all();
+        }
 
-        GraphDetailDto dto = convertToGraphDetailDto(result);
+        GraphDetailDto dto;
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            dto = convertToGraphDetailDto(result);
+        }
 
 
         Set<String> foundNodeLabels = new HashSet<>();
@@ -256,14 +305,18 @@ public class GraphCommonRepository {
         Map<String, Long> nodeCountMap = new HashMap<>();
         Map<String, Long> relationCountMap = new HashMap<>();
 
-        fetchDatabaseTotalCounts(foundNodeLabels, foundRelTypes, nodeCountMap, relationCountMap);
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+            fetchDatabaseTotalCounts(foundNodeLabels, foundRelTypes, nodeCountMap, relationCountMap);
+        }
 
         dto = dto.toBuilder()
                 .nodeCount(nodeCountMap)
                 .relationCount(relationCountMap)
                 .build();
 
-        enrichWithGlobalConnectivity(dto.getNodes());
+        try (RequestTimings.Phase phase = RequestTimings.start("connectivity")) {
+            enrichWithGlobalConnectivity(dto.getNodes());
+        }
 
         return dto;
     }
@@ -326,9 +379,333 @@ public class GraphCommonRepository {
     }
 
 
-    private GraphDetailDto convertToGraphDetailDto(Collection<Map<String, Object>> result) {
-        Map<String, Map<String, Object>> uniqueNodes = new HashMap<>();
-        Map<String, Map<String, Object>> uniqueRels = new HashMap<>();
+    /**
+     * 시작 노드에서 너비 우선으로 maxDepth 홉까지 확장합니다.
+     * 홉마다 현재 frontier 전체를 한 번의 쿼리로 조회하고, 방문한 노드는 홉 사이에서 유지해 다시 확장하지 않습니다.
+     * 결과 노드에는 시작 노드로부터의 거리(hop)가 표시됩니다.
+     * 홉별 행 제한(maxRowsPerHop)이나 홉별 노드 예산(nodeBudget)에 걸려 버려진 결과가 있으면 truncated = true 입니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public GraphDetailDto expandMultiHop(String elementId, int maxDepth, List<GraphExpansionCriteriaDto> hops,
+                                         int nodeBudget, int maxRowsPerHop) {
+
+        Entity seed;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            seed = neo4jClient.query("MATCH (n) WHERE elementId(n) = $elementId RETURN n")
+                    .bind(elementId).to("elementId")
+                    .fetchAs(Entity.class)
+                    .mappedBy((typeSystem, record) -> record.get("n").asNode())
+                    .one()
+                    .orElseThrow(() -> new IllegalArgumentException("Node not found: " + elementId));
+        }
+
+        String frontierQuery = """
+                UNWIND $frontier AS fid
+                MATCH (n) WHERE elementId(n) = fid
+                MATCH (n)-[r]-(connectedNode)
+                WHERE ($relation IS NULL OR type(r) = $relation)
+                  AND ($targetLabel IS NULL OR $targetLabel IN labels(connectedNode))
+                  AND ($direction = 'ALL'
+                       OR ($direction = 'OUT' AND startNode(r) = n)
+                       OR ($direction = 'IN' AND endNode(r) = n))
+                RETURN r, connectedNode
+                LIMIT $limit
+                """;
+
+        // 방문 여부는 elementId 핸들의 BitSet 으로만 추적하고, 결과에 포함되는 요소만 Map 으로 변환한다
+        ElementIdInterner nodeIds = new ElementIdInterner();
+        ElementIdInterner relIds = new ElementIdInterner();
+        BitSet visitedNodes = new BitSet();
+        BitSet visitedRels = new BitSet();
+        boolean truncated = false;
+
+        Map<String, Map<String, Object>> styleCache = new HashMap<>();
+        Map<String, String> nodeIdToLabelMap = new HashMap<>();
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        List<Entity> relationships = new ArrayList<>();
+
+        Map<String, Object> seedMap = mapNodeToMap(seed, styleCache);
+        seedMap.put("hop", 0);
+        nodes.add(seedMap);
+        visitedNodes.set(nodeIds.intern(seed.elementId()));
+        saveNodeLabel(seed, nodeIdToLabelMap);
+
+        List<String> frontier = List.of(seed.elementId());
+
+        for (int depth = 1; depth <= maxDepth && !frontier.isEmpty(); depth++) {
+            GraphExpansionCriteriaDto criteria = (hops == null || hops.isEmpty())
+                    ? null : hops.get(Math.min(depth - 1, hops.size() - 1));
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("frontier", frontier);
+            params.put("relation", criteria == null ? null : blankToNull(criteria.getRelation()));
+            params.put("targetLabel", criteria == null ? null : blankToNull(criteria.getTargetLabel()));
+            String direction = criteria == null ? null : blankToNull(criteria.getDirection());
+            params.put("direction", direction == null ? "ALL" : direction.toUpperCase());
+            params.put("limit", maxRowsPerHop);
+
+            Collection<Map<String, Object>> rows;
+            try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+                rows = neo4jClient.query(frontierQuery)
+                        .bindAll(params)
+                        .fetch()
+                        .all();
+            }
+            if (rows.size() >= maxRowsPerHop) {
+                truncated = true;
+            }
+
+            List<String> nextFrontier = new ArrayList<>();
+            try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+                for (Map<String, Object> row : rows) {
+                    Entity neighbor = (Entity) row.get("connectedNode");
+                    Entity relationship = (Entity) row.get("r");
+
+                    int neighborHandle = nodeIds.intern(neighbor.elementId());
+                    if (!visitedNodes.get(neighborHandle)) {
+                        if (nextFrontier.size() >= nodeBudget) {
+                            // 예산을 넘은 이웃과 그 릴레이션은 결과에서 빠지므로 부분 결과임을 표시한다
+                            truncated = true;
+                            continue;
+                        }
+
+                        Map<String, Object> neighborMap = mapNodeToMap(neighbor, styleCache);
+                        neighborMap.put("hop", depth);
+                        nodes.add(neighborMap);
+                        visitedNodes.set(neighborHandle);
+                        saveNodeLabel(neighbor, nodeIdToLabelMap);
+                        nextFrontier.add(neighbor.elementId());
+                    }
+
+                    int relHandle = relIds.intern(relationship.elementId());
+                    if (!visitedRels.get(relHandle)) {
+                        visitedRels.set(relHandle);
+                        relationships.add(relationship);
+                    }
+                }
+            }
+
+            log.debug("Multi-hop expansion. hop: {}, frontier: {}, rows: {}, new nodes: {}",
+                    depth, frontier.size(), rows.size(), nextFrontier.size());
+            frontier = nextFrontier;
+        }
+
+        List<Map<String, Object>> relationshipMaps = new ArrayList<>(relationships.size());
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            for (Entity relationship : relationships) {
+                relationshipMaps.add(mapRelationshipToMap(relationship, nodeIdToLabelMap, styleCache));
+            }
+        }
+
+        return GraphDetailDto.builder()
+                .centerNode(seedMap)
+                .nodes(nodes)
+                .relationships(relationshipMaps)
+                .truncated(truncated)
+                .build();
+    }
+
+    /**
+     * 경로 탐색용 frontier 확장입니다. 노드/릴레이션 전체가 아닌 id 만 반환합니다. (fromId, relId, toId)
+     * 라벨 허용 목록은 경유 노드에만 적용되고 endpointIds 에 포함된 노드는 항상 허용합니다.
+     * 허브 노드 하나의 확장이 탐색 시간 제한을 넘기지 않도록 남은 시간(timeoutMs)을 드라이버 트랜잭션 타임아웃으로 전달하며,
+     * 타임아웃에 걸리면 그때까지 받은 행과 timedOut = true 를 반환합니다.
+     */
+    public FrontierEdges findFrontierEdges(List<String> frontier, List<String> relationshipTypes,
+                                           List<String> labels, List<String> endpointIds, int limit, long timeoutMs) {
+        String query = """
+                UNWIND $frontier AS fid
+                MATCH (n) WHERE elementId(n) = fid
+                MATCH (n)-[r]-(m)
+                WHERE ($relTypes IS NULL OR type(r) IN $relTypes)
+                  AND ($labels IS NULL OR elementId(m) IN $endpointIds OR any(l IN labels(m) WHERE l IN $labels))
+                RETURN fid AS fromId, elementId(r) AS relId, elementId(m) AS toId
+                LIMIT $limit
+                """;
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("frontier", frontier);
+        params.put("relTypes", (relationshipTypes == null || relationshipTypes.isEmpty()) ? null : relationshipTypes);
+        params.put("labels", (labels == null || labels.isEmpty()) ? null : labels);
+        params.put("endpointIds", endpointIds);
+        params.put("limit", limit);
+
+        SessionConfig sessionConfig = SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build();
+        TransactionConfig txConfig = TransactionConfig.builder().withTimeout(Duration.ofMillis(Math.max(1, timeoutMs))).build();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (RequestTimings.Phase phase = RequestTimings.start("query");
+             Session session = driver.session(sessionConfig);
+             Transaction tx = session.beginTransaction(txConfig)) {
+            Result result = tx.run(query, params);
+            while (result.hasNext()) {
+                rows.add(result.next().asMap());
+            }
+        } catch (ClientException e) {
+            if (e.code() == null || !e.code().startsWith(TRANSACTION_TIMEOUT_PREFIX)) {
+                throw e;
+            }
+            log.debug("Frontier expansion timed out. frontier: {}, rows: {}", frontier.size(), rows.size());
+            return new FrontierEdges(rows, true);
+        }
+        return new FrontierEdges(rows, false);
+    }
+
+    public record FrontierEdges(List<Map<String, Object>> rows, boolean timedOut) {
+    }
+
+    /**
+     * id 로 노드와 릴레이션을 조회해 GraphDetailDto 형식으로 변환합니다.
+     * 릴레이션은 한쪽 노드(from)를 기준으로 찾아 전체 릴레이션 스캔을 피합니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public GraphDetailDto findSubgraphByIds(Collection<String> nodeIds, List<Map<String, Object>> edges) {
+        Map<String, Map<String, Object>> styleCache = new HashMap<>();
+        Map<String, String> nodeIdToLabelMap = new HashMap<>();
+
+        Collection<Entity> nodeEntities;
+        Collection<Entity> relEntities;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            nodeEntities = neo4jClient.query("MATCH (n) WHERE elementId(n) IN $nodeIds RETURN n")
+                    .bind(new ArrayList<>(nodeIds)).to("nodeIds")
+                    .fetchAs(Entity.class)
+                    .mappedBy((typeSystem, record) -> record.get("n").asNode())
+                    .all();
+
+            relEntities = neo4jClient.query("""
+                            UNWIND $edges AS e
+                            MATCH (a) WHERE elementId(a) = e.fromId
+                            MATCH (a)-[r]-() WHERE elementId(r) = e.relId
+                            RETURN DISTINCT r
+                            """)
+                    .bind(edges).to("edges")
+                    .fetchAs(Entity.class)
+                    .mappedBy((typeSystem, record) -> record.get("r").asRelationship())
+                    .all();
+        }
+
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        List<Map<String, Object>> relationships = new ArrayList<>();
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            for (Entity node : nodeEntities) {
+                nodes.add(mapNodeToMap(node, styleCache));
+                saveNodeLabel(node, nodeIdToLabelMap);
+            }
+            for (Entity rel : relEntities) {
+                relationships.add(mapRelationshipToMap(rel, nodeIdToLabelMap, styleCache));
+            }
+        }
+
+        return GraphDetailDto.builder()
+                .nodes(nodes)
+                .relationships(relationships)
+                .build();
+    }
+
+    /**
+     * 노드의 이웃을 Neo4j 안에서 라벨(또는 라벨 + 프로퍼티 값)과 릴레이션 타입/방향 단위로 묶어 요약합니다.
+     * 요약 노드 상세는 findSpecificNodeNeighbors(relation, direction, targetLabel)로 조회합니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public GraphDetailDto summarizeNeighbors(String elementId, String property, int maxGroups) {
+        Entity center;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            center = neo4jClient.query("MATCH (n) WHERE elementId(n) = $elementId RETURN n")
+                    .bind(elementId).to("elementId")
+                    .fetchAs(Entity.class)
+                    .mappedBy((typeSystem, record) -> record.get("n").asNode())
+                    .one()
+                    .orElseThrow(() -> new IllegalArgumentException("Node not found: " + elementId));
+        }
+
+        String query = """
+                MATCH (n) WHERE elementId(n) = $elementId
+                MATCH (n)-[r]-(m)
+                WITH n, r, coalesce(labels(m)[0], 'Unknown') AS label,
+                     CASE WHEN $prop IS NULL THEN null ELSE toString(m[$prop]) END AS value
+                RETURN type(r) AS type, startNode(r) = n AS outgoing, label, value, count(*) AS cnt
+                ORDER BY cnt DESC
+                LIMIT $maxGroups
+                """;
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("elementId", elementId);
+        params.put("prop", blankToNull(property));
+        params.put("maxGroups", maxGroups);
+
+        Collection<Map<String, Object>> rows;
+        try (RequestTimings.Phase phase = RequestTimings.start("summary")) {
+            rows = neo4jClient.query(query).bindAll(params).fetch().all();
+        }
+
+        Map<String, Map<String, Object>> styleCache = new HashMap<>();
+        Map<String, Object> centerMap = mapNodeToMap(center, styleCache);
+        Map<String, Map<String, Object>> metaNodes = new LinkedHashMap<>();
+        List<Map<String, Object>> metaEdges = new ArrayList<>();
+        Map<String, Long> nodeCount = new HashMap<>();
+        Map<String, Long> relationCount = new HashMap<>();
+
+        for (Map<String, Object> row : rows) {
+            String type = (String) row.get("type");
+            boolean outgoing = Boolean.TRUE.equals(row.get("outgoing"));
+            String label = (String) row.get("label");
+            String value = (String) row.get("value");
+            long cnt = ((Number) row.get("cnt")).longValue();
+
+            String metaId = value == null ? "meta:" + label : "meta:" + label + ":" + value;
+            Map<String, Object> metaNode = metaNodes.computeIfAbsent(metaId, id -> {
+                Map<String, Object> node = new HashMap<>();
+                node.put("id", id);
+                node.put("labels", List.of(label));
+                node.put("groupValue", value);
+                node.put("count", 0L);
+                node.put("meta", true);
+                Map<String, Object> style = graphUtil.getStyleConfig(label, "NODE", styleCache);
+                if (style != null) node.put("style", style);
+                return node;
+            });
+            metaNode.put("count", (Long) metaNode.get("count") + cnt);
+
+            Map<String, Object> edge = new HashMap<>();
+            edge.put("id", metaId + "-" + type + (outgoing ? "-OUT" : "-IN"));
+            edge.put("label", type);
+            edge.put("source", outgoing ? center.elementId() : metaId);
+            edge.put("target", outgoing ? metaId : center.elementId());
+            edge.put("direction", outgoing ? "OUT" : "IN");
+            edge.put("count", cnt);
+            edge.put("meta", true);
+            Map<String, Object> relStyle = graphUtil.getStyleConfig(type, "RELATIONSHIP", styleCache);
+            if (relStyle != null) edge.put("style", relStyle);
+            metaEdges.add(edge);
+
+            nodeCount.merge(label, cnt, Long::sum);
+            relationCount.merge(type, cnt, Long::sum);
+        }
+
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        nodes.add(centerMap);
+        nodes.addAll(metaNodes.values());
+
+        return GraphDetailDto.builder()
+                .centerNode(centerMap)
+                .nodes(nodes)
+                .relationships(metaEdges)
+                .nodeCount(nodeCount)
+                .relationCount(relationCount)
+                .summarized(true)
+                .build();
+    }
+
+    private String blankToNull(String value) {
+        return (value == null || value.trim().isEmpty()) ? null : value;
+    }
+
+    GraphDetailDto convertToGraphDetailDto(Collection<Map<String, Object>> result) {
+        // 행마다 반복되는 center 노드/이웃은 int 핸들로만 비교하고, 처음 본 요소만 Map 으로 변환한다 (리스트 인덱스 == 핸들)
+        ElementIdInterner nodeIds = new ElementIdInterner(result.size());
+        ElementIdInterner relIds = new ElementIdInterner(result.size());
+        List<Map<String, Object>> uniqueNodes = new ArrayList<>();
+        List<Map<String, Object>> uniqueRels = new ArrayList<>();
 
         Map<String, String> nodeIdToLabelMap = new HashMap<>();
         Map<String, Map<String, Object>> styleCache = new HashMap<>();
@@ -337,24 +714,31 @@ public class GraphCommonRepository {
         for (Map<String, Object> row : result) {
             Entity centerEntity = (Entity) row.get("n");
 
-            Map<String, Object> centerMap = mapNodeToMap(centerEntity, styleCache);
-            uniqueNodes.put(centerEntity.elementId(), centerMap);
-            saveNodeLabel(centerEntity, nodeIdToLabelMap);
+            int centerHandle = nodeIds.intern(centerEntity.elementId());
+            if (centerHandle == uniqueNodes.size()) {
+                uniqueNodes.add(mapNodeToMap(centerEntity, styleCache));
+                saveNodeLabel(centerEntity, nodeIdToLabelMap);
+            }
 
             if (centerNodeData == null) {
-                centerNodeData = centerMap;
+                centerNodeData = uniqueNodes.get(centerHandle);
             }
 
             Entity neighborEntity = (Entity) row.get("connectedNode");
             if (neighborEntity != null) {
-                uniqueNodes.put(neighborEntity.elementId(), mapNodeToMap(neighborEntity, styleCache));
-                saveNodeLabel(neighborEntity, nodeIdToLabelMap);
+                int neighborHandle = nodeIds.intern(neighborEntity.elementId());
+                if (neighborHandle == uniqueNodes.size()) {
+                    uniqueNodes.add(mapNodeToMap(neighborEntity, styleCache));
+                    saveNodeLabel(neighborEntity, nodeIdToLabelMap);
+                }
             }
 
             Entity relationship = (Entity) row.get("r");
             if (relationship != null) {
-                uniqueRels.put(relationship.elementId(),
-                        mapRelationshipToMap(relationship, nodeIdToLabelMap, styleCache));
+                int relHandle = relIds.intern(relationship.elementId());
+                if (relHandle == uniqueRels.size()) {
+                    uniqueRels.add(mapRelationshipToMap(relationship, nodeIdToLabelMap, styleCache));
+                }
             }
         }
 
@@ -372,8 +756,8 @@ public class GraphCommonRepository {
 
         return GraphDetailDto.builder()
                 .centerNode(sortedCenterNodeData)
-                .nodes(new ArrayList<>(uniqueNodes.values()))
-                .relationships(new ArrayList<>(uniqueRels.values()))
+                .nodes(uniqueNodes)
+                .relationships(uniqueRels)
                 .build();
     }
 
@@ -391,6 +775,7 @@ public class GraphCommonRepository {
 
     private Map<String, Object> mapNodeToMap(Entity node, Map<String, Map<String, Object>> styleCache) {
         Map<String, Object> map = new HashMap<>(node.asMap());
+        map.keySet().removeIf(ShadowPropertyUtil::isShadow);
         map.put("id", node.elementId());
 
         if (node instanceof Node) {
@@ -453,17 +838,64 @@ public class GraphCommonRepository {
         return map;
     }
 
+    /**
+     * 라벨, 릴레이션 타입, 프로퍼티 키 목록으로 현재 스키마 스냅샷을 나타내는 문자열을 만듭니다.
+     * 검증 결과 캐시의 버전 키로 사용합니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public String findSchemaFingerprint() {
+        String query = """
+                CALL db.labels() YIELD label
+                WITH collect(label) AS labels
+                CALL db.relationshipTypes() YIELD relationshipType
+                WITH labels, collect(relationshipType) AS types
+                CALL db.propertyKeys() YIELD propertyKey
+                WITH labels, types, collect(propertyKey) AS keys
+                RETURN labels, types, keys
+                """;
+
+        return neo4jClient.query(query)
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> {
+                    StringJoiner joiner = new StringJoiner("|");
+                    for (String key : List.of("labels", "types", "keys")) {
+                        List<String> names = new ArrayList<>(record.get(key).asList(Value::asString));
+                        Collections.sort(names);
+                        joiner.add(String.join(",", names));
+                    }
+                    return joiner.toString();
+                })
+                .one()
+                .orElse("");
+    }
+
+    /**
+     * 파라미터를 바인딩한 문장을 EXPLAIN 만 합니다. (실행하지 않고 계획 캐시만 채움)
+     */
+    public void explainStatement(String query, Map<String, Object> parameters) {
+        neo4jClient.query("EXPLAIN " + query)
+                .bindAll(parameters)
+                .run();
+    }
+
     public Map<String, Object> validateCypher(String cypherQuery) {
         String explainQuery = "EXPLAIN " + cypherQuery;
         Map<String, Object> result = new HashMap<>();
 
 
         try (org.neo4j.driver.Session session = driver.session()) {
-            session.run(explainQuery).consume();
+            ResultSummary summary = session.run(explainQuery).consume();
             result.put("valid", true);
             result.put("message", "Valid Cypher Query");
-        } catch (Exception e) {
-            log.error("Cypher 쿼리 실행 중 에러가 발생했습니다.", e);
+            if (summary.hasPlan()) {
+                result.put("plan", summarizePlan(summary));
+            }
+        } catch (ClientException e) {
+            // 문법/의미 오류(Neo.ClientError.Statement.*)만 쿼리 자체의 문제로 본다. 연결/타임아웃/권한 오류는 호출부로 던진다
+            if (e.code() == null || !e.code().startsWith(STATEMENT_ERROR_PREFIX)) {
+                throw e;
+            }
+            log.info("Invalid cypher query. code: {}, message: {}", e.code(), e.getMessage());
             result.put("valid", false);
             result.put("message", e.getMessage());
         }
@@ -471,8 +903,69 @@ public class GraphCommonRepository {
     }
 
 
-    @Neo4jTransactional(readOnly = true)
-    public Collection<Map<String, Object>> executeRawCypher(String cypherQuery) {
+    /**
+     * EXPLAIN 실행 계획을 요약합니다. 연산자 이름의 런타임 접미사(@neo4j)는 제거합니다.
+     */
+    private GraphQueryPlanDto summarizePlan(ResultSummary summary) {
+        Plan root = summary.plan();
+        List<String> operators = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        double maxEstimatedRows = 0;
+        boolean allNodesScan = false;
+        boolean cartesianProduct = false;
+
+        Deque<Plan> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Plan plan = stack.pop();
+            String operator = normalizeOperator(plan.operatorType());
+            operators.add(operator);
+
+            maxEstimatedRows = Math.max(maxEstimatedRows, estimatedRows(plan));
+            if (operator.equals("AllNodesScan")) allNodesScan = true;
+            if (operator.equals("CartesianProduct")) cartesianProduct = true;
+            if (operator.contains("Index")) {
+                Value details = plan.arguments().get("Details");
+                indexes.add(details == null || details.isNull() ? operator : operator + " " + details.asString());
+            }
+
+            List<? extends Plan> children = plan.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        List<String> notifications = summary.notifications().stream()
+                .map(n -> n.title() + ": " + n.description())
+                .toList();
+
+        return GraphQueryPlanDto.builder()
+                .rootOperator(normalizeOperator(root.operatorType()))
+                .estimatedRows(estimatedRows(root))
+                .maxEstimatedRows(maxEstimatedRows)
+                .allNodesScan(allNodesScan)
+                .cartesianProduct(cartesianProduct)
+                .indexes(indexes)
+                .operators(operators)
+                .notifications(notifications)
+                .build();
+    }
+
+    private String normalizeOperator(String operatorType) {
+        int at = operatorType.indexOf('@');
+        return at > 0 ? operatorType.substring(0, at) : operatorType;
+    }
+
+    private double estimatedRows(Plan plan) {
+        Value value = plan.arguments().get("EstimatedRows");
+        return value == null || value.isNull() ? 0 : value.asDouble();
+    }
+
+    /**
+     * 사용자 작성 Cypher 를 읽기 전용 트랜잭션으로 실행합니다.
+     * 드라이버에 트랜잭션 타임아웃을 전달하고, 결과는 스트리밍으로 소비하면서 행 수(maxRows)와 대략적인 메모리 크기(maxBytes)를 넘으면 중단합니다.
+     */
+    public GraphCypherResultDto executeRawCypher(String cypherQuery, long timeoutMs, int maxRows, long maxBytes) {
 
 
         String upperQuery = cypherQuery.toUpperCase().trim();
@@ -487,10 +980,143 @@ public class GraphCommonRepository {
             throw new IllegalArgumentException("보안 경고: 데이터 변경 쿼리(DELETE, CREATE 등)는 실행할 수 없습니다.");
         }
 
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long approximateBytes = 0;
+        String truncatedReason = null;
+
+        SessionConfig sessionConfig = SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build();
+        TransactionConfig txConfig = TransactionConfig.builder().withTimeout(Duration.ofMillis(timeoutMs)).build();
+
+        // 남은 결과는 트랜잭션 종료 시 서버에서 폐기되므로, 제한에 걸리면 더 이상 가져오지 않는다
+        try (Session session = driver.session(sessionConfig);
+             Transaction tx = session.beginTransaction(txConfig)) {
+            Result result = tx.run(cypherQuery);
+            while (result.hasNext()) {
+                if (rows.size() >= maxRows) {
+                    truncatedReason = "ROW_LIMIT";
+                    break;
+                }
 
-        return neo4jClient.query(cypherQuery)
-                .fetch()
-                .all();
+                Map<String, Object> row = result.next().asMap();
+                long rowBytes = estimateBytes(row);
+                if (approximateBytes + rowBytes > maxBytes) {
+                    truncatedReason = "BYTE_LIMIT";
+                    break;
+                }
+                approximateBytes += rowBytes;
+                rows.add(row);
+            }
+        }
+
+        if (truncatedReason != null) {
+            log.warn("Raw cypher result truncated. reason: {}, rows: {}, bytes: {}", truncatedReason, rows.size(), approximateBytes);
+        }
+
+        return GraphCypherResultDto.builder()
+                .rows(rows)
+                .rowCount(rows.size())
+                .truncated(truncatedReason != null)
+                .truncatedReason(truncatedReason)
+                .approximateBytes(approximateBytes)
+                .build();
+    }
+
+    /**
+     * Bolt 커넥션을 count 개까지 미리 엽니다. 세션마다 트랜잭션을 열어 둔 채 다음 세션을 열어야 풀이 같은 커넥션을 재사용하지 않습니다.
+     *
+     * @return 실제로 연 커넥션 수
+     */
+    public int openConnections(int count) {
+        List<Session> sessions = new ArrayList<>(count);
+        List<Transaction> transactions = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count && !Thread.currentThread().isInterrupted(); i++) {
+                Session session = driver.session(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build());
+                sessions.add(session);
+                Transaction tx = session.beginTransaction();
+                transactions.add(tx);
+                tx.run("RETURN 1").consume();
+            }
+            return transactions.size();
+        } finally {
+            transactions.forEach(Transaction::close);
+            sessions.forEach(Session::close);
+        }
+    }
+
+    /**
+     * 읽기 전용 트랜잭션에서 결과를 한 행씩 consumer 에 넘깁니다. 드라이버는 fetchSize 개씩 나누어 가져오므로 결과 전체를 메모리에 올리지 않습니다.
+     * consumer 가 false 를 반환하면 더 읽지 않고 커밋 없이 트랜잭션을 닫아, 남은 결과는 서버에서 폐기되고 쿼리 실행도 멈춥니다.
+     * 이미 열린 Neo4j 트랜잭션(@Neo4jTransactional)이 있으면 Bolt 연결을 하나 더 잡지 않도록 그 트랜잭션에서 실행합니다.
+     * 이 경우 가져오는 단위는 드라이버 기본 fetch size 이고, 멈출 때는 남은 결과를 폐기(consume)합니다.
+     *
+     * @return consumer 요청으로 도중에 멈췄으면 true
+     */
+    public boolean streamReadQuery(String query, int fetchSize, Predicate<Map<String, Object>> consumer) {
+        if (TransactionSynchronizationManager.getResource(driver) != null) {
+            Transaction bound = Neo4jTransactionManager.retrieveTransaction(driver,
+                    databaseSelectionProvider.getDatabaseSelection(), UserSelection.connectedUser());
+            Result result = bound.run(query);
+            while (result.hasNext()) {
+                if (!consumer.test(result.next().asMap())) {
+                    result.consume();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        SessionConfig sessionConfig = SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withFetchSize(fetchSize)
+                .build();
+
+        try (Session session = driver.session(sessionConfig);
+             Transaction tx = session.beginTransaction()) {
+            Result result = tx.run(query);
+            while (result.hasNext()) {
+                if (!consumer.test(result.next().asMap())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 결과 값이 힙에서 차지하는 크기를 대략적으로 계산합니다. (정확한 값이 아닌 상한 판단용)
+     */
+    private long estimateBytes(Object value) {
+        if (value == null) return 8;
+        if (value instanceof String str) return 40 + 2L * str.length();
+        if (value instanceof Number || value instanceof Boolean) return 16;
+        if (value instanceof Node node) {
+            long size = 64 + 2L * node.elementId().length();
+            for (String label : node.labels()) size += 40 + 2L * label.length();
+            return size + estimateBytes(node.asMap());
+        }
+        if (value instanceof Relationship rel) {
+            return 96 + 2L * rel.type().length() + estimateBytes(rel.asMap());
+        }
+        if (value instanceof org.neo4j.driver.types.Path path) {
+            long size = 48;
+            for (Node node : path.nodes()) size += estimateBytes(node);
+            for (Relationship rel : path.relationships()) size += estimateBytes(rel);
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 40;
+            for (Object item : collection) size += 8 + estimateBytes(item);
+            return size;
+        }
+        return 32;
     }
 
     @Neo4jTransactional(readOnly = true)
@@ -525,7 +1151,261 @@ public class GraphCommonRepository {
         return convertToExpansionStatsDto(result);
     }
 
-    private GraphExpansionStatsDto convertToExpansionStatsDto(Collection<Map<String, Object>> result) {
+    @Neo4jTransactional(readOnly = true)
+    public List<String> findLabels() {
+        return new ArrayList<>(neo4jClient.query("CALL db.labels() YIELD label RETURN label")
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("label").asString())
+                .all());
+    }
+
+    @Neo4jTransactional(readOnly = true)
+    public List<String> findRelationshipTypes() {
+        return new ArrayList<>(neo4jClient.query("CALL db.relationshipTypes() YIELD relationshipType RETURN relationshipType")
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("relationshipType").asString())
+                .all());
+    }
+
+    /**
+     * 라벨의 차수(degree) 값별 노드 수를 반환합니다. 라벨당 sampleSize 개 노드까지만 봅니다.
+     * 차수는 COUNT 서브쿼리로 구해 릴레이션을 펼치지 않고 degree store 에서 읽습니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public Map<Long, Long> findLabelDegreeCounts(String label, int sampleSize) {
+        String query = """
+                MATCH (n:`%s`)
+                WITH n LIMIT $sampleSize
+                WITH COUNT { (n)--() } AS degree
+                RETURN degree, count(*) AS nodes
+                """.formatted(label.replace("`", "``"));
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : neo4jClient.query(query).bind(sampleSize).to("sampleSize").fetch().all()) {
+            counts.put(((Number) row.get("degree")).longValue(), ((Number) row.get("nodes")).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * 전체 차수가 threshold 이상인 노드를 차수 내림차순으로 최대 limit 개 반환합니다. (id, labels, degree)
+     */
+    @Neo4jTransactional(readOnly = true)
+    public Collection<Map<String, Object>> findHighDegreeNodes(long threshold, int limit) {
+        String query = """
+                MATCH (n)
+                WITH n, COUNT { (n)--() } AS degree
+                WHERE degree >= $threshold
+                RETURN elementId(n) AS id, labels(n) AS labels, degree
+                ORDER BY degree DESC
+                LIMIT $limit
+                """;
+
+        return neo4jClient.query(query)
+                .bind(threshold).to("threshold")
+                .bind(limit).to("limit")
+                .fetch()
+                .all();
+    }
+
+    /**
+     * 주어진 노드들의 relationshipType 차수 중 threshold 이상인 것만 elementId -> 차수로 반환합니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public Map<String, Long> findTypeDegrees(List<String> elementIds, String relationshipType, long threshold) {
+        String query = """
+                UNWIND $ids AS id
+                MATCH (n) WHERE elementId(n) = id
+                WITH n, COUNT { (n)-[:`%s`]-() } AS degree
+                WHERE degree >= $threshold
+                RETURN elementId(n) AS id, degree
+                """.formatted(relationshipType.replace("`", "``"));
+
+        Map<String, Long> degrees = new HashMap<>();
+        for (Map<String, Object> row : neo4jClient.query(query)
+                .bind(elementIds).to("ids")
+                .bind(threshold).to("threshold")
+                .fetch()
+                .all()) {
+            degrees.put((String) row.get("id"), ((Number) row.get("degree")).longValue());
+        }
+        return degrees;
+    }
+
+    @Neo4jTransactional(readOnly = true)
+    public List<GraphFulltextIndexDto> findFulltextIndexes() {
+        String query = """
+                SHOW FULLTEXT INDEXES
+                YIELD name, entityType, labelsOrTypes, properties, state, populationPercent, options
+                RETURN name, entityType, labelsOrTypes, properties, state, populationPercent,
+                       options.indexConfig['fulltext.analyzer'] AS analyzer
+                """;
+
+        return new ArrayList<>(neo4jClient.query(query)
+                .fetchAs(GraphFulltextIndexDto.class)
+                .mappedBy((typeSystem, record) -> GraphFulltextIndexDto.builder()
+                        .name(record.get("name").asString())
+                        .entityType(record.get("entityType").asString())
+                        .labelsOrTypes(record.get("labelsOrTypes").asList(Value::asString))
+                        .properties(record.get("properties").asList(Value::asString))
+                        .analyzer(record.get("analyzer").isNull() ? null : record.get("analyzer").asString())
+                        .state(record.get("state").asString())
+                        .populationPercent(record.get("populationPercent").asDouble())
+                        .build())
+                .all());
+    }
+
+    /**
+     * 전문(full-text) 인덱스를 만듭니다. 이름, 라벨, 프로퍼티, analyzer 는 호출 전에 검증되어야 합니다.
+     */
+    @Neo4jTransactional
+    public void createFulltextIndex(String name, boolean relationship, List<String> labelsOrTypes,
+                                    List<String> properties, String analyzer) {
+        String target = labelsOrTypes.stream()
+                .map(label -> "`" + label.replace("`", "``") + "`")
+                .reduce((a, b) -> a + "|" + b)
+                .orElseThrow();
+        String pattern = relationship ? "()-[e:" + target + "]-()" : "(e:" + target + ")";
+        String props = properties.stream()
+                .map(property -> "e.`" + property.replace("`", "``") + "`")
+                .reduce((a, b) -> a + ", " + b)
+                .orElseThrow();
+        String options = analyzer == null ? "" : " OPTIONS { indexConfig: { `fulltext.analyzer`: '" + analyzer + "' } }";
+
+        neo4jClient.query("CREATE FULLTEXT INDEX `%s` IF NOT EXISTS FOR %s ON EACH [%s]%s"
+                        .formatted(name, pattern, props, options))
+                .run();
+    }
+
+    /**
+     * 전체 인덱스 목록입니다. (name, type, entityType, labelsOrTypes, properties, state)
+     */
+    @Neo4jTransactional(readOnly = true)
+    public Collection<Map<String, Object>> findIndexes() {
+        String query = """
+                SHOW INDEXES
+                YIELD name, type, entityType, labelsOrTypes, properties, state
+                RETURN name, type, entityType, labelsOrTypes, properties, state
+                """;
+        return neo4jClient.query(query).fetch().all();
+    }
+
+    /**
+     * 단일 프로퍼티 RANGE / TEXT / POINT 인덱스를 만듭니다. 이름과 인덱스 종류는 호출 전에 검증되어야 합니다.
+     */
+    @Neo4jTransactional
+    public void createPropertyIndex(String indexType, String name, boolean relationship, String labelOrType, String property) {
+        String target = "`" + labelOrType.replace("`", "``") + "`";
+        String pattern = relationship ? "()-[e:" + target + "]-()" : "(e:" + target + ")";
+
+        neo4jClient.query("CREATE %s INDEX `%s` IF NOT EXISTS FOR %s ON (e.`%s`)"
+                        .formatted(indexType, name, pattern, property.replace("`", "``")))
+                .run();
+    }
+
+    @Neo4jTransactional
+    public void dropIndex(String name) {
+        neo4jClient.query("DROP INDEX `%s` IF EXISTS".formatted(name)).run();
+    }
+
+    /**
+     * label 노드에서 문자열 값을 가진 적이 있는 프로퍼티 이름입니다. (섀도 프로퍼티 제외)
+     */
+    @Neo4jTransactional(readOnly = true)
+    public List<String> findStringProperties(String label) {
+        String query = """
+                CALL db.schema.nodeTypeProperties()
+                YIELD nodeLabels, propertyName, propertyTypes
+                WITH propertyName, propertyTypes
+                WHERE $label IN nodeLabels AND propertyName IS NOT NULL
+                  AND NOT propertyName STARTS WITH '_ci_'
+                  AND any(type IN propertyTypes WHERE type STARTS WITH 'String')
+                RETURN DISTINCT propertyName
+                """;
+
+        return new ArrayList<>(neo4jClient.query(query)
+                .bind(label).to("label")
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("propertyName").asString())
+                .all());
+    }
+
+    /**
+     * label 노드의 property 섀도 값(shadowProperty = toLower(property))이 없거나 다른 노드를 최대 batchSize 개 채우고 처리 건수를 반환합니다.
+     * 트랜잭션 없이 auto-commit 으로 실행해 호출마다 한 배치씩 커밋되므로, 0 이 나올 때까지 반복 호출합니다.
+     * 문자열이 아닌 값으로 바뀐 노드의 섀도 값은 지웁니다.
+     */
+    public long backfillShadowProperty(String label, String property, String shadowProperty, int batchSize) {
+        String query = """
+                MATCH (n:`%1$s`)
+                WHERE (n.`%2$s` IS :: STRING NOT NULL AND (n.`%3$s` IS NULL OR n.`%3$s` <> toLower(n.`%2$s`)))
+                   OR (n.`%3$s` IS NOT NULL AND NOT n.`%2$s` IS :: STRING NOT NULL)
+                WITH n LIMIT $batchSize
+                SET n.`%3$s` = CASE WHEN n.`%2$s` IS :: STRING NOT NULL THEN toLower(n.`%2$s`) END
+                RETURN count(n) AS cnt
+                """.formatted(label.replace("`", "``"), property.replace("`", "``"), shadowProperty.replace("`", "``"));
+
+        return neo4jClient.query(query)
+                .bind(batchSize).to("batchSize")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    /**
+     * 전문 인덱스를 점수 내림차순으로 조회합니다. 각 항목은 노드/릴레이션 맵에 score 를 더한 형태입니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public List<Map<String, Object>> searchFulltext(String indexName, boolean relationship, String luceneQuery,
+                                                    long skip, int limit) {
+        String procedure = relationship ? "db.index.fulltext.queryRelationships" : "db.index.fulltext.queryNodes";
+        String yield = relationship ? "relationship" : "node";
+        String query = """
+                CALL %s($index, $query, {skip: $skip, limit: $limit}) YIELD %s AS entity, score
+                RETURN entity, score
+                """.formatted(procedure, yield);
+
+        Collection<Map<String, Object>> rows = neo4jClient.query(query)
+                .bind(indexName).to("index")
+                .bind(luceneQuery).to("query")
+                .bind(skip).to("skip")
+                .bind(limit).to("limit")
+                .fetch()
+                .all();
+
+        Map<String, Map<String, Object>> styleCache = new HashMap<>();
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Entity entity = (Entity) row.get("entity");
+            Map<String, Object> item = relationship
+                    ? mapRelationshipToMap(entity, Collections.emptyMap(), styleCache)
+                    : mapNodeToMap(entity, styleCache);
+            item.put("score", row.get("score"));
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * 전문 인덱스에서 점수 순으로 최대 limit 개 노드의 elementId 를 반환합니다.
+     */
+    @Neo4jTransactional(readOnly = true)
+    public List<String> findFulltextNodeIds(String indexName, String luceneQuery, int limit) {
+        String query = """
+                CALL db.index.fulltext.queryNodes($index, $query, {limit: $limit}) YIELD node
+                RETURN elementId(node) AS id
+                """;
+
+        return new ArrayList<>(neo4jClient.query(query)
+                .bind(indexName).to("index")
+                .bind(luceneQuery).to("query")
+                .bind(limit).to("limit")
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("id").asString())
+                .all());
+    }
+
+    GraphExpansionStatsDto convertToExpansionStatsDto(Collection<Map<String, Object>> result) {
 
         Map<String, GraphExpansionStatsDto.ExpansionItemDto> relMap = new HashMap<>();
         Map<String, GraphExpansionStatsDto.ExpansionItemDto> catMap = new HashMap<>();
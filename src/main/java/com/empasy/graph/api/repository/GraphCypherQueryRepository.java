@@ -2,6 +2,7 @@ package com.empasy.graph.api.repository;
 
 import com.empasy.graph.api.entity.GraphCypherQuery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +16,7 @@ public interface GraphCypherQueryRepository extends JpaRepository<GraphCypherQue
     List<GraphCypherQuery> findByQueryType(String queryType);
 
     Optional<GraphCypherQuery> findByIdAndQueryType(Long id, String queryType);
+
+    @Query("SELECT COUNT(q) AS rowCount, MAX(q.updateTimestamp) AS lastUpdated FROM GraphCypherQuery q")
+    TableVersion findTableVersion();
 }
\ No newline at end of file
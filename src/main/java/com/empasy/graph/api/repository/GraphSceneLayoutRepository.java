@@ -0,0 +1,27 @@
+package com.empasy.graph.api.repository;
+
+import com.empasy.graph.api.entity.GraphSceneLayout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface GraphSceneLayoutRepository extends JpaRepository<GraphSceneLayout, Long> {
+
+    /**
+     * 씬의 현재 설정 해시로 계산된 레이아웃만 조회합니다.
+     */
+    @Query("SELECT l FROM GraphSceneLayout l, GraphScene s"
+            + " WHERE s.id = :sceneId AND l.sceneId = s.id AND l.configHash = s.configHash")
+    Optional<GraphSceneLayout> findCurrent(@Param("sceneId") Long sceneId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GraphSceneLayout l WHERE l.sceneId = :sceneId")
+    int deleteBySceneId(@Param("sceneId") Long sceneId);
+}
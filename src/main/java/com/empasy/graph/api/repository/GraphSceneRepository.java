@@ -1,10 +1,17 @@
 package com.empasy.graph.api.repository;
 
 import com.empasy.graph.api.entity.GraphScene;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -14,5 +21,47 @@ public interface GraphSceneRepository extends JpaRepository<GraphScene, Long>{
 
     Optional<GraphScene> findTopByOrderByIdDesc();
 
-}
+    @Query("SELECT COUNT(s) AS rowCount, MAX(s.updateTimestamp) AS lastUpdated FROM GraphScene s")
+    TableVersion findTableVersion();
+
+    /**
+     * 카운트가 없거나 threshold 이전에 계산된 씬 id 를 오래된 순서(미계산 먼저)로 조회합니다. 실패 후 재시도 대기 중인 씬은 제외합니다.
+     */
+    @Query("SELECT s.id FROM GraphScene s"
+            + " WHERE (s.countsComputedAt IS NULL OR s.countsComputedAt < :threshold)"
+            + " AND (s.countsRetryAt IS NULL OR s.countsRetryAt <= :now)"
+            + " ORDER BY s.countsComputedAt ASC NULLS FIRST, s.id ASC")
+    List<Long> findStaleCountSceneIds(@Param("threshold") OffsetDateTime threshold, @Param("now") OffsetDateTime now,
+                                      Pageable pageable);
+
+    /**
+     * 카운트 컬럼만 갱신합니다. 계산에 사용한 설정 해시가 현재 행과 다르면(그사이 설정 변경) 갱신하지 않고 0 을 반환합니다.
+     * config_hash 가 비어 있는 기존 행은 이번에 계산한 해시로 채웁니다. 카운트 값이 바뀌므로 수정일시도 갱신합니다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE GraphScene s SET s.nodesCount = :nodesCount, s.relationsCount = :relationsCount,"
+            + " s.countsComputedAt = :computedAt, s.countsFailures = 0, s.countsRetryAt = NULL, s.configHash = :configHash,"
+            + " s.updateTimestamp = :computedAt"
+            + " WHERE s.id = :id AND (s.configHash = :configHash OR s.configHash IS NULL)")
+    int updateCounts(@Param("id") Long id, @Param("configHash") String configHash,
+                     @Param("nodesCount") Map<String, Long> nodesCount, @Param("relationsCount") Map<String, Long> relationsCount,
+                     @Param("computedAt") OffsetDateTime computedAt);
 
+    /**
+     * 다시 계산한 카운트가 저장된 값과 같을 때 계산일시만 갱신합니다. 수정일시(목록 ETag)는 바꾸지 않습니다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE GraphScene s SET s.countsComputedAt = :computedAt, s.countsFailures = 0, s.countsRetryAt = NULL,"
+            + " s.configHash = :configHash"
+            + " WHERE s.id = :id AND (s.configHash = :configHash OR s.configHash IS NULL)")
+    int touchCounts(@Param("id") Long id, @Param("configHash") String configHash,
+                    @Param("computedAt") OffsetDateTime computedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GraphScene s SET s.countsFailures = s.countsFailures + 1, s.countsRetryAt = :retryAt WHERE s.id = :id")
+    int recordCountsFailure(@Param("id") Long id, @Param("retryAt") OffsetDateTime retryAt);
+
+}
@@ -2,6 +2,7 @@ package com.empasy.graph.api.repository;
 
 import com.empasy.graph.api.entity.GraphStyle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,5 +11,8 @@ import java.util.Optional;
 public interface GraphStyleRepository extends JpaRepository<GraphStyle, Long>{
 
     Optional<GraphStyle> findByLabelAndElementType(String label, String elementType);
+
+    @Query("SELECT COUNT(s) AS rowCount, MAX(s.updateTimestamp) AS lastUpdated FROM GraphStyle s")
+    TableVersion findTableVersion();
 }
 
@@ -0,0 +1,14 @@
+package com.empasy.graph.api.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 테이블의 행 수와 마지막 수정일시입니다. 조회 응답 ETag 를 DB 에 저장된 상태로 만들 때 사용합니다.
+ * 행 수로 추가/삭제를, 마지막 수정일시로 수정을 감지합니다.
+ */
+public interface TableVersion {
+
+    long getRowCount();
+
+    OffsetDateTime getLastUpdated();
+}
@@ -0,0 +1,229 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.*;
+import com.empasy.graph.api.repository.GenericNodeRepository;
+import com.empasy.graph.api.support.ResourceVersions;
+import com.empasy.graph.api.util.GraphUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 대량 노드 작업 서비스입니다.
+ * 배치마다 별도 트랜잭션(auto-commit)으로 실행되도록 클래스 단위 트랜잭션을 걸지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenericNodeBulkService {
+
+    private final GenericNodeRepository genericNodeRepository;
+    private final GraphUtil graphUtil;
+    private final ResourceVersions resourceVersions;
+
+    @Value("${graph.bulk.batch-size:1000}")
+    private int defaultBatchSize;
+
+    @Value("${graph.bulk.max-batch-size:10000}")
+    private int maxBatchSize;
+
+    public GraphBulkNodeResponseDto createNodes(GraphBulkCreateNodeRequestDto requestDto,
+                                                Consumer<GraphBulkProgressDto> progressListener) {
+        List<GraphCreateNodeRequestDto> nodes = requestDto.getNodes();
+        if (nodes == null || nodes.isEmpty()) {
+            throw new IllegalArgumentException("Nodes cannot be empty");
+        }
+
+        int batchSize = resolveBatchSize(requestDto.getBatchSize());
+
+        // 라벨별로 묶되, 응답의 elementIds 는 요청 순서를 유지하기 위해 원래 인덱스를 함께 보관
+        Map<String, List<Integer>> indexesByLabel = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            String label = nodes.get(i).getLabel();
+            if (label == null || label.trim().isEmpty()) {
+                throw new IllegalArgumentException("Label cannot be empty (index: " + i + ")");
+            }
+            indexesByLabel.computeIfAbsent(label, k -> new ArrayList<>()).add(i);
+        }
+
+        String[] elementIds = new String[nodes.size()];
+        Map<String, Map<String, Object>> styleCache = new HashMap<>();
+        Map<String, Map<String, Object>> styles = new LinkedHashMap<>();
+        long processed = 0;
+        int batchIndex = 0;
+
+        for (Map.Entry<String, List<Integer>> entry : indexesByLabel.entrySet()) {
+            String label = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+
+            // 스타일은 라벨당 한 번만 조회
+            styles.put(label, graphUtil.getStyleConfig(label, "NODE", styleCache));
+
+            for (int from = 0; from < indexes.size(); from += batchSize) {
+                List<Integer> batchIndexes = indexes.subList(from, Math.min(from + batchSize, indexes.size()));
+
+                List<Map<String, Object>> rows = new ArrayList<>(batchIndexes.size());
+                for (Integer index : batchIndexes) {
+                    Map<String, Object> properties = nodes.get(index).getProperties();
+                    rows.add(properties == null ? Collections.emptyMap() : properties);
+                }
+
+                List<String> createdIds = genericNodeRepository.createNodes(label, rows);
+                for (int i = 0; i < batchIndexes.size() && i < createdIds.size(); i++) {
+                    elementIds[batchIndexes.get(i)] = createdIds.get(i);
+                }
+                processed += createdIds.size();
+
+                if (progressListener != null) {
+                    progressListener.accept(GraphBulkProgressDto.builder()
+                            .phase("CREATE")
+                            .label(label)
+                            .batchIndex(batchIndex)
+                            .batchCount(createdIds.size())
+                            .processed(processed)
+                            .total(nodes.size())
+                            .elementIds(createdIds)
+                            .build());
+                }
+                batchIndex++;
+            }
+        }
+
+        log.info("Bulk node create finished. nodes: {}, batches: {}", processed, batchIndex);
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
+
+        return GraphBulkNodeResponseDto.builder()
+                .processedCount(processed)
+                .batchCount(batchIndex)
+                .elementIds(Arrays.asList(elementIds))
+                .styles(styles)
+                .build();
+    }
+
+    public GraphBulkNodeResponseDto updateNodes(GraphBulkUpdateNodeRequestDto requestDto,
+                                                Consumer<GraphBulkProgressDto> progressListener) {
+        Map<String, Object> properties = requestDto.getProperties();
+        if (properties == null || properties.isEmpty()) {
+            throw new IllegalArgumentException("Properties cannot be empty");
+        }
+        properties = new HashMap<>(properties);
+        properties.remove("labels");
+
+        int batchSize = resolveBatchSize(requestDto.getBatchSize());
+        List<String> elementIds = requestDto.getElementIds();
+
+        if (elementIds == null || elementIds.isEmpty()) {
+            String label = requireLabel(requestDto.getLabel());
+            long updated = genericNodeRepository.updateNodesByLabel(label, requestDto.getFilter(), properties, batchSize);
+            notifyProgress(progressListener, "UPDATE", label, 0, updated, updated, updated);
+            resourceVersions.bump(ResourceVersions.GRAPH_DATA);
+            return GraphBulkNodeResponseDto.builder()
+                    .processedCount(updated)
+                    .batchCount((int) ((updated + batchSize - 1) / batchSize))
+                    .build();
+        }
+
+        long processed = 0;
+        int batchIndex = 0;
+        for (int from = 0; from < elementIds.size(); from += batchSize) {
+            List<String> chunk = elementIds.subList(from, Math.min(from + batchSize, elementIds.size()));
+            long updated = genericNodeRepository.updateNodes(chunk, properties);
+            processed += updated;
+            notifyProgress(progressListener, "UPDATE", null, batchIndex++, updated, processed, elementIds.size());
+        }
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
+
+        return GraphBulkNodeResponseDto.builder()
+                .processedCount(processed)
+                .batchCount(batchIndex)
+                .build();
+    }
+
+    /**
+     * 노드를 batchSize 단위로 삭제합니다.
+     * 연결이 많은 노드의 릴레이션을 한 트랜잭션에서 DETACH DELETE 하지 않도록, 릴레이션을 먼저 batchSize 씩 나누어 지운 뒤 노드를 삭제합니다.
+     */
+    public GraphBulkNodeResponseDto deleteNodes(GraphBulkDeleteNodeRequestDto requestDto,
+                                                Consumer<GraphBulkProgressDto> progressListener) {
+        int batchSize = resolveBatchSize(requestDto.getBatchSize());
+        List<String> elementIds = requestDto.getElementIds();
+        boolean byLabel = elementIds == null || elementIds.isEmpty();
+        String label = byLabel ? requireLabel(requestDto.getLabel()) : null;
+        long total = byLabel ? -1 : elementIds.size();
+
+        long deletedNodes = 0;
+        long deletedRels = 0;
+        int batchIndex = 0;
+        int from = 0;
+
+        while (true) {
+            List<String> chunk;
+            if (byLabel) {
+                // 삭제된 노드는 다시 조회되지 않으므로 항상 앞에서부터 batchSize 만큼 가져온다
+                chunk = genericNodeRepository.findNodeIds(label, requestDto.getFilter(), batchSize);
+            } else {
+                if (from >= elementIds.size()) break;
+                chunk = elementIds.subList(from, Math.min(from + batchSize, elementIds.size()));
+                from += batchSize;
+            }
+            if (chunk.isEmpty()) break;
+
+            long removed;
+            do {
+                removed = genericNodeRepository.deleteRelationships(chunk, batchSize);
+                deletedRels += removed;
+                if (removed > 0) {
+                    notifyProgress(progressListener, "DELETE_RELATIONSHIP", label, batchIndex, removed, deletedRels, -1);
+                }
+            } while (removed >= batchSize);
+
+            long deleted = genericNodeRepository.deleteNodes(chunk);
+            deletedNodes += deleted;
+            notifyProgress(progressListener, "DELETE_NODE", label, batchIndex++, deleted, deletedNodes, total);
+
+            if (byLabel && deleted == 0) {
+                log.warn("Bulk delete made no progress for label {}. Stopping.", label);
+                break;
+            }
+        }
+
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
+        log.info("Bulk node delete finished. nodes: {}, relationships: {}, batches: {}", deletedNodes, deletedRels, batchIndex);
+
+        return GraphBulkNodeResponseDto.builder()
+                .processedCount(deletedNodes)
+                .relationshipCount(deletedRels)
+                .batchCount(batchIndex)
+                .build();
+    }
+
+    private void notifyProgress(Consumer<GraphBulkProgressDto> progressListener, String phase, String label,
+                                int batchIndex, long batchCount, long processed, long total) {
+        if (progressListener == null) return;
+
+        progressListener.accept(GraphBulkProgressDto.builder()
+                .phase(phase)
+                .label(label)
+                .batchIndex(batchIndex)
+                .batchCount(batchCount)
+                .processed(processed)
+                .total(total)
+                .build());
+    }
+
+    private String requireLabel(String label) {
+        if (label == null || label.trim().isEmpty()) {
+            throw new IllegalArgumentException("Either elementIds or label must be provided");
+        }
+        return label;
+    }
+
+    private int resolveBatchSize(Integer requested) {
+        int batchSize = (requested == null || requested <= 0) ? defaultBatchSize : requested;
+        return Math.max(1, Math.min(batchSize, maxBatchSize));
+    }
+}
@@ -3,6 +3,7 @@ package com.empasy.graph.api.service;
 import com.empasy.graph.api.annotation.Neo4jTransactional;
 import com.empasy.graph.api.dto.*;
 import com.empasy.graph.api.repository.GenericNodeRepository;
+import com.empasy.graph.api.support.ResourceVersions;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,7 @@ import java.util.*;
 public class GenericNodeService {
 
     private final GenericNodeRepository genericNodeRepository;
+    private final ResourceVersions resourceVersions;
 
     public Collection<Map<String, Object>> findAllByLabel(String label) {
         return genericNodeRepository.findAllByLabel(label);
@@ -30,16 +32,19 @@ public class GenericNodeService {
 
     @Neo4jTransactional
     public GraphCreateNodeResponseDto createNode(GraphCreateNodeRequestDto requestDto) {
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
         return genericNodeRepository.createNode(requestDto);
     }
 
     @Neo4jTransactional
     public GraphCreateNodeResponseDto updateNode(String elementId, GraphUpdateNodeRequestDto requestDto) {
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
         return genericNodeRepository.updateNode(elementId, requestDto);
     }
 
     @Neo4jTransactional
     public void deleteNode(String elementId) {
+        resourceVersions.bump(ResourceVersions.GRAPH_DATA);
         genericNodeRepository.deleteNode(elementId);
     }
 }
\ No newline at end of file
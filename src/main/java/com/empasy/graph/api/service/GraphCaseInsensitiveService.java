@@ -0,0 +1,155 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphShadowBackfillDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.util.ShadowPropertyUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 인덱스를 사용하는 대소문자 무시 검색을 위한 섀도 프로퍼티(_ci_프로퍼티 = 소문자 값) 관리 서비스입니다.
+ * GenericNodeRepositoryImpl 의 쓰기는 섀도 값을 함께 저장하고, backfill 은 기존 데이터를 채운 뒤 섀도 프로퍼티에 인덱스를 만듭니다.
+ * 블록 검색은 isShadowIndexed 가 true 인 (라벨, 프로퍼티)만 toLower(n.prop) 대신 n._ci_prop 으로 비교합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphCaseInsensitiveService {
+
+    private final GraphCommonRepository graphCommonRepository;
+
+    @Value("${graph.case-insensitive.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${graph.case-insensitive.index-types:TEXT}")
+    private List<String> indexTypes;
+
+    @Value("${graph.case-insensitive.index-cache-ms:30000}")
+    private long indexCacheMs;
+
+    private volatile Set<List<String>> cachedShadowIndexes;
+    private volatile long cachedAt;
+
+    /**
+     * label 노드의 섀도 값을 배치 단위로 채우고 섀도 프로퍼티 인덱스를 만듭니다. properties 가 비어 있으면 라벨의 모든 문자열 프로퍼티가 대상입니다.
+     * 인덱스는 채우기가 끝난 뒤 만들어지므로, 인덱스가 있으면 섀도 값이 준비된 것으로 보고 검색에 사용합니다.
+     */
+    public GraphShadowBackfillDto backfill(GraphShadowBackfillDto requestDto) {
+        String label = requestDto.getLabel();
+        if (label == null || label.isBlank()) {
+            throw new IllegalArgumentException("Label cannot be empty");
+        }
+        List<String> properties = requestDto.getProperties() == null || requestDto.getProperties().isEmpty()
+                ? graphCommonRepository.findStringProperties(label)
+                : requestDto.getProperties();
+        if (properties.stream().anyMatch(property -> property == null || property.isBlank() || ShadowPropertyUtil.isShadow(property))) {
+            throw new IllegalArgumentException("Invalid properties: " + properties);
+        }
+
+        Map<String, Long> updatedByProperty = new LinkedHashMap<>();
+        for (String property : properties) {
+            String shadowProperty = ShadowPropertyUtil.shadowOf(property);
+            long updated = 0;
+            long batch;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Shadow property backfill cancelled. label: " + label + ", property: " + property);
+                }
+                batch = graphCommonRepository.backfillShadowProperty(label, property, shadowProperty, batchSize);
+                updated += batch;
+            } while (batch >= batchSize);
+
+            for (String indexType : indexTypes) {
+                graphCommonRepository.createPropertyIndex(indexType, indexName(indexType, label, property), false, label, shadowProperty);
+            }
+            updatedByProperty.put(property, updated);
+            log.info("Shadow property backfilled. label: {}, property: {}, updated: {}", label, property, updated);
+        }
+
+        // 새 인덱스가 바로 검색에 반영되도록 캐시를 비운다 (POPULATING 상태면 ONLINE 이 된 뒤 반영)
+        cachedShadowIndexes = null;
+        List<GraphShadowBackfillDto.PropertyResultDto> results = new ArrayList<>();
+        updatedByProperty.forEach((property, updated) -> results.add(GraphShadowBackfillDto.PropertyResultDto.builder()
+                .property(property)
+                .shadowProperty(ShadowPropertyUtil.shadowOf(property))
+                .updated(updated)
+                .indexName(indexName(indexTypes.get(0), label, property))
+                .indexed(isShadowIndexed(label, property))
+                .build()));
+
+        return GraphShadowBackfillDto.builder()
+                .label(label)
+                .properties(properties)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * 섀도 프로퍼티 인덱스가 ONLINE 상태인 라벨별 프로퍼티 목록입니다.
+     */
+    public Map<String, List<String>> getIndexedProperties() {
+        Map<String, List<String>> result = new TreeMap<>();
+        for (List<String> key : shadowIndexes()) {
+            result.computeIfAbsent(key.get(0), k -> new ArrayList<>()).add(key.get(1));
+        }
+        result.values().forEach(Collections::sort);
+        return result;
+    }
+
+    /**
+     * label 노드의 property 에 대해 섀도 프로퍼티 인덱스가 ONLINE 상태이면 true 입니다. (graph.case-insensitive.index-cache-ms 동안 캐시)
+     */
+    public boolean isShadowIndexed(String label, String property) {
+        return shadowIndexes().contains(List.of(label, property));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<List<String>> shadowIndexes() {
+        Set<List<String>> indexes = cachedShadowIndexes;
+        long now = System.currentTimeMillis();
+        if (indexes != null && now - cachedAt <= indexCacheMs) {
+            return indexes;
+        }
+
+        indexes = new HashSet<>();
+        for (Map<String, Object> index : graphCommonRepository.findIndexes()) {
+            List<String> labels = (List<String>) index.get("labelsOrTypes");
+            List<String> properties = (List<String>) index.get("properties");
+            if (!"NODE".equals(index.get("entityType"))
+                    || !"ONLINE".equals(index.get("state"))
+                    || !indexTypes.contains(index.get("type"))
+                    || labels == null || properties == null || properties.isEmpty()
+                    || !ShadowPropertyUtil.isShadow(properties.get(0))) {
+                continue;
+            }
+            String property = properties.get(0).substring(ShadowPropertyUtil.PREFIX.length());
+            for (String label : labels) {
+                indexes.add(List.of(label, property));
+            }
+        }
+        cachedShadowIndexes = indexes;
+        cachedAt = now;
+        return indexes;
+    }
+
+    /**
+     * backfill 이 만드는 섀도 프로퍼티 인덱스 중 첫 번째 종류(graph.case-insensitive.index-types)입니다.
+     */
+    public String shadowIndexType() {
+        return indexTypes.get(0);
+    }
+
+    public String shadowIndexName(String label, String property) {
+        return indexName(shadowIndexType(), label, property);
+    }
+
+    private String indexName(String indexType, String label, String property) {
+        return ("ci_" + indexType + "_" + label + "_" + property)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9_]", "_");
+    }
+}
@@ -3,60 +3,177 @@ package com.empasy.graph.api.service;
 import com.empasy.graph.api.annotation.Neo4jTransactional;
 import com.empasy.graph.api.dto.*;
 import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.support.ResourceVersions;
+import com.empasy.graph.api.util.GraphResultCopyUtil;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Neo4jTransactional(readOnly = true)
 public class GraphCommonService {
 
     private final GraphCommonRepository graphCommonRepository;
+    private final GraphCypherValidationService graphCypherValidationService;
+    private final GraphRequestCoalescer graphRequestCoalescer;
+    private final ResourceVersions resourceVersions;
+    private final GraphDegreeStatsService graphDegreeStatsService;
 
+    @Value("${graph.query.timeout-ms:30000}")
+    private long defaultTimeoutMs;
+
+    @Value("${graph.query.max-timeout-ms:120000}")
+    private long maxTimeoutMs;
+
+    @Value("${graph.query.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${graph.query.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${graph.expand.max-depth:5}")
+    private int maxExpandDepth;
+
+    @Value("${graph.expand.node-budget:500}")
+    private int defaultNodeBudget;
+
+    @Value("${graph.expand.max-node-budget:5000}")
+    private int maxNodeBudget;
+
+    @Value("${graph.expand.max-rows-per-hop:20000}")
+    private int maxRowsPerHop;
+
+    @Value("${graph.summary.max-groups:50}")
+    private int summaryMaxGroups;
+
+    @Value("${graph.degree.neighbors-summary-above:20000}")
+    private long neighborsSummaryAbove;
+
+    @Value("${graph.etag.graph-data-max-age-ms:30000}")
+    private long graphDataMaxAgeMs;
+
+    /**
+     * 스키마/라벨 카운트/검색바 응답의 ETag 입니다.
+     * API 를 거치지 않은 Neo4j 변경은 감지할 수 없으므로 스키마 버전, 데이터 변경 버전에 graph.etag.graph-data-max-age-ms 단위 시간 구간을 섞어 오래된 응답이 그 이상 재사용되지 않게 합니다.
+     * 304 응답 경로가 Neo4j 를 건드리지 않도록 트랜잭션 없이 실행하고, 스키마 버전은 백그라운드에서 확인한 값만 사용합니다.
+     */
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
+    public String graphDataEtag(String resource) {
+        return resourceVersions.etag(ResourceVersions.GRAPH_DATA, resource,
+                graphCypherValidationService.getKnownSchemaVersion(),
+                System.currentTimeMillis() / Math.max(1, graphDataMaxAgeMs));
+    }
+
+    /**
+     * 스키마/라벨 카운트/검색바/이웃 조회는 동시 요청을 합쳐 실행합니다. 기다리는 요청이 Bolt 연결과 빈 트랜잭션을 잡고 있지 않도록
+     * 트랜잭션 없이 들어오고, 실제로 실행하는 요청의 repository 호출만 트랜잭션을 엽니다.
+     */
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
     public Collection<GraphSchemaDto> getSchemaInfo() {
 
-        return graphCommonRepository.findSchemaInfo();
+        return graphRequestCoalescer.execute("schema", "all", graphCommonRepository::findSchemaInfo);
     }
 
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
     public Collection<GraphLabelCountDto> getLabelCounts() {
 
-        return graphCommonRepository.getLabelCounts();
+        return graphRequestCoalescer.execute("label-counts", "all", graphCommonRepository::getLabelCounts);
     }
 
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
     public GraphSearchBarDto getSearchBarData() {
 
-        return graphCommonRepository.findSearchBarSchema();
+        return graphRequestCoalescer.execute("search-bar", "all", graphCommonRepository::findSearchBarSchema);
     }
 
-    public Collection<Map<String, Object>> executeCypher(String query) {
+    /**
+     * 사용자 작성 Cypher 를 실행합니다. 타임아웃은 요청값을 쓰되 graph.query.max-timeout-ms 를 넘지 않습니다.
+     * executeRawCypher 가 자체 세션을 열므로 서비스 트랜잭션은 열지 않습니다. (연결 하나만 사용)
+     */
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
+    public GraphCypherResultDto executeCypher(String query, Long timeoutMs) {
+        List<String> warnings = graphCypherValidationService.checkExecutionPolicy(query);
+
+        long timeout = (timeoutMs == null || timeoutMs <= 0) ? defaultTimeoutMs : Math.min(timeoutMs, maxTimeoutMs);
+        GraphCypherResultDto result = graphCommonRepository.executeRawCypher(query, timeout, maxRows, maxBytes);
 
-        return graphCommonRepository.executeRawCypher(query);
+        return result.toBuilder()
+                .warnings(warnings)
+                .build();
     }
 
     public Map<String, Object> validateQuery(String query) {
-        return graphCommonRepository.validateCypher(query);
+        return graphCypherValidationService.validate(query);
     }
 
-    public GraphDetailDto findNodeAndNeighbors(String elementId) {
-
-        return graphCommonRepository.findNodeAndNeighbors(elementId);
+    /**
+     * 노드와 모든 이웃을 조회합니다.
+     * summarizeSupernode 가 true 이고 차수가 graph.degree.neighbors-summary-above 이상인 슈퍼노드이면 전체 이웃 대신 라벨 단위 요약(summarized = true)을 반환합니다.
+     */
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
+    public GraphDetailDto findNodeAndNeighbors(String elementId, boolean summarizeSupernode) {
+        long degree = summarizeSupernode ? graphDegreeStatsService.getSupernodeDegree(elementId) : -1;
+        if (neighborsSummaryAbove > 0 && degree >= neighborsSummaryAbove) {
+            log.info("Supernode neighbors summarized. elementId: {}, degree: {}", elementId, degree);
+            return summarizeNeighbors(elementId, null);
+        }
+
+        return graphRequestCoalescer.execute("neighbors", elementId,
+                () -> graphCommonRepository.findNodeAndNeighbors(elementId),
+                GraphResultCopyUtil::copy);
     }
 
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
     public GraphDetailDto findSpecificNodeNeighbors(String elementId, String relation, String direction, String targetLabel) {
-        return graphCommonRepository.findSpecificNodeNeighbors(elementId, relation, direction,targetLabel);
+        String key = String.join("|", elementId, String.valueOf(relation), String.valueOf(direction), String.valueOf(targetLabel));
+        return graphRequestCoalescer.execute("neighbors-specific", key,
+                () -> graphCommonRepository.findSpecificNodeNeighbors(elementId, relation, direction, targetLabel),
+                GraphResultCopyUtil::copy);
     }
 
+    @Neo4jTransactional(propagation = Propagation.NOT_SUPPORTED)
     public GraphDetailDto findSpecificNodeNeighborsBatch(String elementId, List<GraphExpansionCriteriaDto> criteriaList, Integer limit) {
-        return graphCommonRepository.findSpecificNodeNeighborsBatch(elementId, criteriaList, limit);
+        StringJoiner key = new StringJoiner("|").add(elementId).add(String.valueOf(limit));
+        if (criteriaList != null) {
+            for (GraphExpansionCriteriaDto criteria : criteriaList) {
+                key.add(criteria.getRelation() + "," + criteria.getDirection() + "," + criteria.getTargetLabel());
+            }
+        }
+        return graphRequestCoalescer.execute("neighbors-batch", key.toString(),
+                () -> graphCommonRepository.findSpecificNodeNeighborsBatch(elementId, criteriaList, limit),
+                GraphResultCopyUtil::copy);
     }
 
 
 
+    /**
+     * k-홉 확장입니다. 깊이와 홉별 노드 수는 설정된 최대값을 넘지 않습니다.
+     */
+    public GraphDetailDto expandNeighborhood(String elementId, GraphMultiHopRequestDto requestDto) {
+        Integer requestedDepth = requestDto.getMaxDepth();
+        Integer requestedBudget = requestDto.getNodeBudget();
+
+        int depth = (requestedDepth == null || requestedDepth <= 0) ? 1 : Math.min(requestedDepth, maxExpandDepth);
+        int budget = (requestedBudget == null || requestedBudget <= 0)
+                ? defaultNodeBudget : Math.min(requestedBudget, maxNodeBudget);
+
+        return graphCommonRepository.expandMultiHop(elementId, depth, requestDto.getHops(), budget, maxRowsPerHop);
+    }
+
+    public GraphDetailDto summarizeNeighbors(String elementId, String property) {
+        return graphCommonRepository.summarizeNeighbors(elementId, property, summaryMaxGroups);
+    }
+
     public GraphExpansionStatsDto getNodeExpansionStats(String elementId , List<String> excludeRelIds) {
         return graphCommonRepository.getNodeExpansionStats(elementId ,excludeRelIds);
     }
@@ -3,6 +3,7 @@ package com.empasy.graph.api.service;
 import com.empasy.graph.api.dto.GraphCypherQueryDto;
 import com.empasy.graph.api.entity.GraphCypherQuery;
 import com.empasy.graph.api.repository.GraphCypherQueryRepository;
+import com.empasy.graph.api.support.ResourceVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,13 +21,25 @@ import java.util.stream.Collectors;
 public class GraphCypherQueryService {
 
     private final GraphCypherQueryRepository graphCypherQueryRepository;
-    private final com.empasy.graph.api.repository.GraphCommonRepository graphCommonRepository;
+    private final GraphCypherValidationService graphCypherValidationService;
+    private final ResourceVersions resourceVersions;
 
     private static final Pattern MUTATION_PATTERN = Pattern.compile(
             "\\b(DELETE|DETACH|CREATE|SET|MERGE|REMOVE|DROP|CALL)\\b",
             Pattern.CASE_INSENSITIVE
     );
 
+    /**
+     * 쿼리 목록 응답의 ETag 입니다. 유효 쿼리 목록은 스키마가 바뀌면 결과가 달라지므로 스키마 버전을 함께 섞습니다.
+     */
+    public String queriesEtag(String queryType, boolean validOnly) {
+        return validOnly
+                ? resourceVersions.persistedEtag(ResourceVersions.CYPHER_QUERY, graphCypherQueryRepository.findTableVersion(),
+                        "valid", queryType, graphCypherValidationService.getSchemaVersion())
+                : resourceVersions.persistedEtag(ResourceVersions.CYPHER_QUERY, graphCypherQueryRepository.findTableVersion(),
+                        "all", queryType);
+    }
+
     public List<GraphCypherQueryDto> getAllQueries(String queryType) {
         List<GraphCypherQuery> queries;
         if (queryType != null && !queryType.isEmpty()) {
@@ -48,12 +61,7 @@ public class GraphCypherQueryService {
             queries = graphCypherQueryRepository.findAll();
         }
 
-        return queries.stream()
-                .filter(entity -> {
-                    java.util.Map<String, Object> validationResult = graphCommonRepository
-                            .validateCypher(entity.getCypherQuery());
-                    return Boolean.TRUE.equals(validationResult.get("valid"));
-                })
+        return graphCypherValidationService.filterValid(queries, GraphCypherQuery::getCypherQuery).stream()
                 .map(GraphCypherQueryDto::from)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,187 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphQueryPlanDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.util.CypherQueryUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Cypher EXPLAIN 검증 결과를 쿼리 해시 단위로 캐싱합니다. (최대 graph.validation.cache-size 개, LRU)
+ * 쿼리 본문이 바뀌거나 스키마 스냅샷(라벨/타입/프로퍼티 키)이 바뀐 경우에만 다시 검증하며, 재검증은 제한된 스레드 풀에서 병렬로 실행합니다.
+ * 확정된 결과(유효, 또는 문법/의미 오류)만 캐싱하고, 연결 끊김이나 타임아웃 같은 일시적 오류는 캐싱하지 않고 호출부로 던집니다.
+ */
+@Slf4j
+@Service
+public class GraphCypherValidationService {
+
+    private final GraphCommonRepository graphCommonRepository;
+    private final ExecutorService validationExecutor;
+    private final Map<String, CachedValidation> validationCache;
+
+    @Value("${graph.validation.schema-check-interval-ms:30000}")
+    private long schemaCheckIntervalMs;
+
+    /**
+     * 실행 전 계획 검사 정책입니다. OFF: 검사 안 함, WARN: 경고만 남김, REFUSE: 실행 거부
+     */
+    @Value("${graph.query.plan-policy:WARN}")
+    private String planPolicy;
+
+    @Value("${graph.query.max-estimated-rows:1000000}")
+    private double maxEstimatedRows;
+
+    private volatile String schemaVersion;
+    private volatile long schemaCheckedAt;
+
+    public GraphCypherValidationService(GraphCommonRepository graphCommonRepository,
+                                        @Value("${graph.validation.threads:8}") int threads,
+                                        @Value("${graph.validation.cache-size:10000}") int cacheSize) {
+        this.graphCommonRepository = graphCommonRepository;
+        this.validationExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+        this.validationCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValidation> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    /**
+     * 쿼리를 검증합니다. Neo4j 연결 오류 등 일시적 오류는 그대로 던집니다.
+     */
+    public Map<String, Object> validate(String cypherQuery) {
+        return await(getOrValidate(cypherQuery, currentSchemaVersion()));
+    }
+
+    /**
+     * 주어진 항목 중 쿼리가 유효한 항목만 원래 순서대로 반환합니다. 일시적 오류로 검증하지 못한 항목이 있으면 목록을 잘라 내지 않고 예외를 던집니다.
+     */
+    public <T> List<T> filterValid(List<T> items, Function<T, String> queryExtractor) {
+        String version = currentSchemaVersion();
+
+        List<CompletableFuture<Map<String, Object>>> futures = items.stream()
+                .map(item -> getOrValidate(queryExtractor.apply(item), version))
+                .toList();
+
+        await(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+
+        List<T> validItems = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (Boolean.TRUE.equals(futures.get(i).join().get("valid"))) {
+                validItems.add(items.get(i));
+            }
+        }
+        return validItems;
+    }
+
+    /**
+     * 캐싱된 EXPLAIN 계획으로 실행 정책을 검사하고 경고 목록을 반환합니다.
+     * 정책이 REFUSE 이고 예상 행 수가 임계치를 넘으면 IllegalArgumentException 을 던집니다.
+     */
+    public List<String> checkExecutionPolicy(String cypherQuery) {
+        if ("OFF".equalsIgnoreCase(planPolicy)) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Object> validation = validate(cypherQuery);
+        // 문법 오류는 실제 실행 시 그대로 보고되도록 통과시킨다
+        if (!(validation.get("plan") instanceof GraphQueryPlanDto plan)) {
+            return Collections.emptyList();
+        }
+
+        List<String> warnings = new ArrayList<>();
+        if (plan.getMaxEstimatedRows() > maxEstimatedRows) {
+            warnings.add(String.format("예상 행 수(%.0f)가 허용치(%.0f)를 초과합니다.", plan.getMaxEstimatedRows(), maxEstimatedRows));
+        }
+        if (plan.isCartesianProduct()) {
+            warnings.add("카테시안 곱(CartesianProduct)이 포함된 쿼리입니다.");
+        }
+        if (plan.isAllNodesScan()) {
+            warnings.add("전체 노드 스캔(AllNodesScan)이 포함된 쿼리입니다.");
+        }
+
+        if (!warnings.isEmpty()) {
+            log.warn("Expensive cypher query detected. policy: {}, warnings: {}", planPolicy, warnings);
+        }
+        if ("REFUSE".equalsIgnoreCase(planPolicy) && plan.getMaxEstimatedRows() > maxEstimatedRows) {
+            throw new IllegalArgumentException("실행 거부: " + warnings.get(0));
+        }
+        return warnings;
+    }
+
+    /**
+     * 현재 스키마(라벨/타입/프로퍼티 키) 버전입니다. graph.validation.schema-check-interval-ms 주기로 갱신됩니다.
+     */
+    public String getSchemaVersion() {
+        return currentSchemaVersion();
+    }
+
+    /**
+     * 마지막으로 확인한 스키마 버전입니다. Neo4j 를 조회하지 않으며, 아직 확인 전이면 빈 문자열입니다.
+     * 갱신은 GraphSchemaVersionRefresher 와 getSchemaVersion 호출이 맡습니다.
+     */
+    public String getKnownSchemaVersion() {
+        String version = schemaVersion;
+        return version == null ? "" : version;
+    }
+
+    private CompletableFuture<Map<String, Object>> getOrValidate(String cypherQuery, String version) {
+        String key = CypherQueryUtil.hash(cypherQuery);
+        CachedValidation cached = validationCache.get(key);
+        if (cached != null && cached.schemaVersion().equals(version)) {
+            return CompletableFuture.completedFuture(cached.result());
+        }
+
+        // validateCypher 가 일시적 오류를 던지면 future 가 예외로 끝나고 캐시에는 남지 않는다
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, Object> result = Collections.unmodifiableMap(graphCommonRepository.validateCypher(cypherQuery));
+            validationCache.put(key, new CachedValidation(version, result));
+            return result;
+        }, validationExecutor);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String currentSchemaVersion() {
+        long now = System.currentTimeMillis();
+        if (schemaVersion == null || now - schemaCheckedAt > schemaCheckIntervalMs) {
+            try {
+                schemaVersion = CypherQueryUtil.hash(graphCommonRepository.findSchemaFingerprint());
+            } catch (Exception e) {
+                log.warn("스키마 스냅샷 조회 실패, 이전 버전을 유지합니다: {}", e.getMessage());
+                if (schemaVersion == null) {
+                    schemaVersion = "";
+                }
+            }
+            schemaCheckedAt = now;
+        }
+        return schemaVersion;
+    }
+
+    private record CachedValidation(String schemaVersion, Map<String, Object> result) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.empasy.graph.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 차수 분포와 슈퍼노드 레지스트리를 주기적으로 다시 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphDegreeStatsCollector {
+
+    private final GraphDegreeStatsService graphDegreeStatsService;
+
+    @Scheduled(initialDelayString = "${graph.degree.initial-delay-ms:60000}",
+            fixedDelayString = "${graph.degree.refresh-interval-ms:3600000}")
+    public void collect() {
+        try {
+            graphDegreeStatsService.refresh();
+        } catch (Exception e) {
+            log.error("Failed to compute degree statistics", e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphDegreeStatsDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.util.ElementIdInterner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * 라벨별 차수(degree) 분포와 슈퍼노드(차수가 기준 이상인 노드) 레지스트리를 관리합니다.
+ * 통계는 백그라운드(GraphDegreeStatsCollector)에서 주기적으로 다시 계산하고, 조회는 메모리의 스냅샷만 읽습니다.
+ * 확장/검색 코드는 getSupernodeDegree 로 허브 노드를 미리 알고 샘플링, 페이징, 요약 등 전략을 고를 수 있습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphDegreeStatsService {
+
+    private static final String TOTAL_THRESHOLD_KEY = "*";
+
+    private final GraphCommonRepository graphCommonRepository;
+    private final GraphRequestCoalescer graphRequestCoalescer;
+
+    @Value("${graph.degree.sample-size:100000}")
+    private int sampleSize;
+
+    @Value("${graph.degree.supernode-threshold:1000}")
+    private long defaultThreshold;
+
+    @Value("${graph.degree.type-thresholds:}")
+    private String typeThresholds;
+
+    @Value("${graph.degree.max-supernodes:10000}")
+    private int maxSupernodes;
+
+    private volatile DegreeSnapshot snapshot = DegreeSnapshot.EMPTY;
+
+    /**
+     * 마지막으로 계산된 스냅샷을 반환합니다. 재계산은 전체 노드를 훑으므로 백그라운드 수집기에서만 수행합니다.
+     */
+    public GraphDegreeStatsDto getStats(int supernodeLimit) {
+        return toDto(snapshot, Math.max(0, supernodeLimit));
+    }
+
+    /**
+     * 통계를 다시 계산해 스냅샷을 교체합니다. 동시에 호출되면 한 번만 계산합니다.
+     */
+    public void refresh() {
+        snapshot = graphRequestCoalescer.execute("degree-stats", "all", this::computeSnapshot);
+    }
+
+    /**
+     * 등록된 슈퍼노드이면 전체 차수를, 아니면 -1 을 반환합니다.
+     */
+    public long getSupernodeDegree(String elementId) {
+        DegreeSnapshot current = snapshot;
+        int handle = current.ids.find(elementId);
+        return handle < 0 ? -1 : current.degrees[handle];
+    }
+
+    /**
+     * relationshipType 차수가 해당 타입 기준 이상인 슈퍼노드이면 그 차수를, 아니면 -1 을 반환합니다.
+     */
+    public long getSupernodeDegree(String elementId, String relationshipType) {
+        DegreeSnapshot current = snapshot;
+        int handle = current.ids.find(elementId);
+        long[] typeDegrees = current.typeDegrees.get(relationshipType);
+        if (handle < 0 || typeDegrees == null || typeDegrees[handle] == 0) {
+            return -1;
+        }
+        return typeDegrees[handle];
+    }
+
+    private DegreeSnapshot computeSnapshot() {
+        long start = System.currentTimeMillis();
+
+        List<LabelDegrees> labels = new ArrayList<>();
+        for (String label : graphCommonRepository.findLabels()) {
+            labels.add(LabelDegrees.of(label, graphCommonRepository.findLabelDegreeCounts(label, sampleSize)));
+        }
+
+        Map<String, Long> thresholds = resolveThresholds(graphCommonRepository.findRelationshipTypes());
+        long candidateThreshold = Collections.min(thresholds.values());
+
+        // 타입별 차수는 전체 차수를 넘을 수 없으므로 가장 낮은 기준으로 후보를 먼저 고른다
+        List<Map<String, Object>> candidates = new ArrayList<>(
+                graphCommonRepository.findHighDegreeNodes(candidateThreshold, maxSupernodes));
+        List<String> candidateIds = candidates.stream().map(row -> (String) row.get("id")).toList();
+
+        Map<String, Map<String, Long>> typeDegreesByType = new LinkedHashMap<>();
+        if (!candidateIds.isEmpty()) {
+            for (Map.Entry<String, Long> entry : thresholds.entrySet()) {
+                if (TOTAL_THRESHOLD_KEY.equals(entry.getKey())) continue;
+                typeDegreesByType.put(entry.getKey(),
+                        graphCommonRepository.findTypeDegrees(candidateIds, entry.getKey(), entry.getValue()));
+            }
+        }
+
+        ElementIdInterner ids = new ElementIdInterner(candidates.size());
+        List<Long> degrees = new ArrayList<>();
+        List<List<String>> nodeLabels = new ArrayList<>();
+        long totalThreshold = thresholds.get(TOTAL_THRESHOLD_KEY);
+        for (Map<String, Object> row : candidates) {
+            String id = (String) row.get("id");
+            long degree = ((Number) row.get("degree")).longValue();
+            boolean typeSupernode = typeDegreesByType.values().stream().anyMatch(map -> map.containsKey(id));
+            if (degree < totalThreshold && !typeSupernode) continue;
+
+            ids.intern(id);
+            degrees.add(degree);
+            @SuppressWarnings("unchecked")
+            List<String> rowLabels = (List<String>) row.get("labels");
+            nodeLabels.add(rowLabels == null ? List.of() : List.copyOf(rowLabels));
+        }
+
+        Map<String, long[]> typeDegrees = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> entry : typeDegreesByType.entrySet()) {
+            if (entry.getValue().isEmpty()) continue;
+            long[] values = new long[ids.size()];
+            entry.getValue().forEach((id, degree) -> {
+                int handle = ids.find(id);
+                if (handle >= 0) values[handle] = degree;
+            });
+            typeDegrees.put(entry.getKey(), values);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Degree statistics computed. labels: {}, supernodes: {}, elapsed: {}ms", labels.size(), ids.size(), elapsed);
+
+        return new DegreeSnapshot(OffsetDateTime.now(), elapsed, labels, thresholds, ids,
+                degrees.stream().mapToLong(Long::longValue).toArray(), nodeLabels, typeDegrees);
+    }
+
+    /**
+     * graph.degree.type-thresholds ("TYPE:차수,TYPE:차수") 로 타입별 기준을 정하고, 나머지 타입은 기본 기준을 사용합니다.
+     */
+    private Map<String, Long> resolveThresholds(List<String> relationshipTypes) {
+        Map<String, Long> overrides = new HashMap<>();
+        if (typeThresholds != null && !typeThresholds.isBlank()) {
+            for (String entry : typeThresholds.split(",")) {
+                int separator = entry.lastIndexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Invalid graph.degree.type-thresholds entry: " + entry);
+                }
+                overrides.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        Map<String, Long> thresholds = new LinkedHashMap<>();
+        thresholds.put(TOTAL_THRESHOLD_KEY, defaultThreshold);
+        for (String type : relationshipTypes) {
+            thresholds.put(type, overrides.getOrDefault(type, defaultThreshold));
+        }
+        return thresholds;
+    }
+
+    private GraphDegreeStatsDto toDto(DegreeSnapshot current, int supernodeLimit) {
+        List<GraphDegreeStatsDto.LabelDegreeDto> labels = current.labels.stream()
+                .map(LabelDegrees::toDto)
+                .toList();
+
+        // 후보 조회가 전체 차수 내림차순이므로 핸들 순서가 곧 차수 순서
+        List<GraphDegreeStatsDto.SupernodeDto> supernodes = new ArrayList<>();
+        for (int handle = 0; handle < Math.min(supernodeLimit, current.ids.size()); handle++) {
+            Map<String, Long> degreeByType = new TreeMap<>();
+            for (Map.Entry<String, long[]> entry : current.typeDegrees.entrySet()) {
+                long degree = entry.getValue()[handle];
+                if (degree > 0) degreeByType.put(entry.getKey(), degree);
+            }
+            supernodes.add(GraphDegreeStatsDto.SupernodeDto.builder()
+                    .elementId(current.ids.idOf(handle))
+                    .labels(current.nodeLabels.get(handle))
+                    .degree(current.degrees[handle])
+                    .degreeByType(degreeByType)
+                    .build());
+        }
+
+        return GraphDegreeStatsDto.builder()
+                .computedAt(current.computedAt)
+                .elapsedMs(current.elapsedMs)
+                .labels(labels)
+                .thresholds(current.thresholds)
+                .supernodeCount(current.ids.size())
+                .supernodes(supernodes)
+                .build();
+    }
+
+    /**
+     * 라벨의 차수 분포입니다. buckets[0] 은 차수 0, buckets[i] 는 차수가 [2^(i-1), 2^i) 인 노드 수입니다.
+     */
+    private record LabelDegrees(String label, long[] buckets, long sampled, long totalDegree, long maxDegree) {
+
+        static LabelDegrees of(String label, Map<Long, Long> degreeCounts) {
+            long[] buckets = new long[1];
+            long sampled = 0;
+            long totalDegree = 0;
+            long maxDegree = 0;
+            for (Map.Entry<Long, Long> entry : degreeCounts.entrySet()) {
+                long degree = entry.getKey();
+                long nodes = entry.getValue();
+                int bucket = 64 - Long.numberOfLeadingZeros(degree);
+                if (bucket >= buckets.length) {
+                    buckets = Arrays.copyOf(buckets, bucket + 1);
+                }
+                buckets[bucket] += nodes;
+                sampled += nodes;
+                totalDegree += degree * nodes;
+                maxDegree = Math.max(maxDegree, degree);
+            }
+            return new LabelDegrees(label, buckets, sampled, totalDegree, maxDegree);
+        }
+
+        long percentile(double fraction) {
+            long rank = (long) Math.ceil(sampled * fraction);
+            long seen = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= rank && seen > 0) {
+                    long upperBound = bucket == 0 ? 0 : (1L << bucket) - 1;
+                    return Math.min(upperBound, maxDegree);
+                }
+            }
+            return maxDegree;
+        }
+
+        GraphDegreeStatsDto.LabelDegreeDto toDto() {
+            return GraphDegreeStatsDto.LabelDegreeDto.builder()
+                    .label(label)
+                    .sampledNodes(sampled)
+                    .averageDegree(sampled == 0 ? 0 : (double) totalDegree / sampled)
+                    .maxDegree(maxDegree)
+                    .p50Degree(percentile(0.5))
+                    .p99Degree(percentile(0.99))
+                    .buckets(Arrays.stream(buckets).boxed().toList())
+                    .build();
+        }
+    }
+
+    /**
+     * 계산이 끝난 뒤에는 변경하지 않는 읽기 전용 스냅샷입니다. (volatile 필드로 교체해 공유)
+     * 슈퍼노드는 전체 차수 내림차순 핸들로 관리하고, typeDegrees 는 핸들 -> 타입 차수 배열(기준 미만은 0)입니다.
+     */
+    private record DegreeSnapshot(OffsetDateTime computedAt, long elapsedMs, List<LabelDegrees> labels,
+                                  Map<String, Long> thresholds, ElementIdInterner ids, long[] degrees,
+                                  List<List<String>> nodeLabels, Map<String, long[]> typeDegrees) {
+
+        static final DegreeSnapshot EMPTY = new DegreeSnapshot(null, 0, List.of(), Map.of(),
+                new ElementIdInterner(), new long[0], List.of(), Map.of());
+    }
+}
@@ -0,0 +1,195 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphFulltextIndexDto;
+import com.empasy.graph.api.dto.GraphFulltextSearchResponseDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Neo4j 전문(full-text) 인덱스 관리와 검색 서비스입니다.
+ * 블록 검색의 FULLTEXT 연산자는 findNodeIndex 로 (라벨, 프로퍼티)를 포함하는 인덱스를 찾아 인덱스 조회로 후보 노드를 먼저 좁힙니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphFulltextService {
+
+    private static final Pattern INDEX_NAME_PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+    private static final Pattern ANALYZER_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Pattern LUCENE_SPECIAL_PATTERN = Pattern.compile("([+\\-&|!(){}\\[\\]^\"~*?:\\\\/])");
+
+    private final GraphCommonRepository graphCommonRepository;
+
+    @Value("${graph.fulltext.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${graph.fulltext.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${graph.fulltext.max-candidates:10000}")
+    private int maxCandidates;
+
+    @Value("${graph.fulltext.index-cache-ms:30000}")
+    private long indexCacheMs;
+
+    private volatile List<GraphFulltextIndexDto> cachedIndexes;
+    private volatile long cachedAt;
+
+    public List<GraphFulltextIndexDto> getIndexes() {
+        return graphCommonRepository.findFulltextIndexes();
+    }
+
+    public GraphFulltextIndexDto createIndex(GraphFulltextIndexDto requestDto) {
+        String name = requestDto.getName();
+        if (name == null || !INDEX_NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid index name: " + name);
+        }
+        boolean relationship = isRelationship(requestDto.getEntityType());
+        List<String> labelsOrTypes = requireNames(requestDto.getLabelsOrTypes(), "labelsOrTypes");
+        List<String> properties = requireNames(requestDto.getProperties(), "properties");
+        String analyzer = requestDto.getAnalyzer();
+        if (analyzer != null && !analyzer.isBlank() && !ANALYZER_PATTERN.matcher(analyzer).matches()) {
+            throw new IllegalArgumentException("Invalid analyzer: " + analyzer);
+        }
+
+        graphCommonRepository.createFulltextIndex(name, relationship, labelsOrTypes, properties,
+                analyzer == null || analyzer.isBlank() ? null : analyzer);
+        cachedIndexes = null;
+        log.info("Fulltext index created. name: {}, labels: {}, properties: {}", name, labelsOrTypes, properties);
+
+        return findIndex(name, getIndexes());
+    }
+
+    public void dropIndex(String name) {
+        if (name == null || !INDEX_NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid index name: " + name);
+        }
+        if (findIndex(name, getIndexes()) == null) {
+            throw new IllegalArgumentException("Fulltext index not found: " + name);
+        }
+        graphCommonRepository.dropIndex(name);
+        cachedIndexes = null;
+    }
+
+    /**
+     * 전문 인덱스 검색입니다. raw 가 false 이면 입력을 단어 단위 접두어 검색(단어* AND 단어*)으로 바꾸고, true 이면 Lucene 문법을 그대로 사용합니다.
+     */
+    public GraphFulltextSearchResponseDto search(String indexName, String query, Integer page, Integer size, boolean raw) {
+        GraphFulltextIndexDto index = findIndex(indexName, currentIndexes());
+        if (index == null) {
+            throw new IllegalArgumentException("Fulltext index not found: " + indexName);
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query cannot be empty");
+        }
+
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageIndex = (page == null || page < 0) ? 0 : page;
+        String luceneQuery = raw ? query : toPrefixQuery(null, query);
+
+        // 한 건 더 조회해 다음 페이지 여부를 판단한다
+        List<Map<String, Object>> items = new ArrayList<>(graphCommonRepository.searchFulltext(
+                indexName, isRelationship(index.getEntityType()), luceneQuery, (long) pageIndex * pageSize, pageSize + 1));
+        boolean hasNext = items.size() > pageSize;
+        if (hasNext) {
+            items = items.subList(0, pageSize);
+        }
+
+        return GraphFulltextSearchResponseDto.builder()
+                .items(items)
+                .page(pageIndex)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .luceneQuery(luceneQuery)
+                .build();
+    }
+
+    /**
+     * label 노드의 property 를 포함하는 ONLINE 상태 노드 전문 인덱스 이름을 반환합니다. 없으면 null 입니다.
+     */
+    public String findNodeIndex(String label, String property) {
+        for (GraphFulltextIndexDto index : currentIndexes()) {
+            if (!isRelationship(index.getEntityType())
+                    && "ONLINE".equals(index.getState())
+                    && index.getLabelsOrTypes().contains(label)
+                    && index.getProperties().contains(property)) {
+                return index.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * property 값이 text 의 모든 단어로 시작하는 단어를 포함하는 노드의 elementId 를 점수 순으로 최대 graph.fulltext.max-candidates 개 반환합니다.
+     * 후보가 더 있으면 truncated 가 true 이며, 점수가 낮은 나머지 후보는 검색 결과에서 빠집니다.
+     */
+    public FulltextCandidates findNodeIds(String indexName, String property, String text) {
+        // 한 건 더 조회해 잘림 여부를 판단한다
+        List<String> ids = graphCommonRepository.findFulltextNodeIds(indexName, toPrefixQuery(property, text), maxCandidates + 1);
+        boolean truncated = ids.size() > maxCandidates;
+        if (truncated) {
+            log.warn("Fulltext candidates truncated. index: {}, property: {}, limit: {}", indexName, property, maxCandidates);
+            ids = ids.subList(0, maxCandidates);
+        }
+        return new FulltextCandidates(ids, truncated, maxCandidates);
+    }
+
+    public record FulltextCandidates(List<String> ids, boolean truncated, int limit) {
+    }
+
+    private GraphFulltextIndexDto findIndex(String name, List<GraphFulltextIndexDto> indexes) {
+        return indexes.stream()
+                .filter(index -> index.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<GraphFulltextIndexDto> currentIndexes() {
+        List<GraphFulltextIndexDto> indexes = cachedIndexes;
+        long now = System.currentTimeMillis();
+        if (indexes == null || now - cachedAt > indexCacheMs) {
+            indexes = graphCommonRepository.findFulltextIndexes();
+            cachedIndexes = indexes;
+            cachedAt = now;
+        }
+        return indexes;
+    }
+
+    /**
+     * 입력을 공백 단위 단어로 나누어 특수문자를 이스케이프하고 접두어 검색(단어*)을 AND 로 묶습니다. property 가 있으면 해당 필드로 한정합니다.
+     */
+    private String toPrefixQuery(String property, String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (word.isEmpty()) continue;
+            // 와일드카드 검색어는 analyzer 를 거치지 않으므로 인덱싱 시와 같이 소문자로 맞춘다
+            terms.add(escape(word.toLowerCase(Locale.ROOT)) + "*");
+        }
+        String joined = String.join(" AND ", terms);
+        return property == null ? joined : escape(property) + ":(" + joined + ")";
+    }
+
+    private String escape(String value) {
+        return LUCENE_SPECIAL_PATTERN.matcher(value).replaceAll("\\\\$1");
+    }
+
+    private boolean isRelationship(String entityType) {
+        return "RELATIONSHIP".equalsIgnoreCase(entityType);
+    }
+
+    private List<String> requireNames(List<String> names, String field) {
+        if (names == null || names.isEmpty() || names.stream().anyMatch(name -> name == null || name.isBlank())) {
+            throw new IllegalArgumentException(field + " cannot be empty");
+        }
+        return names;
+    }
+}
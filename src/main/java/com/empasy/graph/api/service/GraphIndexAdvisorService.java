@@ -0,0 +1,241 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphFulltextIndexDto;
+import com.empasy.graph.api.dto.GraphIndexRecommendationDto;
+import com.empasy.graph.api.dto.GraphShadowBackfillDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.service.GraphPredicateStatsRecorder.PredicateKey;
+import com.empasy.graph.api.service.GraphPredicateStatsRecorder.PredicateSnapshot;
+import com.empasy.graph.api.util.ShadowPropertyUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 관측된 검색 조건 통계와 SHOW INDEXES 결과를 비교해 없는 인덱스를 추천하고, 요청 시 생성합니다.
+ * 연산자별 인덱스: 등호/범위/STARTS_WITH 는 RANGE, CONTAINS/ENDS_WITH 는 TEXT, Point 타입은 POINT, FULLTEXT 연산자는 FULLTEXT 인덱스를 추천합니다.
+ * 노드의 대소문자 무시 조건은 toLower(n.prop) 로 실행되어 어떤 인덱스도 쓸 수 없으므로, 섀도 프로퍼티(_ci_프로퍼티) 채우기와
+ * 섀도 프로퍼티 인덱스(GraphCaseInsensitiveService.backfill)를 추천합니다. 이미 섀도 인덱스가 있으면 제외하고, 릴레이션은 추천하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphIndexAdvisorService {
+
+    private final GraphCommonRepository graphCommonRepository;
+    private final GraphPredicateStatsRecorder graphPredicateStatsRecorder;
+    private final GraphFulltextService graphFulltextService;
+    private final GraphCaseInsensitiveService graphCaseInsensitiveService;
+
+    private static final String SHADOW = "SHADOW";
+
+    @Value("${graph.advisor.min-count:10}")
+    private long defaultMinCount;
+
+    /**
+     * @param minCount       이 횟수 이상 사용된 조건만 추천 (없으면 graph.advisor.min-count)
+     * @param includeCovered 이미 인덱스가 있는 조건도 포함할지 여부
+     */
+    public List<GraphIndexRecommendationDto> getRecommendations(Long minCount, boolean includeCovered) {
+        long threshold = minCount == null ? defaultMinCount : minCount;
+        Collection<Map<String, Object>> indexes = graphCommonRepository.findIndexes();
+
+        Map<List<String>, Group> groups = new LinkedHashMap<>();
+        for (PredicateSnapshot snapshot : graphPredicateStatsRecorder.snapshot()) {
+            PredicateKey key = snapshot.key();
+            String indexType = indexTypeFor(key);
+            if (indexType == null) continue;
+
+            groups.computeIfAbsent(List.of(key.entityType(), key.label(), key.property(), indexType),
+                            k -> new Group(key.entityType(), key.label(), key.property(), indexType))
+                    .add(snapshot);
+        }
+
+        List<GraphIndexRecommendationDto> recommendations = new ArrayList<>();
+        for (Group group : groups.values()) {
+            if (group.count < threshold) continue;
+
+            String existing = findCoveringIndex(indexes, group);
+            if (existing != null && !includeCovered) continue;
+
+            recommendations.add(SHADOW.equals(group.indexType)
+                    ? group.toShadowDto(graphCaseInsensitiveService.shadowIndexType(),
+                            graphCaseInsensitiveService.shadowIndexName(group.label, group.property))
+                    : group.toDto(existing));
+        }
+
+        recommendations.sort(Comparator.comparingDouble(
+                (GraphIndexRecommendationDto dto) -> dto.getCount() * dto.getAverageLatencyMs()).reversed());
+        return recommendations;
+    }
+
+    /**
+     * 현재 추천 목록 중 suggestedName 이 names 에 포함된 인덱스를 생성합니다. 추천 목록에 없는 이름은 거부합니다.
+     */
+    public List<GraphIndexRecommendationDto> applyRecommendations(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            throw new IllegalArgumentException("names cannot be empty");
+        }
+
+        Map<String, GraphIndexRecommendationDto> byName = new HashMap<>();
+        for (GraphIndexRecommendationDto recommendation : getRecommendations(0L, false)) {
+            byName.put(recommendation.getSuggestedName(), recommendation);
+        }
+
+        List<GraphIndexRecommendationDto> targets = new ArrayList<>();
+        for (String name : names) {
+            GraphIndexRecommendationDto recommendation = byName.get(name);
+            if (recommendation == null) {
+                throw new IllegalArgumentException("Not a current index recommendation: " + name);
+            }
+            targets.add(recommendation);
+        }
+
+        for (GraphIndexRecommendationDto target : targets) {
+            boolean relationship = "RELATIONSHIP".equals(target.getEntityType());
+            if (target.isShadowBackfill()) {
+                // 섀도 값을 채운 뒤 인덱스를 만들어야 검색에 사용되므로 인덱스만 따로 만들지 않는다
+                graphCaseInsensitiveService.backfill(GraphShadowBackfillDto.builder()
+                        .label(target.getLabel())
+                        .properties(List.of(target.getProperty()))
+                        .build());
+            } else if ("FULLTEXT".equals(target.getIndexType())) {
+                graphFulltextService.createIndex(GraphFulltextIndexDto.builder()
+                        .name(target.getSuggestedName())
+                        .entityType(target.getEntityType())
+                        .labelsOrTypes(List.of(target.getLabel()))
+                        .properties(List.of(target.getProperty()))
+                        .build());
+            } else {
+                graphCommonRepository.createPropertyIndex(target.getIndexType(), target.getSuggestedName(),
+                        relationship, target.getLabel(), target.getProperty());
+            }
+            log.info("Index created from advisor. name: {}, type: {}, target: {}.{}",
+                    target.getSuggestedName(), target.getIndexType(), target.getLabel(), target.getProperty());
+        }
+        return targets;
+    }
+
+    public void resetStats() {
+        graphPredicateStatsRecorder.reset();
+    }
+
+    private String indexTypeFor(PredicateKey key) {
+        String operator = key.operator();
+        String valueType = key.valueType() == null ? "" : key.valueType().toLowerCase();
+
+        if ("IS_NULL".equals(operator) || "NOT_EQUALS".equals(operator)) return null;
+        if (valueType.contains("list")) return null;
+        if (valueType.contains("point")) return "POINT";
+        if ("FULLTEXT".equals(operator)) return "FULLTEXT";
+        if (key.caseInsensitive() && !"IS_NOT_NULL".equals(operator) && valueType.contains("string")) {
+            if (!"NODE".equals(key.entityType())) return null;
+            return graphCaseInsensitiveService.isShadowIndexed(key.label(), key.property()) ? null : SHADOW;
+        }
+        if ("CONTAINS".equals(operator) || "ENDS_WITH".equals(operator)) return "TEXT";
+        return "RANGE";
+    }
+
+    @SuppressWarnings("unchecked")
+    private String findCoveringIndex(Collection<Map<String, Object>> indexes, Group group) {
+        for (Map<String, Object> index : indexes) {
+            List<String> labels = (List<String>) index.get("labelsOrTypes");
+            List<String> properties = (List<String>) index.get("properties");
+            if (!group.indexType.equals(index.get("type"))
+                    || !group.entityType.equals(index.get("entityType"))
+                    || labels == null || !labels.contains(group.label)
+                    || properties == null || properties.isEmpty()) {
+                continue;
+            }
+
+            boolean covers = switch (group.indexType) {
+                // 복합 RANGE 인덱스는 첫 프로퍼티 조건에만 사용할 수 있다
+                case "RANGE" -> properties.get(0).equals(group.property);
+                case "FULLTEXT" -> properties.contains(group.property);
+                default -> properties.size() == 1 && properties.get(0).equals(group.property);
+            };
+            if (covers) {
+                return (String) index.get("name");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 인덱스로 처리할 수 있는 조건(라벨, 프로퍼티, 인덱스 종류가 같은 조건)의 합계입니다.
+     */
+    private static final class Group {
+        private final String entityType;
+        private final String label;
+        private final String property;
+        private final String indexType;
+        private final Set<String> operators = new TreeSet<>();
+        private long count;
+        private long totalLatencyMs;
+        private long maxLatencyMs;
+
+        private Group(String entityType, String label, String property, String indexType) {
+            this.entityType = entityType;
+            this.label = label;
+            this.property = property;
+            this.indexType = indexType;
+        }
+
+        private void add(PredicateSnapshot snapshot) {
+            operators.add(snapshot.key().operator());
+            count += snapshot.count();
+            totalLatencyMs += snapshot.totalLatencyMs();
+            maxLatencyMs = Math.max(maxLatencyMs, snapshot.maxLatencyMs());
+        }
+
+        private GraphIndexRecommendationDto toDto(String existingIndex) {
+            String name = ("idx_" + indexType + "_" + label + "_" + property)
+                    .toLowerCase(Locale.ROOT)
+                    .replaceAll("[^a-z0-9_]", "_");
+            String target = "RELATIONSHIP".equals(entityType)
+                    ? "()-[e:`" + label + "`]-()" : "(e:`" + label + "`)";
+            String on = "FULLTEXT".equals(indexType) ? "ON EACH [e.`" + property + "`]" : "ON (e.`" + property + "`)";
+
+            return GraphIndexRecommendationDto.builder()
+                    .entityType(entityType)
+                    .label(label)
+                    .property(property)
+                    .operators(new ArrayList<>(operators))
+                    .indexType(indexType)
+                    .count(count)
+                    .averageLatencyMs(count == 0 ? 0 : (double) totalLatencyMs / count)
+                    .maxLatencyMs(maxLatencyMs)
+                    .existingIndex(existingIndex)
+                    .suggestedName(name)
+                    .createStatement("CREATE %s INDEX %s IF NOT EXISTS FOR %s %s".formatted(indexType, name, target, on))
+                    .build();
+        }
+
+        /**
+         * 대소문자 무시 조건용 추천입니다. 인덱스는 원본이 아닌 섀도 프로퍼티(_ci_프로퍼티)에 만들며, 적용하면 backfill 을 실행합니다.
+         */
+        private GraphIndexRecommendationDto toShadowDto(String shadowIndexType, String shadowIndexName) {
+            String shadowProperty = ShadowPropertyUtil.shadowOf(property);
+            return GraphIndexRecommendationDto.builder()
+                    .entityType(entityType)
+                    .label(label)
+                    .property(property)
+                    .operators(new ArrayList<>(operators))
+                    .indexType(shadowIndexType)
+                    .count(count)
+                    .averageLatencyMs(count == 0 ? 0 : (double) totalLatencyMs / count)
+                    .maxLatencyMs(maxLatencyMs)
+                    .suggestedName(shadowIndexName)
+                    .createStatement("CREATE %s INDEX %s IF NOT EXISTS FOR (e:`%s`) ON (e.`%s`)"
+                            .formatted(shadowIndexType, shadowIndexName, label, shadowProperty))
+                    .shadowBackfill(true)
+                    .note("대소문자 무시 조건은 toLower() 로 실행되어 인덱스를 사용할 수 없습니다. "
+                            + shadowProperty + " 에 소문자 값을 채운 뒤 인덱스를 만듭니다. "
+                            + "(apply 또는 /api/v1/graph/case-insensitive/backfill, 생성 구문만 실행하면 검색에 사용되지 않음)")
+                    .build();
+        }
+    }
+}
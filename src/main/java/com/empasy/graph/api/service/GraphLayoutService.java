@@ -0,0 +1,134 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphSearchRequestDto;
+import com.empasy.graph.api.dto.GraphSearchResponseDto;
+import com.empasy.graph.api.util.GraphLayoutUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 검색/씬 결과의 노드 좌표를 서버에서 계산합니다.
+ * 씬 결과(요청 블록이 씬 설정과 같은 경우)는 계산한 좌표를 씬 레이아웃 테이블에 저장해 두고, 결과 노드가 모두 저장된 좌표를 가지고 있으면 다시 계산하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphLayoutService {
+
+    private final GraphSceneService graphSceneService;
+
+    @Value("${graph.layout.iterations:300}")
+    private int iterations;
+
+    @Value("${graph.layout.theta:0.8}")
+    private double theta;
+
+    @Value("${graph.layout.max-nodes:50000}")
+    private int maxNodes;
+
+    public GraphSearchResponseDto applyLayout(GraphSearchRequestDto requestDto, GraphSearchResponseDto responseDto) {
+        if (!requestDto.isLayout() || responseDto.getNodes() == null || responseDto.getNodes().isEmpty()) {
+            return responseDto;
+        }
+
+        List<Map<String, Object>> nodes = responseDto.getNodes();
+        if (nodes.size() > maxNodes) {
+            log.warn("Skip server layout. nodes: {}, max: {}", nodes.size(), maxNodes);
+            return responseDto;
+        }
+
+        // 요청 블록이 씬 설정과 같을 때만 씬 레이아웃을 읽고 저장한다
+        Long sceneId = requestDto.getSceneId();
+        String sceneConfigHash = sceneId == null ? null : graphSceneService.findLayoutConfigHash(sceneId, requestDto.getCyphers());
+        if (sceneId != null && sceneConfigHash == null) {
+            log.debug("Search blocks do not match scene config. Scene layout not used. sceneId: {}", sceneId);
+        }
+        Map<String, List<Double>> cached = sceneConfigHash == null ? null : graphSceneService.getSceneLayout(sceneId);
+
+        Map<String, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            indexById.put((String) nodes.get(i).get("id"), i);
+        }
+
+        double[] x = new double[nodes.size()];
+        double[] y = new double[nodes.size()];
+        Arrays.fill(x, Double.NaN);
+        Arrays.fill(y, Double.NaN);
+        boolean allCached = cached != null;
+        for (int i = 0; i < nodes.size(); i++) {
+            List<Double> position = cached == null ? null : cached.get((String) nodes.get(i).get("id"));
+            if (position != null && position.size() == 2) {
+                x[i] = position.get(0);
+                y[i] = position.get(1);
+            } else {
+                allCached = false;
+            }
+        }
+
+        double[][] coordinates;
+        if (allCached) {
+            coordinates = new double[][]{x, y};
+        } else {
+            long start = System.currentTimeMillis();
+            coordinates = computeLayout(responseDto.getRelationships(), indexById, nodes.size(), x, y);
+            log.info("Server layout computed. nodes: {}, elapsed: {}ms", nodes.size(), System.currentTimeMillis() - start);
+
+            if (sceneConfigHash != null) {
+                Map<String, List<Double>> layout = new HashMap<>();
+                for (int i = 0; i < nodes.size(); i++) {
+                    layout.put((String) nodes.get(i).get("id"), List.of(coordinates[0][i], coordinates[1][i]));
+                }
+                saveSceneLayout(sceneId, sceneConfigHash, layout);
+            }
+        }
+
+        // 응답 노드는 동시 요청끼리 공유될 수 있으므로 복사본에 좌표를 넣는다
+        List<Map<String, Object>> positioned = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            Map<String, Object> node = new HashMap<>(nodes.get(i));
+            node.put("x", coordinates[0][i]);
+            node.put("y", coordinates[1][i]);
+            positioned.add(node);
+        }
+
+        return responseDto.toBuilder()
+                .nodes(positioned)
+                .build();
+    }
+
+    /**
+     * 레이아웃 저장은 캐시 용도이므로 실패해도(동시에 처음 저장하는 경우 등) 계산한 응답은 그대로 반환합니다.
+     */
+    private void saveSceneLayout(Long sceneId, String sceneConfigHash, Map<String, List<Double>> layout) {
+        try {
+            graphSceneService.saveSceneLayout(sceneId, sceneConfigHash, layout);
+        } catch (DataAccessException e) {
+            log.warn("Failed to save scene layout. sceneId: {}", sceneId, e);
+        }
+    }
+
+    private double[][] computeLayout(List<Map<String, Object>> relationships, Map<String, Integer> indexById,
+                                     int nodeCount, double[] initialX, double[] initialY) {
+        List<Map<String, Object>> rels = relationships == null ? List.of() : relationships;
+        int[] sources = new int[rels.size()];
+        int[] targets = new int[rels.size()];
+        int edgeCount = 0;
+        for (Map<String, Object> rel : rels) {
+            Integer source = indexById.get((String) rel.get("source"));
+            Integer target = indexById.get((String) rel.get("target"));
+            if (source == null || target == null) continue;
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            edgeCount++;
+        }
+
+        return GraphLayoutUtil.computeLayout(nodeCount,
+                Arrays.copyOf(sources, edgeCount), Arrays.copyOf(targets, edgeCount),
+                initialX, initialY, iterations, theta);
+    }
+}
@@ -0,0 +1,271 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphDetailDto;
+import com.empasy.graph.api.dto.GraphPathRequestDto;
+import com.empasy.graph.api.dto.GraphPathResponseDto;
+import com.empasy.graph.api.dto.GraphPathResponseDto.PathDto;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.repository.GraphCommonRepository.FrontierEdges;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 두 노드 사이의 경로 탐색 서비스입니다.
+ * 양쪽 끝에서 번갈아(더 작은 frontier 쪽을 먼저) 너비 우선으로 확장하고, 두 탐색이 만나는 노드를 기준으로 짧은 경로부터 최대 k 개를 만듭니다.
+ * 조회한 릴레이션 수(예산)와 시간 제한을 넘으면 그때까지 찾은 경로만 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphPathService {
+
+    private final GraphCommonRepository graphCommonRepository;
+
+    @Value("${graph.path.max-length:6}")
+    private int maxLengthLimit;
+
+    @Value("${graph.path.default-k:3}")
+    private int defaultK;
+
+    @Value("${graph.path.max-k:20}")
+    private int maxK;
+
+    @Value("${graph.path.max-expansions:100000}")
+    private int maxExpansions;
+
+    @Value("${graph.path.timeout-ms:10000}")
+    private long timeoutMs;
+
+    public GraphPathResponseDto findPaths(GraphPathRequestDto requestDto) {
+        String sourceId = requestDto.getSourceId();
+        String targetId = requestDto.getTargetId();
+        if (sourceId == null || sourceId.isBlank() || targetId == null || targetId.isBlank()) {
+            throw new IllegalArgumentException("sourceId and targetId are required");
+        }
+
+        int maxLength = clamp(requestDto.getMaxLength(), maxLengthLimit, maxLengthLimit);
+        int k = clamp(requestDto.getK(), defaultK, maxK);
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        List<String> endpointIds = List.of(sourceId, targetId);
+
+        SearchSide forward = new SearchSide(sourceId);
+        SearchSide backward = new SearchSide(targetId);
+        Set<String> meetings = new LinkedHashSet<>();
+        if (sourceId.equals(targetId)) {
+            meetings.add(sourceId);
+        }
+
+        List<PathDto> paths = buildPaths(meetings, forward, backward, k);
+        long examined = 0;
+        String stopReason = null;
+
+        while (paths.size() < k) {
+            if (forward.level + backward.level >= maxLength) {
+                stopReason = "MAX_LENGTH";
+                break;
+            }
+            long remainingMs = deadline - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                stopReason = "TIMEOUT";
+                break;
+            }
+            long remaining = maxExpansions - examined;
+            if (remaining <= 0) {
+                stopReason = "BUDGET";
+                break;
+            }
+
+            SearchSide side = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+            if (side.frontier.isEmpty()) {
+                side = side == forward ? backward : forward;
+            }
+            if (side.frontier.isEmpty()) {
+                stopReason = "EXHAUSTED";
+                break;
+            }
+            SearchSide other = side == forward ? backward : forward;
+
+            FrontierEdges frontierEdges = graphCommonRepository.findFrontierEdges(
+                    side.frontier, requestDto.getRelationshipTypes(), requestDto.getLabels(), endpointIds,
+                    (int) Math.min(Integer.MAX_VALUE, remaining + 1), remainingMs);
+            List<Map<String, Object>> rows = frontierEdges.rows();
+            examined += rows.size();
+
+            int nextLevel = side.level + 1;
+            List<String> nextFrontier = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                String fromId = (String) row.get("fromId");
+                String relId = (String) row.get("relId");
+                String toId = (String) row.get("toId");
+
+                Integer known = side.depth.get(toId);
+                if (known == null) {
+                    side.depth.put(toId, nextLevel);
+                    nextFrontier.add(toId);
+                } else if (known != nextLevel) {
+                    continue;
+                }
+                side.parents.computeIfAbsent(toId, key -> new ArrayList<>()).add(new PathEdge(relId, fromId));
+
+                if (other.depth.containsKey(toId)) {
+                    meetings.add(toId);
+                }
+            }
+            side.level = nextLevel;
+            side.frontier = nextFrontier;
+
+            paths = buildPaths(meetings, forward, backward, k);
+
+            // 시간 안에 받은 릴레이션까지만 반영하고 멈춘다 (이번 단계의 frontier 가 일부만 확장됨)
+            if (frontierEdges.timedOut()) {
+                stopReason = "TIMEOUT";
+                break;
+            }
+            if (rows.size() > remaining) {
+                stopReason = "BUDGET";
+                break;
+            }
+        }
+
+        if (paths.size() >= k) {
+            stopReason = null;
+        }
+        log.debug("Path search finished. paths: {}, examined: {}, levels: {}/{}, reason: {}",
+                paths.size(), examined, forward.level, backward.level, stopReason);
+
+        return toResponse(paths, forward, backward, examined, stopReason);
+    }
+
+    /**
+     * 만난 노드마다 양쪽 부모 그래프를 따라 경로를 만들고 길이순으로 최대 k 개를 반환합니다.
+     */
+    private List<PathDto> buildPaths(Set<String> meetings, SearchSide forward, SearchSide backward, int k) {
+        List<String> ordered = new ArrayList<>(meetings);
+        ordered.sort(Comparator.comparingInt(id -> forward.depth.get(id) + backward.depth.get(id)));
+
+        List<PathDto> paths = new ArrayList<>();
+        Set<List<String>> seen = new HashSet<>();
+
+        for (String meeting : ordered) {
+            List<LinkedList<String>> heads = forward.halfPaths(meeting, k);
+            List<LinkedList<String>> tails = backward.halfPaths(meeting, k);
+
+            for (LinkedList<String> head : heads) {
+                for (LinkedList<String> tail : tails) {
+                    // head: source .. meeting, tail: target .. meeting (노드/릴레이션 id 교차)
+                    List<String> sequence = new ArrayList<>(head);
+                    List<String> reversedTail = new ArrayList<>(tail);
+                    Collections.reverse(reversedTail);
+                    sequence.addAll(reversedTail.subList(1, reversedTail.size()));
+
+                    PathDto path = toPath(sequence);
+                    if (path == null || !seen.add(path.getRelationshipIds())) continue;
+
+                    paths.add(path);
+                    if (paths.size() >= k) return paths;
+                }
+            }
+        }
+        return paths;
+    }
+
+    private PathDto toPath(List<String> sequence) {
+        List<String> nodeIds = new ArrayList<>();
+        List<String> relIds = new ArrayList<>();
+        for (int i = 0; i < sequence.size(); i++) {
+            (i % 2 == 0 ? nodeIds : relIds).add(sequence.get(i));
+        }
+        // 양쪽 절반이 같은 노드를 지나면 단순 경로가 아니므로 제외
+        if (new HashSet<>(nodeIds).size() != nodeIds.size()) {
+            return null;
+        }
+        return PathDto.builder()
+                .nodeIds(nodeIds)
+                .relationshipIds(relIds)
+                .length(relIds.size())
+                .build();
+    }
+
+    private GraphPathResponseDto toResponse(List<PathDto> paths, SearchSide forward, SearchSide backward,
+                                            long examined, String stopReason) {
+        Set<String> nodeIds = new LinkedHashSet<>();
+        Map<String, Map<String, Object>> edges = new LinkedHashMap<>();
+        for (PathDto path : paths) {
+            nodeIds.addAll(path.getNodeIds());
+            for (int i = 0; i < path.getRelationshipIds().size(); i++) {
+                Map<String, Object> edge = new HashMap<>();
+                edge.put("relId", path.getRelationshipIds().get(i));
+                edge.put("fromId", path.getNodeIds().get(i));
+                edges.putIfAbsent(path.getRelationshipIds().get(i), edge);
+            }
+        }
+
+        GraphDetailDto subgraph = nodeIds.isEmpty()
+                ? GraphDetailDto.builder().nodes(List.of()).relationships(List.of()).build()
+                : graphCommonRepository.findSubgraphByIds(nodeIds, new ArrayList<>(edges.values()));
+
+        return GraphPathResponseDto.builder()
+                .nodes(subgraph.getNodes())
+                .relationships(subgraph.getRelationships())
+                .paths(paths)
+                .examinedRelationships(examined)
+                .stopReason(stopReason)
+                .build();
+    }
+
+    private int clamp(Integer requested, int defaultValue, int max) {
+        int value = (requested == null || requested <= 0) ? defaultValue : requested;
+        return Math.min(value, max);
+    }
+
+    private record PathEdge(String relId, String parentId) {
+    }
+
+    /**
+     * 한쪽 끝에서의 BFS 상태입니다. parents 는 각 노드에 이전 층에서 도달한 모든 릴레이션을 보관합니다.
+     */
+    private static final class SearchSide {
+        private final String originId;
+        private final Map<String, Integer> depth = new HashMap<>();
+        private final Map<String, List<PathEdge>> parents = new HashMap<>();
+        private List<String> frontier;
+        private int level;
+
+        private SearchSide(String originId) {
+            this.originId = originId;
+            this.depth.put(originId, 0);
+            this.frontier = List.of(originId);
+        }
+
+        /**
+         * origin 에서 nodeId 까지의 최단 경로를 [origin, rel, node, ..., nodeId] 형태로 최대 limit 개 반환합니다.
+         */
+        private List<LinkedList<String>> halfPaths(String nodeId, int limit) {
+            List<LinkedList<String>> result = new ArrayList<>();
+            LinkedList<String> current = new LinkedList<>();
+            current.addFirst(nodeId);
+            collect(nodeId, current, result, limit);
+            return result;
+        }
+
+        private void collect(String nodeId, LinkedList<String> current, List<LinkedList<String>> result, int limit) {
+            if (result.size() >= limit) return;
+            if (nodeId.equals(originId)) {
+                result.add(new LinkedList<>(current));
+                return;
+            }
+            for (PathEdge edge : parents.getOrDefault(nodeId, List.of())) {
+                current.addFirst(edge.relId());
+                current.addFirst(edge.parentId());
+                collect(edge.parentId(), current, result, limit);
+                current.removeFirst();
+                current.removeFirst();
+                if (result.size() >= limit) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.empasy.graph.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 블록 검색에서 사용된 조건(라벨, 프로퍼티, 연산자)별 사용 횟수와 검색 지연 시간을 집계합니다.
+ * 인덱스 어드바이저(GraphIndexAdvisorService)가 실제 사용 패턴을 기준으로 인덱스를 추천하는 데 사용합니다.
+ */
+@Slf4j
+@Component
+public class GraphPredicateStatsRecorder {
+
+    private final Map<PredicateKey, PredicateStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${graph.advisor.max-predicates:5000}")
+    private int maxPredicates;
+
+    /**
+     * 한 번의 검색에 사용된 조건들에 검색 소요 시간을 기록합니다. 같은 조건은 한 번만 셉니다.
+     */
+    public void record(Collection<PredicateKey> predicates, long elapsedMs) {
+        for (PredicateKey key : predicates.stream().distinct().toList()) {
+            PredicateStats entry = stats.get(key);
+            if (entry == null) {
+                if (stats.size() >= maxPredicates) {
+                    log.debug("Predicate stats full. Dropping {}", key);
+                    continue;
+                }
+                entry = stats.computeIfAbsent(key, k -> new PredicateStats());
+            }
+            entry.record(elapsedMs);
+        }
+    }
+
+    public List<PredicateSnapshot> snapshot() {
+        List<PredicateSnapshot> result = new ArrayList<>(stats.size());
+        stats.forEach((key, entry) -> result.add(entry.snapshot(key)));
+        return result;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * @param entityType NODE | RELATIONSHIP
+     * @param valueType  블록 프로퍼티 타입 (String, Long, Point 등)
+     */
+    public record PredicateKey(String entityType, String label, String property, String operator,
+                               boolean caseInsensitive, String valueType) {
+    }
+
+    public record PredicateSnapshot(PredicateKey key, long count, long totalLatencyMs, long maxLatencyMs) {
+    }
+
+    private static final class PredicateStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final AtomicLong maxLatencyMs = new AtomicLong();
+
+        private void record(long elapsedMs) {
+            count.increment();
+            totalLatencyMs.add(elapsedMs);
+            maxLatencyMs.accumulateAndGet(elapsedMs, Math::max);
+        }
+
+        private PredicateSnapshot snapshot(PredicateKey key) {
+            return new PredicateSnapshot(key, count.sum(), totalLatencyMs.sum(), maxLatencyMs.get());
+        }
+    }
+}
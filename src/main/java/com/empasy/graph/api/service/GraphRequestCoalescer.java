@@ -0,0 +1,105 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.support.GraphMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 같은 키로 동시에 들어온 요청을 하나의 실행으로 합칩니다. (single-flight)
+ * 먼저 들어온 요청(leader)만 실제로 실행하고, 실행 중에 들어온 요청은 그 결과를 함께 받습니다. 결과는 실행이 끝나면 바로 버립니다.
+ * 기다리는 요청은 graph.coalesce.wait-timeout-ms 까지만 기다리고, 넘으면 leader 를 포기하고 직접 실행합니다.
+ * 결과 객체는 leader 와 기다린 요청이 공유하므로, 호출한 쪽에서 수정할 수 있는 결과는 shareCopy 로 복사본을 넘깁니다.
+ */
+@Slf4j
+@Component
+public class GraphRequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${graph.coalesce.wait-timeout-ms:15000}")
+    private long waitTimeoutMs;
+
+    /**
+     * 결과를 복사하지 않고 그대로 공유합니다. 호출한 쪽에서 결과를 수정하지 않는(읽기 전용) 경우에만 사용합니다.
+     *
+     * @param namespace 메트릭 구분용 이름 (schema, neighbors 등)
+     * @param key       같은 결과를 보장하는 정규화된 키
+     */
+    public <T> T execute(String namespace, String key, Supplier<T> supplier) {
+        return execute(namespace, key, supplier, UnaryOperator.identity());
+    }
+
+    /**
+     * @param namespace 메트릭 구분용 이름 (schema, neighbors 등)
+     * @param key       같은 결과를 보장하는 정규화된 키
+     * @param shareCopy 기다린 요청에 넘길 복사본을 만드는 함수. leader 는 원본을 받습니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String namespace, String key, Supplier<T> supplier, UnaryOperator<T> shareCopy) {
+        String flightKey = namespace + ":" + key;
+
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+            if (existing == null) {
+                GraphMetrics.increment("coalesce." + namespace + ".executed");
+                return (T) lead(flightKey, flight, supplier);
+            }
+
+            try {
+                Object result = waitTimeoutMs > 0 ? existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS) : existing.get();
+                GraphMetrics.increment("coalesce." + namespace + ".saved");
+                return shareCopy.apply((T) result);
+            } catch (TimeoutException e) {
+                // leader 가 멈춰 있어도 기다리는 요청 스레드가 모두 묶이지 않도록 직접 실행한다
+                GraphMetrics.increment("coalesce." + namespace + ".wait-timeout");
+                log.warn("In-flight leader did not finish in {} ms. Executing directly. key: {}", waitTimeoutMs, flightKey);
+                return supplier.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for in-flight request: " + flightKey, e);
+            } catch (CancellationException e) {
+                // leader 요청이 취소된 경우 결과를 공유받지 못했으므로 다시 시도한다
+                log.debug("In-flight leader was cancelled. Retrying. key: {}", flightKey);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    continue;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private Object lead(String flightKey, CompletableFuture<Object> flight, Supplier<?> supplier) {
+        try {
+            Object result = supplier.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                flight.completeExceptionally(new CancellationException("Leader request cancelled"));
+            } else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.empasy.graph.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 오래되었거나 무효화된 씬 카운트를 주기적으로 다시 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphSceneCountRefresher {
+
+    private final GraphSceneService graphSceneService;
+
+    @Scheduled(initialDelayString = "${graph.scene.counts.refresh-interval-ms:60000}",
+            fixedDelayString = "${graph.scene.counts.refresh-interval-ms:60000}")
+    public void refreshStaleCounts() {
+        List<Long> staleIds = graphSceneService.findStaleSceneIds();
+        if (staleIds.isEmpty()) return;
+
+        log.info("Refreshing scene counts. scenes: {}", staleIds);
+        for (Long id : staleIds) {
+            try {
+                graphSceneService.refreshSceneCounts(id);
+            } catch (Exception e) {
+                log.error("Failed to refresh scene counts. sceneId: {}", id, e);
+            }
+        }
+    }
+}
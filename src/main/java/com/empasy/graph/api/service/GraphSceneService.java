@@ -2,17 +2,30 @@ package com.empasy.graph.api.service;
 
 import com.empasy.graph.api.dto.GraphSceneDto;
 import com.empasy.graph.api.entity.GraphScene;
+import com.empasy.graph.api.entity.GraphSceneLayout;
+import com.empasy.graph.api.repository.GraphSceneLayoutRepository;
 import com.empasy.graph.api.repository.GraphSceneRepository;
+import com.empasy.graph.api.support.RequestTimings;
+import com.empasy.graph.api.support.ResourceVersions;
+import com.empasy.graph.api.util.CypherQueryUtil;
+import com.empasy.graph.api.util.ElementIdInterner;
+import com.empasy.graph.api.util.SceneConfigHashUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,22 +35,171 @@ import java.util.stream.Collectors;
 public class GraphSceneService {
 
     private final GraphSceneRepository graphSceneRepository;
+    private final GraphSceneLayoutRepository graphSceneLayoutRepository;
     private final Neo4jClient neo4jClient;
+    private final GraphRequestCoalescer graphRequestCoalescer;
+    private final ResourceVersions resourceVersions;
+
+    @Value("${graph.scene.counts.max-age-ms:600000}")
+    private long countsMaxAgeMs;
+
+    @Value("${graph.scene.counts.refresh-batch-size:20}")
+    private int countsRefreshBatchSize;
+
+    @Value("${graph.scene.counts.fallback-max-rows:10000}")
+    private int fallbackMaxRows;
+
+    @Value("${graph.scene.counts.retry-backoff-ms:60000}")
+    private long countsRetryBackoffMs;
+
+    @Value("${graph.scene.counts.max-retry-backoff-ms:3600000}")
+    private long countsMaxRetryBackoffMs;
+
+    /**
+     * 씬 목록 응답의 ETag 입니다. 씬 추가/삭제/수정과 카운트 값 변경 시 바뀝니다.
+     * 카운트를 다시 계산했지만 값이 같으면 계산일시(countsComputedAt, countsStale)만 바뀌므로 ETag 는 그대로 둡니다.
+     */
+    public String scenesEtag() {
+        return resourceVersions.persistedEtag(ResourceVersions.SCENE, graphSceneRepository.findTableVersion());
+    }
 
     public List<GraphSceneDto> getAllScenes() {
-        return graphSceneRepository.findAllByOrderByIdDesc().stream()
-                .map(GraphSceneDto::fromEntity)
-                .collect(Collectors.toList());
+        try (RequestTimings.Phase phase = RequestTimings.start("db")) {
+            return graphSceneRepository.findAllByOrderByIdDesc().stream()
+                    .map(GraphSceneDto::fromEntity)
+                    .collect(Collectors.toList());
+        }
     }
 
-    @Transactional(readOnly = true)
-    public GraphSceneDto getSceneById(Long id) {
-        GraphScene entity = graphSceneRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("GraphScene not found with id: " + id));
+    /**
+     * 씬을 조회합니다. 카운트는 저장된(materialized) 값을 그대로 반환하고, 오래된 값은 countsStale 로 표시해 백그라운드에서 갱신합니다.
+     * 한 번도 계산되지 않았거나(재시도 대기 중 제외) refresh 요청인 경우에만 동기로 계산합니다.
+     * Neo4j 카운트 계산 동안 MariaDB 커넥션을 잡지 않도록 트랜잭션 없이 실행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GraphSceneDto getSceneById(Long id, boolean refresh) {
+        GraphScene entity = findScene(id);
+
+        if (refresh || (entity.getNodesCount() == null && !isBackingOff(entity))) {
+            if (refreshCounts(entity)) {
+                entity = findScene(id);
+            }
+        }
+
+        return GraphSceneDto.fromEntity(entity).toBuilder()
+                .countsStale(isStale(entity.getCountsComputedAt()))
+                .build();
+    }
 
-        GraphSceneDto dto = GraphSceneDto.fromEntity(entity);
+    /**
+     * 카운트 재계산 대상 씬 id 를 오래된 순서로 반환합니다. 계산에 실패한 씬은 재시도 대기 시간이 지날 때까지 제외되므로
+     * 계속 실패하는 씬이 배치를 차지해 다른 씬의 갱신을 막지 않습니다.
+     */
+    public List<Long> findStaleSceneIds() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime threshold = now.minus(Duration.ofMillis(countsMaxAgeMs));
+        return graphSceneRepository.findStaleCountSceneIds(threshold, now, PageRequest.of(0, countsRefreshBatchSize));
+    }
 
-        return enrichSceneWithExactCounts(dto);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshSceneCounts(Long id) {
+        graphSceneRepository.findById(id).ifPresent(this::refreshCounts);
+    }
+
+    private GraphScene findScene(Long id) {
+        try (RequestTimings.Phase phase = RequestTimings.start("db")) {
+            return graphSceneRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("GraphScene not found with id: " + id));
+        }
+    }
+
+    /**
+     * 카운트를 계산해 카운트 컬럼만 갱신합니다. 계산하는 동안 씬 설정이 바뀌었으면 저장하지 않습니다.
+     *
+     * @return 카운트를 저장했으면 true
+     */
+    private boolean refreshCounts(GraphScene entity) {
+        String configHash = SceneConfigHashUtil.hash(entity.getSceneConfig());
+        // 같은 씬을 동시에 여러 사용자가 열어도 카운트 계산은 한 번만 실행
+        SceneCounts counts = graphRequestCoalescer.execute("scene-counts", entity.getId() + ":" + configHash,
+                () -> computeSceneCounts(entity.getSceneConfig()));
+        if (counts == null) {
+            recordCountsFailure(entity);
+            return false;
+        }
+
+        boolean unchanged = Objects.equals(counts.nodesCount(), entity.getNodesCount())
+                && Objects.equals(counts.relationsCount(), entity.getRelationsCount());
+        int updated = unchanged
+                ? graphSceneRepository.touchCounts(entity.getId(), configHash, OffsetDateTime.now())
+                : graphSceneRepository.updateCounts(entity.getId(), configHash,
+                        counts.nodesCount(), counts.relationsCount(), OffsetDateTime.now());
+        if (updated == 0) {
+            log.info("Scene config changed while counting. Counts discarded. sceneId: {}", entity.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 실패 횟수에 따라 재시도 대기 시간을 두 배씩 늘립니다. (최대 graph.scene.counts.max-retry-backoff-ms)
+     */
+    private void recordCountsFailure(GraphScene entity) {
+        int failures = entity.getCountsFailures() == null ? 0 : entity.getCountsFailures();
+        long backoffMs = Math.min(countsMaxRetryBackoffMs, countsRetryBackoffMs << Math.min(failures, 20));
+        OffsetDateTime retryAt = OffsetDateTime.now().plus(Duration.ofMillis(backoffMs));
+        graphSceneRepository.recordCountsFailure(entity.getId(), retryAt);
+        log.warn("Scene count failed. sceneId: {}, failures: {}, retryAt: {}", entity.getId(), failures + 1, retryAt);
+    }
+
+    private boolean isBackingOff(GraphScene entity) {
+        return entity.getCountsRetryAt() != null && entity.getCountsRetryAt().isAfter(OffsetDateTime.now());
+    }
+
+    private boolean isStale(OffsetDateTime computedAt) {
+        return computedAt == null
+                || computedAt.isBefore(OffsetDateTime.now().minus(Duration.ofMillis(countsMaxAgeMs)));
+    }
+
+    /**
+     * 요청한 검색 블록이 씬 설정의 블록과 같으면 씬의 설정 해시를, 다르거나 씬이 없으면 null 을 반환합니다.
+     * 씬 id 만 붙인 다른 검색 결과로 씬 레이아웃이 덮어써지지 않도록 레이아웃 조회/저장 전에 확인합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public String findLayoutConfigHash(Long id, List<?> requestBlocks) {
+        GraphScene entity = graphSceneRepository.findById(id).orElse(null);
+        if (entity == null || entity.getSceneConfig() == null) {
+            return null;
+        }
+        Object sceneBlocks = entity.getSceneConfig().get("cypherBlocks");
+        if (!(sceneBlocks instanceof List<?> blocks)
+                || !SceneConfigHashUtil.blocksHash(blocks).equals(SceneConfigHashUtil.blocksHash(requestBlocks))) {
+            return null;
+        }
+        return entity.getConfigHash() != null ? entity.getConfigHash() : SceneConfigHashUtil.hash(entity.getSceneConfig());
+    }
+
+    public Map<String, List<Double>> getSceneLayout(Long id) {
+        return graphSceneLayoutRepository.findCurrent(id)
+                .map(GraphSceneLayout::getSceneLayout)
+                .orElse(null);
+    }
+
+    /**
+     * 레이아웃 테이블만 갱신합니다. 계산하는 동안 씬 설정이 바뀌었으면(설정 해시 불일치) 저장하지 않습니다.
+     */
+    @Transactional
+    public void saveSceneLayout(Long id, String configHash, Map<String, List<Double>> layout) {
+        GraphScene entity = graphSceneRepository.findById(id).orElse(null);
+        if (entity == null || !configHash.equals(entity.getConfigHash())) {
+            log.info("Scene config changed while computing layout. Layout discarded. sceneId: {}", id);
+            return;
+        }
+
+        GraphSceneLayout sceneLayout = graphSceneLayoutRepository.findById(id)
+                .orElseGet(() -> GraphSceneLayout.builder().sceneId(id).build());
+        sceneLayout.update(configHash, layout);
+        graphSceneLayoutRepository.save(sceneLayout);
     }
 
     @Transactional
@@ -51,6 +213,7 @@ public class GraphSceneService {
                 .nodeCount(0)
                 .relCount(0)
                 .sceneConfig(new HashMap<>())
+                .configHash(SceneConfigHashUtil.hash(new HashMap<>()))
                 .build();
 
         GraphScene savedEntity = graphSceneRepository.save(entity);
@@ -76,18 +239,21 @@ public class GraphSceneService {
     @Transactional
     public void deleteScene(Long id) {
         graphSceneRepository.deleteById(id);
+        graphSceneLayoutRepository.deleteBySceneId(id);
     }
 
+    /**
+     * 씬 조건에 매칭되는 라벨/타입별 카운트를 계산합니다. 계산에 실패하면 null 을 반환합니다.
+     */
     @SuppressWarnings("unchecked")
-    private GraphSceneDto enrichSceneWithExactCounts(GraphSceneDto dto) {
-        Map<String, Object> config = dto.getSceneConfig();
+    private SceneCounts computeSceneCounts(Map<String, Object> config) {
         if (config == null || !config.containsKey("cypherBlocks")) {
-            return dto;
+            return SceneCounts.EMPTY;
         }
 
         List<Map<String, Object>> blocks = (List<Map<String, Object>>) config.get("cypherBlocks");
         if (blocks == null || blocks.isEmpty()) {
-            return dto;
+            return SceneCounts.EMPTY;
         }
 
         try {
@@ -96,28 +262,7 @@ public class GraphSceneService {
             if ("SAVED_QUERY".equals(firstBlock.get("type"))) {
                 Map<String, Object> savedContent = (Map<String, Object>) firstBlock.get("savedQueryContent");
                 if (savedContent != null && savedContent.containsKey("cypherQuery")) {
-                    String rawQuery = (String) savedContent.get("cypherQuery");
-                    log.info("Scene Count Saved Query Executing: {}", rawQuery);
-
-                    java.util.Collection<Map<String, Object>> queryResult = neo4jClient.query(rawQuery)
-                            .fetch()
-                            .all();
-
-                    Map<String, Long> nodesMap = new HashMap<>();
-                    Map<String, Long> relsMap = new HashMap<>();
-                    java.util.Set<String> visitedNodes = new java.util.HashSet<>();
-                    java.util.Set<String> visitedRels = new java.util.HashSet<>();
-
-                    for (Map<String, Object> row : queryResult) {
-                        for (Object value : row.values()) {
-                            countGraphElements(value, nodesMap, relsMap, visitedNodes, visitedRels);
-                        }
-                    }
-
-                    return dto.toBuilder()
-                            .nodesCount(nodesMap)
-                            .relationsCount(relsMap)
-                            .build();
+                    return countSavedQuery((String) savedContent.get("cypherQuery"));
                 }
             }
 
@@ -164,10 +309,13 @@ public class GraphSceneService {
             String finalQuery = matchClause.toString() + returnClause.toString();
             log.info("Scene Count Query Executing: {}", finalQuery);
 
-            Map<String, Object> countResult = neo4jClient.query(finalQuery)
-                    .fetch()
-                    .one()
-                    .orElse(Collections.emptyMap());
+            Map<String, Object> countResult;
+            try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+                countResult = neo4jClient.query(finalQuery)
+                        .fetch()
+                        .one()
+                        .orElse(Collections.emptyMap());
+            }
 
             Map<String, Long> nodesMap = new HashMap<>();
             Map<String, Long> relsMap = new HashMap<>();
@@ -191,35 +339,91 @@ public class GraphSceneService {
                 }
             }
 
-            return dto.toBuilder()
-                    .nodesCount(nodesMap)
-                    .relationsCount(relsMap)
-                    .build();
+            return new SceneCounts(nodesMap, relsMap);
 
         } catch (Exception e) {
             log.error("Neo4j Scene 카운트 계산 중 에러 발생", e);
-            return dto;
+            return null;
+        }
+    }
+
+    /**
+     * 저장된 쿼리를 Neo4j 안에서 라벨/타입별로 집계해 카운트 테이블만 받아옵니다. 집계가 실패하면 예외를 그대로 던집니다.
+     * RETURN 절을 해석할 수 없는 쿼리만 graph.scene.counts.fallback-max-rows 행까지 받아 Java 에서 셉니다.
+     */
+    private SceneCounts countSavedQuery(String rawQuery) {
+        String countQuery = CypherQueryUtil.buildElementCountQuery(rawQuery);
+        if (countQuery == null) {
+            return countSavedQueryRows(rawQuery);
+        }
+
+        log.info("Scene Count Saved Query Aggregating: {}", countQuery);
+        java.util.Collection<Map<String, Object>> rows;
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+            rows = neo4jClient.query(countQuery)
+                    .fetch()
+                    .all();
+        }
+
+        Map<String, Long> nodesMap = new HashMap<>();
+        Map<String, Long> relsMap = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            String label = (String) row.get("label");
+            long cnt = ((Number) row.get("cnt")).longValue();
+            if ("NODE".equals(row.get("type"))) {
+                nodesMap.merge(label, cnt, Long::sum);
+            } else {
+                relsMap.merge(label, cnt, Long::sum);
+            }
+        }
+        return new SceneCounts(nodesMap, relsMap);
+    }
+
+    private SceneCounts countSavedQueryRows(String rawQuery) {
+        String boundedQuery = CypherQueryUtil.buildBoundedQuery(rawQuery, fallbackMaxRows);
+        log.info("Scene Count Saved Query Executing (bounded): {}", boundedQuery);
+
+        java.util.Collection<Map<String, Object>> queryResult;
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+            queryResult = neo4jClient.query(boundedQuery)
+                    .fetch()
+                    .all();
+        }
+        if (queryResult.size() >= fallbackMaxRows) {
+            log.warn("Saved query scene count truncated at {} rows. Use an explicit RETURN column list for exact counts.",
+                    fallbackMaxRows);
+        }
+
+        Map<String, Long> nodesMap = new HashMap<>();
+        Map<String, Long> relsMap = new HashMap<>();
+        ElementIdInterner visitedNodes = new ElementIdInterner(queryResult.size());
+        ElementIdInterner visitedRels = new ElementIdInterner(queryResult.size());
+
+        for (Map<String, Object> row : queryResult) {
+            for (Object value : row.values()) {
+                countGraphElements(value, nodesMap, relsMap, visitedNodes, visitedRels);
+            }
         }
+        return new SceneCounts(nodesMap, relsMap);
     }
 
     private void countGraphElements(Object item,
                                     Map<String, Long> nodesMap,
                                     Map<String, Long> relsMap,
-                                    java.util.Set<String> visitedNodes,
-                                    java.util.Set<String> visitedRels) {
+                                    ElementIdInterner visitedNodes,
+                                    ElementIdInterner visitedRels) {
         if (item == null) return;
 
         if (item instanceof org.neo4j.driver.types.Node node) {
-            String id = node.elementId();
-            if (!visitedNodes.contains(id)) {
-                visitedNodes.add(id);
+            int seen = visitedNodes.size();
+            // 처음 보는 id 이면 새 핸들(기존 size)이 발급된다
+            if (visitedNodes.intern(node.elementId()) == seen) {
                 String label = node.labels().iterator().hasNext() ? node.labels().iterator().next() : "Unknown";
                 nodesMap.merge(label, 1L, Long::sum);
             }
         } else if (item instanceof org.neo4j.driver.types.Relationship rel) {
-            String id = rel.elementId();
-            if (!visitedRels.contains(id)) {
-                visitedRels.add(id);
+            int seen = visitedRels.size();
+            if (visitedRels.intern(rel.elementId()) == seen) {
                 String type = rel.type();
                 relsMap.merge(type, 1L, Long::sum);
             }
@@ -233,5 +437,7 @@ public class GraphSceneService {
         }
     }
 
+    private record SceneCounts(Map<String, Long> nodesCount, Map<String, Long> relationsCount) {
+        static final SceneCounts EMPTY = new SceneCounts(Collections.emptyMap(), Collections.emptyMap());
+    }
 }
-
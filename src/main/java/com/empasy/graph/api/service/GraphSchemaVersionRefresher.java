@@ -0,0 +1,26 @@
+package com.empasy.graph.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스키마 버전을 주기적으로 확인해, 요청 스레드가 Neo4j 를 조회하지 않고도 최신 버전으로 ETag 를 만들 수 있게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphSchemaVersionRefresher {
+
+    private final GraphCypherValidationService graphCypherValidationService;
+
+    @Scheduled(fixedDelayString = "${graph.validation.schema-check-interval-ms:30000}")
+    public void refresh() {
+        try {
+            graphCypherValidationService.getSchemaVersion();
+        } catch (Exception e) {
+            log.warn("Failed to refresh schema version: {}", e.getMessage());
+        }
+    }
+}
@@ -5,12 +5,21 @@ import com.empasy.graph.api.dto.GraphSearchRequestDto;
 import com.empasy.graph.api.dto.GraphSearchRequestDto.CypherBlock;
 import com.empasy.graph.api.dto.GraphSearchResponseDto;
 import com.empasy.graph.api.entity.GraphCypherQuery;
+import com.empasy.graph.api.repository.GraphCommonRepository;
 import com.empasy.graph.api.repository.GraphCypherQueryRepository;
+import com.empasy.graph.api.service.GraphPredicateStatsRecorder.PredicateKey;
+import com.empasy.graph.api.support.GraphMetrics;
+import com.empasy.graph.api.support.RequestTimings;
+import com.empasy.graph.api.util.CypherQueryUtil;
+import com.empasy.graph.api.util.ElementIdInterner;
+import com.empasy.graph.api.util.GraphResultCopyUtil;
 import com.empasy.graph.api.util.GraphUtil;
+import com.empasy.graph.api.util.ShadowPropertyUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.neo4j.cypherdsl.core.*;
 import org.neo4j.cypherdsl.core.renderer.Renderer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +40,25 @@ public class GraphSearchService {
     private final Neo4jClient neo4jClient;
     private final GraphUtil graphUtil;
     private final GraphCypherQueryRepository graphCypherQueryRepository;
+    private final GraphRequestCoalescer graphRequestCoalescer;
+    private final GraphFulltextService graphFulltextService;
+    private final GraphPredicateStatsRecorder graphPredicateStatsRecorder;
+    private final GraphCaseInsensitiveService graphCaseInsensitiveService;
+    private final GraphCommonRepository graphCommonRepository;
+
+    private static final String OTHERS_GROUP = "(others)";
+
+    @Value("${graph.summary.threshold:2000}")
+    private long summaryThreshold;
+
+    @Value("${graph.summary.max-groups:50}")
+    private int summaryMaxGroups;
+
+    @Value("${graph.summary.max-scan-paths:100000}")
+    private int summaryMaxScanPaths;
+
+    @Value("${graph.query.saved-query-fetch-size:100}")
+    private int savedQueryFetchSize;
 
     @Neo4jTransactional(readOnly = true)
     public GraphSearchResponseDto searchByCyphers(GraphSearchRequestDto requestDto) {
@@ -52,11 +80,101 @@ public class GraphSearchService {
             return executeSavedQuery(savedQueryBlock.get(), limit);
         }
 
+        List<PredicateKey> predicates = new ArrayList<>();
+        SearchNotes notes = new SearchNotes();
+        SearchPattern searchPattern = buildSearchPattern(requestDto, predicates, notes);
+        PatternElement finalPattern = searchPattern.pattern();
+        Condition finalCondition = searchPattern.condition();
+
+        long searchStart = System.currentTimeMillis();
+        String summaryMode = requestDto.getSummaryMode();
+        boolean drill = requestDto.getDrillLabel() != null && !requestDto.getDrillLabel().isBlank();
+        boolean autoSummary = "AUTO".equalsIgnoreCase(summaryMode) && !drill;
+        if ("ON".equalsIgnoreCase(summaryMode) || ("AUTO".equalsIgnoreCase(summaryMode) && drill)) {
+            Statement summaryStatement = Cypher.match(Cypher.path("p").definedBy(finalPattern))
+                    .where(finalCondition)
+                    .returning(Cypher.name("p"))
+                    .build();
+            GraphSearchResponseDto summary;
+            try (RequestTimings.Phase phase = RequestTimings.start("summary")) {
+                summary = summarizeOrDrillDown(summaryStatement, requestDto);
+            }
+            graphPredicateStatsRecorder.record(predicates, System.currentTimeMillis() - searchStart);
+            return notes.applyTo(summary);
+        }
+
+        Statement statement;
+        String queryString;
+        try (RequestTimings.Phase phase = RequestTimings.start("dsl")) {
+            statement = searchStatement(searchPattern, limit);
+            queryString = Renderer.getDefaultRenderer().render(statement);
+        }
+
+        Collection<Map<String, Object>> queryResult;
+        try (RequestTimings.Phase phase = RequestTimings.start("query")) {
+            queryResult = neo4jClient.query(queryString)
+                    .bindAll(statement.getCatalog().getParameters())
+                    .fetch()
+                    .all();
+        }
+
+        // AUTO 는 일반 검색과 같은 limit 범위를 요약하므로, 가져온 결과의 요소 수가 임계치를 넘을 때만 집계 쿼리를 실행
+        if (autoSummary && exceedsSummaryThreshold(queryResult)) {
+            Statement summaryStatement = Cypher.match(Cypher.path("p").definedBy(finalPattern))
+                    .where(finalCondition)
+                    .returning(Cypher.name("p"))
+                    .build();
+            GraphSearchResponseDto summary;
+            try (RequestTimings.Phase phase = RequestTimings.start("summary")) {
+                summary = summarizeOrDrillDown(summaryStatement, requestDto);
+            }
+            graphPredicateStatsRecorder.record(predicates, System.currentTimeMillis() - searchStart);
+            return notes.applyTo(summary);
+        }
+        graphPredicateStatsRecorder.record(predicates, System.currentTimeMillis() - searchStart);
+
+        List<Expression> countExpressions = new ArrayList<>();
+        for (int i = 0; i < cyphers.size(); i++) {
+            String varName = (i % 2 == 0) ? "n" + i : "r" + i;
+            countExpressions.add(Cypher.countDistinct(Cypher.name(varName)).as("count_" + i));
+        }
+
+        Statement baseStatement;
+        String baseQuery;
+        try (RequestTimings.Phase phase = RequestTimings.start("dsl")) {
+            baseStatement = Cypher.match(Cypher.path("p").definedBy(finalPattern))
+                    .where(finalCondition)
+                    .returning(Cypher.name("p"))
+                    .build();
+            baseQuery = Renderer.getDefaultRenderer().render(baseStatement);
+        }
+
+        return notes.applyTo(convertToGroupData(queryResult, cyphers, baseQuery, baseStatement.getCatalog().getParameters()));
+    }
+
+    /**
+     * searchByCyphers 가 실행하는 것과 같은 블록 검색 문장입니다. (웜업에서 같은 문장을 EXPLAIN 해 계획 캐시를 채우는 데 사용)
+     * 저장 쿼리 블록은 지원하지 않습니다.
+     */
+    Statement buildSearchStatement(GraphSearchRequestDto requestDto) {
+        return searchStatement(buildSearchPattern(requestDto, new ArrayList<>(), new SearchNotes()), requestDto.getLimit());
+    }
+
+    private Statement searchStatement(SearchPattern searchPattern, int limit) {
+        return Cypher.match(Cypher.path("p").definedBy(searchPattern.pattern()))
+                .where(searchPattern.condition())
+                .returning(Cypher.name("p"))
+                .limit(limit)
+                .build();
+    }
+
+    private SearchPattern buildSearchPattern(GraphSearchRequestDto requestDto, List<PredicateKey> predicates, SearchNotes notes) {
+        List<CypherBlock> cyphers = requestDto.getCyphers();
         List<Condition> whereConditions = new ArrayList<>();
         CypherBlock firstBlock = cyphers.get(0);
         Node rootNode = createDslNode(firstBlock, 0);
 
-        collectConditions(rootNode, firstBlock, whereConditions, requestDto.isCaseInsensitiveSearch());
+        collectConditions(rootNode, firstBlock, whereConditions, predicates, notes, requestDto.isCaseInsensitiveSearch());
 
         ExposesRelationships<?> currentPath = rootNode;
 
@@ -74,40 +192,262 @@ public class GraphSearchService {
                     .relationshipTo(Cypher.anyNode(), relBlock.getLabel())
                     .named(relName);
 
-            collectConditions(relProxy, relBlock, whereConditions, requestDto.isCaseInsensitiveSearch());
-            collectConditions(nextNode, nextNodeBlock, whereConditions, requestDto.isCaseInsensitiveSearch());
+            collectConditions(relProxy, relBlock, whereConditions, predicates, notes, requestDto.isCaseInsensitiveSearch());
+            collectConditions(nextNode, nextNodeBlock, whereConditions, predicates, notes, requestDto.isCaseInsensitiveSearch());
         }
 
-        PatternElement finalPattern = (PatternElement) currentPath;
         Condition finalCondition = whereConditions.stream()
                 .reduce(Condition::and)
                 .orElse(Cypher.noCondition());
+        return new SearchPattern((PatternElement) currentPath, finalCondition);
+    }
 
-        Statement statement = Cypher.match(Cypher.path("p").definedBy(finalPattern))
-                .where(finalCondition)
-                .returning(Cypher.name("p"))
-                .limit(limit)
-                .build();
+    private record SearchPattern(PatternElement pattern, Condition condition) {
+    }
 
-        String queryString = Renderer.getDefaultRenderer().render(statement);
-        Collection<Map<String, Object>> queryResult = neo4jClient.query(queryString)
-                .bindAll(statement.getCatalog().getParameters())
-                .fetch()
-                .all();
+    /**
+     * 검색 조건을 만드는 동안 결과에 영향을 준 사항(전문 인덱스 후보 잘림, CONTAINS 대체)을 모아 응답에 싣습니다.
+     */
+    private static final class SearchNotes {
+        private boolean truncated;
+        private final List<String> warnings = new ArrayList<>();
 
-        List<Expression> countExpressions = new ArrayList<>();
-        for (int i = 0; i < cyphers.size(); i++) {
-            String varName = (i % 2 == 0) ? "n" + i : "r" + i;
-            countExpressions.add(Cypher.countDistinct(Cypher.name(varName)).as("count_" + i));
+        private GraphSearchResponseDto applyTo(GraphSearchResponseDto response) {
+            if (!truncated && warnings.isEmpty()) {
+                return response;
+            }
+            return response.toBuilder()
+                    .truncated(truncated)
+                    .warnings(List.copyOf(warnings))
+                    .build();
         }
+    }
 
-        Statement baseStatement = Cypher.match(Cypher.path("p").definedBy(finalPattern))
-                .where(finalCondition)
-                .returning(Cypher.name("p"))
-                .build();
+    /**
+     * 가져온 검색 결과의 고유 노드 + 릴레이션 수가 graph.summary.threshold 를 넘는지 확인합니다. 넘는 순간 더 세지 않습니다.
+     */
+    private boolean exceedsSummaryThreshold(Collection<Map<String, Object>> rows) {
+        Set<String> elementIds = new HashSet<>();
+        for (Map<String, Object> row : rows) {
+            for (Object value : row.values()) {
+                if (value instanceof org.neo4j.driver.types.Path path) {
+                    path.nodes().forEach(node -> elementIds.add(node.elementId()));
+                    path.relationships().forEach(rel -> elementIds.add(rel.elementId()));
+                    if (elementIds.size() > summaryThreshold) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 검색 결과를 Neo4j 안에서 라벨(또는 라벨 + 프로퍼티 값) 단위로 묶어 요약 노드/요약 릴레이션을 반환합니다.
+     * drillLabel 이 있으면 해당 요약 노드에 속한 노드를 반환합니다.
+     * AUTO 모드는 일반 검색 결과가 임계치를 넘은 경우에만 호출되며, 일반 검색과 같은 limit 범위의 경로만 요약합니다.
+     */
+    private GraphSearchResponseDto summarizeOrDrillDown(Statement baseStatement, GraphSearchRequestDto requestDto) {
+        boolean auto = "AUTO".equalsIgnoreCase(requestDto.getSummaryMode());
         String baseQuery = Renderer.getDefaultRenderer().render(baseStatement);
+        String property = (requestDto.getSummaryProperty() == null || requestDto.getSummaryProperty().isBlank())
+                ? null : requestDto.getSummaryProperty();
+
+        Map<String, Object> params = new HashMap<>(baseStatement.getCatalog().getParameters());
+        params.put("scanLimit", auto ? requestDto.getLimit() : Math.max(requestDto.getLimit(), summaryMaxScanPaths));
+        params.put("prop", property);
+        params.put("maxGroups", summaryMaxGroups);
+
+        if (requestDto.getDrillLabel() != null && !requestDto.getDrillLabel().isBlank()) {
+            return drillDown(baseQuery, params, requestDto);
+        }
+
+        String nodeQuery = """
+                CALL {
+                    %s
+                    LIMIT $scanLimit
+                }
+                UNWIND nodes(p) AS n
+                WITH DISTINCT n
+                WITH coalesce(labels(n)[0], 'Unknown') AS label,
+                     CASE WHEN $prop IS NULL THEN null ELSE toString(n[$prop]) END AS value
+                WITH label, value, count(*) AS cnt
+                ORDER BY cnt DESC, value
+                WITH label, collect({value: value, cnt: cnt}) AS groups, sum(cnt) AS total
+                RETURN label, groups[0..$maxGroups] AS top, total
+                """.formatted(baseQuery);
+
+        Collection<Map<String, Object>> nodeRows = neo4jClient.query(nodeQuery).bindAll(params).fetch().all();
+
+        long totalNodes = 0;
+        Map<String, List<String>> keptValues = new HashMap<>();
+        Map<String, Long> nodeCountMap = new HashMap<>();
+        List<Map<String, Object>> metaNodes = new ArrayList<>();
+        Map<String, Object> nodeStyles = new HashMap<>();
+        Map<String, Map<String, Object>> dbStyleCache = new HashMap<>();
+
+        for (Map<String, Object> row : nodeRows) {
+            String label = (String) row.get("label");
+            long total = ((Number) row.get("total")).longValue();
+            totalNodes += total;
+            nodeCountMap.put(label, total);
+
+            Map<String, Object> style = graphUtil.getStyleConfig(label, "NODE", dbStyleCache);
+            if (style != null) nodeStyles.put(label, style);
+
+            long kept = 0;
+            List<String> values = new ArrayList<>();
+            for (Object item : (List<?>) row.get("top")) {
+                Map<?, ?> group = (Map<?, ?>) item;
+                String value = (String) group.get("value");
+                long cnt = ((Number) group.get("cnt")).longValue();
+                kept += cnt;
+                if (value != null) values.add(value);
+                metaNodes.add(metaNode(label, value, cnt));
+            }
+            if (total > kept) {
+                metaNodes.add(metaNode(label, OTHERS_GROUP, total - kept));
+            }
+            keptValues.put(label, values);
+        }
+
+        String relQuery = """
+                CALL {
+                    %s
+                    LIMIT $scanLimit
+                }
+                UNWIND relationships(p) AS r
+                WITH DISTINCT r
+                WITH r, startNode(r) AS a, endNode(r) AS b
+                WITH r, coalesce(labels(a)[0], 'Unknown') AS sourceLabel, coalesce(labels(b)[0], 'Unknown') AS targetLabel,
+                     CASE WHEN $prop IS NULL THEN null ELSE toString(a[$prop]) END AS sourceValue,
+                     CASE WHEN $prop IS NULL THEN null ELSE toString(b[$prop]) END AS targetValue
+                RETURN sourceLabel,
+                       CASE WHEN $prop IS NULL OR sourceValue IS NULL OR sourceValue IN $kept[sourceLabel] THEN sourceValue ELSE $others END AS sourceValue,
+                       type(r) AS type,
+                       targetLabel,
+                       CASE WHEN $prop IS NULL OR targetValue IS NULL OR targetValue IN $kept[targetLabel] THEN targetValue ELSE $others END AS targetValue,
+                       count(*) AS cnt
+                """.formatted(baseQuery);
+
+        params.put("kept", keptValues);
+        params.put("others", OTHERS_GROUP);
+        Collection<Map<String, Object>> relRows = neo4jClient.query(relQuery).bindAll(params).fetch().all();
+
+        long totalRels = 0;
+        Map<String, Long> relationCountMap = new HashMap<>();
+        List<Map<String, Object>> metaEdges = new ArrayList<>();
+        Map<String, Object> relStyles = new HashMap<>();
 
-        return convertToGroupData(queryResult, cyphers, baseQuery);
+        for (Map<String, Object> row : relRows) {
+            String type = (String) row.get("type");
+            long cnt = ((Number) row.get("cnt")).longValue();
+            totalRels += cnt;
+            relationCountMap.merge(type, cnt, Long::sum);
+
+            Map<String, Object> style = graphUtil.getStyleConfig(type, "RELATIONSHIP", dbStyleCache);
+            if (style != null) relStyles.put(type, style);
+
+            String source = metaNodeId((String) row.get("sourceLabel"), (String) row.get("sourceValue"));
+            String target = metaNodeId((String) row.get("targetLabel"), (String) row.get("targetValue"));
+
+            Map<String, Object> edge = new HashMap<>();
+            edge.put("id", source + "-[" + type + "]->" + target);
+            edge.put("source", source);
+            edge.put("target", target);
+            edge.put("label", type);
+            edge.put("sourceLabel", row.get("sourceLabel"));
+            edge.put("targetLabel", row.get("targetLabel"));
+            edge.put("count", cnt);
+            edge.put("meta", true);
+            if (style != null) edge.put("style", style);
+            metaEdges.add(edge);
+        }
+
+        log.info("Search result summarized. nodes: {}, relationships: {}, groups: {}", totalNodes, totalRels, metaNodes.size());
+
+        return GraphSearchResponseDto.builder()
+                .nodes(metaNodes)
+                .relationships(metaEdges)
+                .nodeStyles(nodeStyles)
+                .relationshipStyles(relStyles)
+                .nodeCount(nodeCountMap)
+                .relationCount(relationCountMap)
+                .summarized(true)
+                .build();
+    }
+
+    /**
+     * 요약 노드 하나에 속한 실제 노드를 조회합니다.
+     * drillValue 가 (others) 이면 요약과 같은 순위로 상위 그룹 값을 다시 구해, 상위 그룹에 속하지 않은 노드만 조회합니다.
+     */
+    private GraphSearchResponseDto drillDown(String baseQuery, Map<String, Object> params, GraphSearchRequestDto requestDto) {
+        String query = """
+                CALL {
+                    %s
+                    LIMIT $scanLimit
+                }
+                UNWIND nodes(p) AS n
+                WITH DISTINCT n
+                WHERE coalesce(labels(n)[0], 'Unknown') = $drillLabel
+                  AND ($prop IS NULL
+                       OR ($drillOthers AND NOT toString(n[$prop]) IN $kept[$drillLabel])
+                       OR (NOT $drillOthers AND ($drillValue IS NULL OR toString(n[$prop]) = $drillValue)))
+                RETURN n
+                LIMIT $limit
+                """.formatted(baseQuery);
+
+        boolean drillOthers = OTHERS_GROUP.equals(requestDto.getDrillValue());
+        params.put("drillLabel", requestDto.getDrillLabel());
+        params.put("drillValue", drillOthers ? null : requestDto.getDrillValue());
+        params.put("drillOthers", drillOthers);
+        params.put("kept", drillOthers && params.get("prop") != null
+                ? Map.of(requestDto.getDrillLabel(), keptGroupValues(baseQuery, params))
+                : Map.of());
+        params.put("limit", requestDto.getLimit());
+
+        Collection<Map<String, Object>> rows = neo4jClient.query(query).bindAll(params).fetch().all();
+        // 전체 결과 카운트는 요약 단계에서 이미 확인했으므로 다시 집계하지 않는다
+        return convertToGroupData(rows, requestDto.getCyphers(), null, Map.of());
+    }
+
+    /**
+     * drillLabel 의 상위 그룹 값입니다. 요약 쿼리와 같은 정렬(cnt DESC, value)과 maxGroups 로 구하며, null 값 그룹은 제외합니다.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> keptGroupValues(String baseQuery, Map<String, Object> params) {
+        String query = """
+                CALL {
+                    %s
+                    LIMIT $scanLimit
+                }
+                UNWIND nodes(p) AS n
+                WITH DISTINCT n
+                WHERE coalesce(labels(n)[0], 'Unknown') = $drillLabel
+                WITH toString(n[$prop]) AS value, count(*) AS cnt
+                ORDER BY cnt DESC, value
+                WITH collect({value: value})[0..$maxGroups] AS top
+                RETURN [g IN top WHERE g.value IS NOT NULL | g.value] AS kept
+                """.formatted(baseQuery);
+
+        return neo4jClient.query(query).bindAll(params).fetch().one()
+                .map(row -> (List<String>) row.get("kept"))
+                .orElse(List.of());
+    }
+
+    private Map<String, Object> metaNode(String label, String value, long count) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("id", metaNodeId(label, value));
+        node.put("label", label);
+        node.put("groupValue", value);
+        node.put("count", count);
+        node.put("meta", true);
+        node.put("displayLabel", (value == null ? label : label + ": " + value) + " (" + count + ")");
+        return node;
+    }
+
+    private String metaNodeId(String label, String value) {
+        return value == null ? "meta:" + label : "meta:" + label + ":" + value;
     }
 
     private GraphSearchResponseDto executeSavedQuery(CypherBlock block, int limit) {
@@ -158,15 +498,50 @@ public class GraphSearchService {
             }
         }
 
+        // 같은 저장 쿼리(치환 후 본문 + limit)의 동시 실행은 한 번만 수행
+        String finalQuery = rawQuery;
+        return graphRequestCoalescer.execute("saved-query", CypherQueryUtil.hash(finalQuery) + ":" + limit,
+                () -> runSavedQuery(finalQuery, limit), GraphResultCopyUtil::copy);
+    }
+
+    /**
+     * 저장 쿼리 결과를 드라이버에서 한 행씩 읽으며 바로 노드/릴레이션으로 조립합니다.
+     * LIMIT 은 행 수만 제한하므로 경로를 반환하는 쿼리는 한 행에 많은 요소가 들어 있을 수 있습니다.
+     * 노드가 limit 개 차고 릴레이션도 limit 개 찼거나 더 받을 릴레이션이 없으면(그 행에서 새 릴레이션이 추가되지 않음) 더 읽지 않고 남은 결과 전송과 Neo4j 실행을 멈춥니다.
+     */
+    private GraphSearchResponseDto runSavedQuery(String rawQuery, int limit) {
         String dataQuery = applyLimitToQuery(rawQuery, limit);
-        Collection<Map<String, Object>> queryResult = neo4jClient.query(dataQuery)
-                .fetch()
-                .all();
+        int budget = limit > 0 ? limit : Integer.MAX_VALUE;
+
+        List<Map<String, Object>> nodeList = new ArrayList<>();
+        List<Map<String, Object>> edgeList = new ArrayList<>();
+        ResultIndex resultIndex = new ResultIndex(Math.min(budget, 1024), budget, budget);
+        Map<String, Object> globalNodeStyles = new HashMap<>();
+        Map<String, Object> globalRelStyles = new HashMap<>();
+        Map<String, Map<String, Object>> dbStyleCache = new HashMap<>();
+
+        boolean stoppedEarly;
+        try (RequestTimings.Phase phase = RequestTimings.start("stream")) {
+            stoppedEarly = graphCommonRepository.streamReadQuery(dataQuery, savedQueryFetchSize, row -> {
+                int edgesBefore = edgeList.size();
+                for (Object value : row.values()) {
+                    processResultItem(value, nodeList, edgeList, resultIndex,
+                            dbStyleCache, globalNodeStyles, globalRelStyles);
+                }
+                // 노드 예산이 차면 이미 받은 노드 사이의 릴레이션만 받을 수 있으므로, 새 릴레이션이 없는 행이 나오면 멈춘다
+                boolean nodesFull = nodeList.size() >= budget;
+                return !nodesFull || (edgeList.size() < budget && edgeList.size() > edgesBefore);
+            });
+        }
+        if (stoppedEarly) {
+            GraphMetrics.increment("saved-query.budget-stop");
+            log.debug("Saved query stream stopped at budget. nodes: {}, edges: {}", nodeList.size(), edgeList.size());
+        }
 
         Map<String, Long> nodeCountMap = new HashMap<>();
         Map<String, Long> relationCountMap = new HashMap<>();
 
-        try {
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
             String countQuery = buildCountQuery(rawQuery);
             Collection<Map<String, Object>> countResult = neo4jClient.query(countQuery)
                     .fetch()
@@ -187,7 +562,18 @@ public class GraphSearchService {
             log.warn("COUNT 쿼리 실패, 데이터 기준으로 fallback: {}", e.getMessage());
         }
 
-        return convertToGroupDataForSavedQuery(queryResult, limit, nodeCountMap, relationCountMap);
+        try (RequestTimings.Phase phase = RequestTimings.start("connectivity")) {
+            enrichWithGlobalConnectivity(nodeList, null);
+        }
+
+        return GraphSearchResponseDto.builder()
+                .nodes(nodeList)
+                .relationships(edgeList)
+                .nodeStyles(globalNodeStyles)
+                .relationshipStyles(globalRelStyles)
+                .nodeCount(nodeCountMap)
+                .relationCount(relationCountMap)
+                .build();
     }
 
     private Node createDslNode(CypherBlock block, int index) {
@@ -223,7 +609,8 @@ public class GraphSearchService {
         throw new IllegalArgumentException("지원하지 않는 경로 타입입니다: " + from.getClass().getName());
     }
 
-    private void collectConditions(PropertyContainer container, CypherBlock block, List<Condition> conditions, boolean caseInsensitive) {
+    private void collectConditions(PropertyContainer container, CypherBlock block, List<Condition> conditions,
+                                   List<PredicateKey> predicates, SearchNotes notes, boolean caseInsensitive) {
         if (block.getProperties() == null || block.getProperties().isEmpty()) return;
 
         block.getProperties().forEach((key, val) -> {
@@ -241,6 +628,19 @@ public class GraphSearchService {
                 }
             }
 
+            String label = block.getLabel();
+            boolean hasLabel = label != null && !label.isBlank() && !"ANY".equals(label);
+            if (hasLabel) {
+                predicates.add(new PredicateKey(container instanceof Node ? "NODE" : "RELATIONSHIP",
+                        label, key, operator, caseInsensitive && !"FULLTEXT".equals(operator), type));
+            }
+
+            if ("FULLTEXT".equals(operator)) {
+                conditions.add(buildFulltextCondition(container, block.getLabel(), key, value, caseInsensitive,
+                        "fulltext" + conditions.size(), notes));
+                return;
+            }
+
             Object castedValue;
             if (type.toLowerCase().contains("list") && "CONTAINS".equals(operator)) {
                 String strVal = String.valueOf(value).trim();
@@ -257,10 +657,46 @@ public class GraphSearchService {
                 castedValue = castValueToType(value, type);
             }
 
+            // 섀도 프로퍼티 인덱스가 있으면 toLower(n.prop) 대신 미리 소문자로 저장된 n._ci_prop 과 비교해 인덱스를 사용한다
+            if (caseInsensitive && castedValue instanceof String strValue && container instanceof Node && hasLabel
+                    && !"IS_NULL".equals(operator) && !"IS_NOT_NULL".equals(operator)
+                    && graphCaseInsensitiveService.isShadowIndexed(label, key)) {
+                conditions.add(buildCondition(container.property(ShadowPropertyUtil.shadowOf(key)), operator,
+                        ShadowPropertyUtil.normalize(strValue), type, false));
+                return;
+            }
+
             conditions.add(buildCondition(property, operator, castedValue, type, caseInsensitive));
         });
     }
 
+    /**
+     * FULLTEXT 연산자: (라벨, 프로퍼티)를 포함하는 노드 전문 인덱스가 있으면 인덱스로 후보 노드를 찾아 elementId 조건으로 바꿉니다.
+     * 검색어의 각 단어로 시작하는 단어를 포함하는 값을 찾으며, 후보는 점수 순으로 graph.fulltext.max-candidates 개까지만 사용합니다. (넘으면 응답 truncated)
+     * 인덱스가 없거나 릴레이션 블록이면 검색어 전체를 부분 문자열로 찾는 CONTAINS 로 처리하고 응답 warnings 에 남깁니다.
+     * (단어 단위 접두어 검색이 아니므로 단어 순서/분리가 다르면 결과가 다를 수 있습니다)
+     */
+    private Condition buildFulltextCondition(PropertyContainer container, String label, String key, Object value,
+                                             boolean caseInsensitive, String parameterName, SearchNotes notes) {
+        String text = value == null ? "" : String.valueOf(value).trim();
+        String index = (container instanceof Node && label != null && !text.isEmpty())
+                ? graphFulltextService.findNodeIndex(label, key) : null;
+
+        if (index == null) {
+            log.debug("No fulltext index for {}.{}. Falling back to CONTAINS.", label, key);
+            notes.warnings.add("FULLTEXT " + label + "." + key + ": no fulltext index, evaluated as CONTAINS");
+            return buildCondition(container.property(key), "CONTAINS", text, "String", caseInsensitive);
+        }
+
+        GraphFulltextService.FulltextCandidates candidates = graphFulltextService.findNodeIds(index, key, text);
+        if (candidates.truncated()) {
+            notes.truncated = true;
+            notes.warnings.add("FULLTEXT " + label + "." + key + ": only the top " + candidates.limit()
+                    + " index matches were searched");
+        }
+        return ((Node) container).elementId().in(Cypher.parameter(parameterName, candidates.ids()));
+    }
+
     private Condition buildCondition(Property property, String operator, Object value, String type, boolean caseInsensitive) {
         if ("IS_NULL".equals(operator)) return property.isNull();
         if ("IS_NOT_NULL".equals(operator)) return property.isNotNull();
@@ -307,29 +743,23 @@ public class GraphSearchService {
         };
     }
 
-    private GraphSearchResponseDto convertToGroupData(Collection<Map<String, Object>> queryResult, List<CypherBlock> cyphers, String baseQuery) {
-        List<Map<String, Object>> nodeList = new ArrayList<>();
-        List<Map<String, Object>> edgeList = new ArrayList<>();
-
-        Set<String> visitedNodeIds = new HashSet<>();
-        Set<String> visitedEdgeIds = new HashSet<>();
-
-        Map<String, Object> globalNodeStyles = new HashMap<>();
-        Map<String, Object> globalRelStyles = new HashMap<>();
-
-        Map<String, Map<String, Object>> nodeInfoMap = new HashMap<>();
-        Map<String, Map<String, Object>> dbStyleCache = new HashMap<>();
-
-        for (Map<String, Object> row : queryResult) {
-            for (Object value : row.values()) {
-                processResultItem(value, nodeList, edgeList, visitedNodeIds, visitedEdgeIds,
-                        dbStyleCache, globalNodeStyles, globalRelStyles, nodeInfoMap);
-            }
+    private GraphSearchResponseDto convertToGroupData(Collection<Map<String, Object>> queryResult, List<CypherBlock> cyphers,
+                                                      String baseQuery, Map<String, Object> baseParams) {
+        GraphSearchResponseDto converted;
+        try (RequestTimings.Phase phase = RequestTimings.start("convert")) {
+            converted = convertRows(queryResult);
         }
+        List<Map<String, Object>> nodeList = converted.getNodes();
+        List<Map<String, Object>> edgeList = converted.getRelationships();
 
-        enrichWithGlobalConnectivity(nodeList, cyphers);
+        try (RequestTimings.Phase phase = RequestTimings.start("connectivity")) {
+            enrichWithGlobalConnectivity(nodeList, cyphers);
+        }
 
-        Map<String, Map<String, Long>> totalCounts = fetchRealTotalCounts(baseQuery);
+        Map<String, Map<String, Long>> totalCounts;
+        try (RequestTimings.Phase phase = RequestTimings.start("count")) {
+            totalCounts = fetchRealTotalCounts(baseQuery, baseParams);
+        }
         Map<String, Long> nodeCountMap = totalCounts.get("node");
         Map<String, Long> relationCountMap = totalCounts.get("relation");
 
@@ -346,63 +776,88 @@ public class GraphSearchService {
         nodeCountMap.keySet().retainAll(renderedNodeLabels);
         relationCountMap.keySet().retainAll(renderedEdgeLabels);
 
+        return converted.toBuilder()
+                .nodeCount(nodeCountMap)
+                .relationCount(relationCountMap)
+                .build();
+    }
+
+    /**
+     * 검색 결과 행의 Path/Node/Relationship 을 중복 없이 노드/릴레이션 맵으로 변환합니다. (DB 조회 없이 스타일 조회만 수행)
+     */
+    GraphSearchResponseDto convertRows(Collection<Map<String, Object>> queryResult) {
+        List<Map<String, Object>> nodeList = new ArrayList<>();
+        List<Map<String, Object>> edgeList = new ArrayList<>();
+
+        ResultIndex resultIndex = new ResultIndex(queryResult.size());
+
+        Map<String, Object> globalNodeStyles = new HashMap<>();
+        Map<String, Object> globalRelStyles = new HashMap<>();
+
+        Map<String, Map<String, Object>> dbStyleCache = new HashMap<>();
+
+        for (Map<String, Object> row : queryResult) {
+            for (Object value : row.values()) {
+                processResultItem(value, nodeList, edgeList, resultIndex,
+                        dbStyleCache, globalNodeStyles, globalRelStyles);
+            }
+        }
+
         return GraphSearchResponseDto.builder()
                 .nodes(nodeList)
                 .relationships(edgeList)
                 .nodeStyles(globalNodeStyles)
                 .relationshipStyles(globalRelStyles)
-                .nodeCount(nodeCountMap)
-                .relationCount(relationCountMap)
                 .build();
     }
+
     private void processResultItem(Object item,
                                    List<Map<String, Object>> nodeList,
                                    List<Map<String, Object>> edgeList,
-                                   Set<String> visitedNodeIds,
-                                   Set<String> visitedEdgeIds,
+                                   ResultIndex resultIndex,
                                    Map<String, Map<String, Object>> dbStyleCache,
                                    Map<String, Object> globalNodeStyles,
-                                   Map<String, Object> globalRelStyles,
-                                   Map<String, Map<String, Object>> nodeInfoMap) {
+                                   Map<String, Object> globalRelStyles) {
         if (item == null) return;
 
         if (item instanceof org.neo4j.driver.types.Path path) {
-            path.nodes().forEach(node -> processNode(node, nodeList, visitedNodeIds, dbStyleCache, globalNodeStyles, nodeInfoMap));
-            path.relationships().forEach(rel -> processRelationship(rel, edgeList, visitedEdgeIds, dbStyleCache, globalRelStyles, nodeInfoMap));
+            path.nodes().forEach(node -> processNode(node, nodeList, resultIndex, dbStyleCache, globalNodeStyles));
+            path.relationships().forEach(rel -> processRelationship(rel, edgeList, resultIndex, dbStyleCache, globalRelStyles));
         } else if (item instanceof org.neo4j.driver.types.Node node) {
-            processNode(node, nodeList, visitedNodeIds, dbStyleCache, globalNodeStyles, nodeInfoMap);
+            processNode(node, nodeList, resultIndex, dbStyleCache, globalNodeStyles);
         } else if (item instanceof org.neo4j.driver.types.Relationship rel) {
-            processRelationship(rel, edgeList, visitedEdgeIds, dbStyleCache, globalRelStyles, nodeInfoMap);
+            processRelationship(rel, edgeList, resultIndex, dbStyleCache, globalRelStyles);
         } else if (item instanceof List<?> list) {
             for (Object subItem : list) {
-                processResultItem(subItem, nodeList, edgeList, visitedNodeIds, visitedEdgeIds, dbStyleCache, globalNodeStyles, globalRelStyles, nodeInfoMap);
+                processResultItem(subItem, nodeList, edgeList, resultIndex, dbStyleCache, globalNodeStyles, globalRelStyles);
             }
         }
     }
 
     private void processNode(org.neo4j.driver.types.Node node,
                              List<Map<String, Object>> nodeList,
-                             Set<String> visitedNodeIds,
+                             ResultIndex resultIndex,
                              Map<String, Map<String, Object>> dbStyleCache,
-                             Map<String, Object> globalNodeStyles,
-                             Map<String, Map<String, Object>> nodeInfoMap) {
+                             Map<String, Object> globalNodeStyles) {
+        // 예산이 찬 뒤에는 새 노드를 더하지 않는다 (이미 있는 노드는 아래 방문 검사에서 걸러짐)
+        if (nodeList.size() >= resultIndex.nodeBudget) return;
+
         String id = node.elementId();
+        int handle = resultIndex.nodeIds.intern(id);
+        // 경로마다 반복되는 노드는 핸들 비교만으로 건너뛴다
+        if (resultIndex.visitedNodes.get(handle)) return;
+        resultIndex.visitedNodes.set(handle);
+
         String label = node.labels().iterator().hasNext() ? node.labels().iterator().next() : "Unknown";
         Map<String, Object> style = graphUtil.getStyleConfig(label, "NODE", dbStyleCache);
-
-        if (!nodeInfoMap.containsKey(id)) {
-            Map<String, Object> info = new HashMap<>();
-            info.put("label", label);
-            info.put("style", style);
-            nodeInfoMap.put(id, info);
-        }
+        resultIndex.putNodeInfo(handle, label, style);
 
         if (style != null && !globalNodeStyles.containsKey(label)) {
             globalNodeStyles.put(label, style);
         }
 
         List<String> displayCaptions = new ArrayList<>();
-        Map<String, Object> nodeProps = node.asMap();
+        Map<String, Object> nodeProps = ShadowPropertyUtil.strip(node.asMap());
 
         if (style != null && style.containsKey("captions")) {
             List<Map<String, Object>> captions = (List<Map<String, Object>>) style.get("captions");
@@ -422,26 +877,33 @@ public class GraphSearchService {
 
         String finalDisplayLabel = String.join(",", displayCaptions);
 
-        if (!visitedNodeIds.contains(id)) {
-            visitedNodeIds.add(id);
-            Map<String, Object> nodeData = new HashMap<>(nodeProps);
-            nodeData.put("id", id);
-            nodeData.put("label", label);
-            nodeData.put("displayLabel", finalDisplayLabel);
-            nodeList.add(nodeData);
-        }
+        Map<String, Object> nodeData = new HashMap<>(nodeProps);
+        nodeData.put("id", id);
+        nodeData.put("label", label);
+        nodeData.put("displayLabel", finalDisplayLabel);
+        nodeList.add(nodeData);
     }
 
     private void processRelationship(org.neo4j.driver.types.Relationship rel,
                                      List<Map<String, Object>> edgeList,
-                                     Set<String> visitedEdgeIds,
+                                     ResultIndex resultIndex,
                                      Map<String, Map<String, Object>> dbStyleCache,
-                                     Map<String, Object> globalRelStyles,
-                                     Map<String, Map<String, Object>> nodeInfoMap) {
-        String id = rel.elementId();
-        String label = rel.type();
+                                     Map<String, Object> globalRelStyles) {
+        if (edgeList.size() >= resultIndex.edgeBudget) return;
+
         String sourceId = rel.startNodeElementId();
         String targetId = rel.endNodeElementId();
+        int sourceHandle = resultIndex.nodeIds.find(sourceId);
+        int targetHandle = resultIndex.nodeIds.find(targetId);
+        // 노드 예산 때문에 빠진 노드에 연결된 릴레이션은 화면에서 끊어진 선이 되므로 제외한다
+        if (resultIndex.nodeIds.size() >= resultIndex.nodeBudget && (sourceHandle < 0 || targetHandle < 0)) return;
+
+        String id = rel.elementId();
+        int handle = resultIndex.relIds.intern(id);
+        if (resultIndex.visitedRels.get(handle)) return;
+        resultIndex.visitedRels.set(handle);
+
+        String label = rel.type();
 
         Map<String, Object> style = graphUtil.getStyleConfig(label, "RELATIONSHIP", dbStyleCache);
 
@@ -449,27 +911,60 @@ public class GraphSearchService {
             globalRelStyles.put(label, style);
         }
 
-        if (!visitedEdgeIds.contains(id)) {
-            visitedEdgeIds.add(id);
-            Map<String, Object> relData = new HashMap<>(rel.asMap());
+        Map<String, Object> relData = new HashMap<>(rel.asMap());
 
-            if (style != null) relData.put("style", style);
+        if (style != null) relData.put("style", style);
 
-            if (nodeInfoMap.containsKey(sourceId)) {
-                relData.put("sourceLabel", nodeInfoMap.get(sourceId).get("label"));
-                relData.put("sourceStyle", nodeInfoMap.get(sourceId).get("style"));
-            }
-            if (nodeInfoMap.containsKey(targetId)) {
-                relData.put("targetLabel", nodeInfoMap.get(targetId).get("label"));
-                relData.put("targetStyle", nodeInfoMap.get(targetId).get("style"));
-            }
+        if (sourceHandle >= 0) {
+            relData.put("sourceLabel", resultIndex.nodeLabels.get(sourceHandle));
+            relData.put("sourceStyle", resultIndex.nodeStyles.get(sourceHandle));
+        }
+        if (targetHandle >= 0) {
+            relData.put("targetLabel", resultIndex.nodeLabels.get(targetHandle));
+            relData.put("targetStyle", resultIndex.nodeStyles.get(targetHandle));
+        }
+
+        relData.put("id", id);
+        relData.put("source", sourceId);
+        relData.put("target", targetId);
+        relData.put("label", label);
 
-            relData.put("id", id);
-            relData.put("source", rel.startNodeElementId());
-            relData.put("target", rel.endNodeElementId());
-            relData.put("label", label);
+        edgeList.add(relData);
+    }
+
+    /**
+     * 결과 조립 중 중복 제거에 쓰는 요청 단위 인덱스입니다.
+     * elementId 를 int 핸들로 바꾸고, 방문 여부는 BitSet, 노드 라벨/스타일은 핸들 순서의 리스트로 보관합니다.
+     * nodeBudget / edgeBudget 을 넘는 노드와 릴레이션은 더하지 않습니다. (기본값은 제한 없음)
+     */
+    private static final class ResultIndex {
+        private final ElementIdInterner nodeIds;
+        private final ElementIdInterner relIds;
+        private final BitSet visitedNodes = new BitSet();
+        private final BitSet visitedRels = new BitSet();
+        private final List<String> nodeLabels = new ArrayList<>();
+        private final List<Map<String, Object>> nodeStyles = new ArrayList<>();
+        private final int nodeBudget;
+        private final int edgeBudget;
+
+        private ResultIndex(int expectedRows) {
+            this(expectedRows, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
 
-            edgeList.add(relData);
+        private ResultIndex(int expectedRows, int nodeBudget, int edgeBudget) {
+            this.nodeIds = new ElementIdInterner(expectedRows);
+            this.relIds = new ElementIdInterner(expectedRows);
+            this.nodeBudget = nodeBudget;
+            this.edgeBudget = edgeBudget;
+        }
+
+        private void putNodeInfo(int handle, String label, Map<String, Object> style) {
+            while (nodeLabels.size() <= handle) {
+                nodeLabels.add(null);
+                nodeStyles.add(null);
+            }
+            nodeLabels.set(handle, label);
+            nodeStyles.set(handle, style);
         }
     }
 
@@ -592,50 +1087,6 @@ public class GraphSearchService {
         return strValue;
     }
 
-    private GraphSearchResponseDto convertToGroupDataForSavedQuery(
-            Collection<Map<String, Object>> queryResult, int limit,
-            Map<String, Long> nodeCountMap, Map<String, Long> relationCountMap) {
-
-        List<Map<String, Object>> nodeList = new ArrayList<>();
-        List<Map<String, Object>> edgeList = new ArrayList<>();
-
-        Set<String> visitedNodeIds = new HashSet<>();
-        Set<String> visitedEdgeIds = new HashSet<>();
-
-        Map<String, Object> globalNodeStyles = new HashMap<>();
-        Map<String, Object> globalRelStyles = new HashMap<>();
-
-        Map<String, Map<String, Object>> nodeInfoMap = new HashMap<>();
-        Map<String, Map<String, Object>> dbStyleCache = new HashMap<>();
-
-        for (Map<String, Object> row : queryResult) {
-            for (Object value : row.values()) {
-                processResultItem(value, nodeList, edgeList, visitedNodeIds, visitedEdgeIds,
-                        dbStyleCache, globalNodeStyles, globalRelStyles, nodeInfoMap);
-            }
-        }
-
-        if (limit > 0) {
-            if (nodeList.size() > limit) {
-                nodeList = new ArrayList<>(nodeList.subList(0, limit));
-            }
-            if (edgeList.size() > limit) {
-                edgeList = new ArrayList<>(edgeList.subList(0, limit));
-            }
-        }
-
-        enrichWithGlobalConnectivity(nodeList, null);
-
-        return GraphSearchResponseDto.builder()
-                .nodes(nodeList)
-                .relationships(edgeList)
-                .nodeStyles(globalNodeStyles)
-                .relationshipStyles(globalRelStyles)
-                .nodeCount(nodeCountMap)
-                .relationCount(relationCountMap)
-                .build();
-    }
-
     private String applyLimitToQuery(String rawQuery, int limit) {
         if (rawQuery.trim().toUpperCase().matches("(?s).*\\bLIMIT\\s+\\d+.*")) {
             return rawQuery;
@@ -690,7 +1141,7 @@ public class GraphSearchService {
         """.formatted(rawQuery, returnVar);
     }
 
-    private Map<String, Map<String, Long>> fetchRealTotalCounts(String baseQuery) {
+    private Map<String, Map<String, Long>> fetchRealTotalCounts(String baseQuery, Map<String, Object> baseParams) {
         if (baseQuery == null || baseQuery.isEmpty()) {
             return Map.of("node", new HashMap<>(), "relation", new HashMap<>());
         }
@@ -710,7 +1161,7 @@ public class GraphSearchService {
             RETURN type(r) AS label, 'REL' AS type, count(DISTINCT r) AS cnt
             """.formatted(baseQuery, baseQuery);
 
-        Collection<Map<String, Object>> result = neo4jClient.query(totalCountCypher).fetch().all();
+        Collection<Map<String, Object>> result = neo4jClient.query(totalCountCypher).bindAll(baseParams).fetch().all();
 
         Map<String, Long> nodeCount = new HashMap<>();
         Map<String, Long> relationCount = new HashMap<>();
@@ -3,15 +3,28 @@ package com.empasy.graph.api.service;
 import com.empasy.graph.api.dto.GraphStyleRequestDto;
 import com.empasy.graph.api.entity.GraphStyle;
 import com.empasy.graph.api.repository.GraphStyleRepository;
+import com.empasy.graph.api.support.ResourceVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class GraphStyleService {
 
     private final GraphStyleRepository graphStyleRepository;
+    private final ResourceVersions resourceVersions;
+
+    public String stylesEtag() {
+        return resourceVersions.persistedEtag(ResourceVersions.STYLE, graphStyleRepository.findTableVersion());
+    }
+
+    @Transactional(readOnly = true)
+    public List<GraphStyle> getAllStyles() {
+        return graphStyleRepository.findAll();
+    }
 
     @Transactional
     public GraphStyle saveStyle(GraphStyleRequestDto requestDto) {
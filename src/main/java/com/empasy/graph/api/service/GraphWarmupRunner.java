@@ -0,0 +1,192 @@
+package com.empasy.graph.api.service;
+
+import com.empasy.graph.api.dto.GraphLabelNodesRequestDto;
+import com.empasy.graph.api.dto.GraphSchemaDto;
+import com.empasy.graph.api.dto.GraphSearchRequestDto;
+import com.empasy.graph.api.dto.GraphSearchRequestDto.CypherBlock;
+import com.empasy.graph.api.entity.GraphCypherQuery;
+import com.empasy.graph.api.repository.GraphCommonRepository;
+import com.empasy.graph.api.repository.GraphCypherQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 배포 직후 첫 요청이 느리지 않도록 시작 시 커넥션, 쿼리 계획, Neo4j 페이지 캐시를 미리 데워 둡니다. 애플리케이션 캐시를 채우지는 않습니다.
+ * - Bolt 커넥션을 graph.warmup.connections 개 미리 연다
+ * - 라벨별로 블록 검색이 실제로 만드는 문장(라벨만, 문자열 프로퍼티 EQUALS 조건)을 파라미터와 함께 EXPLAIN 하고,
+ *   라벨 테이블 첫 페이지를 조회해 두 문장의 계획을 Neo4j 계획 캐시에 올린다
+ * - 저장된 GraphCypherQuery 를 검증해 쿼리 목록 유효성 필터의 검증 캐시를 채운다 (확정된 결과만 캐시되므로 일시적 오류는 남지 않음)
+ * - 스키마, 라벨 카운트, 검색바 조회를 한 번씩 실행해 계획과 페이지 캐시를 데운다 (결과는 보관하지 않음)
+ * Spring Boot 는 ApplicationRunner 가 끝난 뒤 readiness 를 ACCEPTING_TRAFFIC 으로 바꾸므로, 웜업이 끝나거나 graph.warmup.timeout-ms 가 지날 때까지
+ * /actuator/health/readiness 가 OUT_OF_SERVICE(503)를 반환합니다. 시간이 지나면 남은 작업을 중단하고 기동을 계속합니다.
+ * Tomcat 은 웜업 중에도 연결을 받으므로, 배포 환경의 readiness probe 를 이 경로로 설정해야 웜업 전 요청이 들어오지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphWarmupRunner implements ApplicationRunner {
+
+    private static final String WARMUP_VALUE = "__warmup__";
+
+    private final GraphCommonRepository graphCommonRepository;
+    private final GraphCommonService graphCommonService;
+    private final GraphSearchService graphSearchService;
+    private final GraphCypherValidationService graphCypherValidationService;
+    private final GraphCypherQueryRepository graphCypherQueryRepository;
+    private final GenericNodeService genericNodeService;
+
+    @Value("${graph.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${graph.warmup.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @Value("${graph.warmup.connections:10}")
+    private int connections;
+
+    @Value("${graph.warmup.max-labels:50}")
+    private int maxLabels;
+
+    @Value("${graph.warmup.max-properties:5}")
+    private int maxProperties;
+
+    @Value("${graph.warmup.search-limit:100}")
+    private int searchLimit;
+
+    @Value("${graph.warmup.table-page-size:10}")
+    private int tablePageSize;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) return;
+
+        long start = System.currentTimeMillis();
+        List<Callable<Void>> steps = List.of(
+                step("connections", this::warmConnections),
+                step("plans", this::warmPlans),
+                step("saved-queries", this::warmSavedQueries),
+                step("data", this::warmData));
+
+        ExecutorService executor = Executors.newFixedThreadPool(steps.size());
+        try {
+            // 시간 안에 끝나지 않은 단계는 invokeAll 이 인터럽트로 취소한다
+            List<Future<Void>> futures = executor.invokeAll(steps, timeoutMs, TimeUnit.MILLISECONDS);
+            long cancelled = futures.stream().filter(Future::isCancelled).count();
+            if (cancelled > 0) {
+                log.warn("Warm-up timed out after {}ms. {} step(s) cancelled.", timeoutMs, cancelled);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Warm-up finished. elapsed: {}ms", System.currentTimeMillis() - start);
+    }
+
+    private void warmConnections() {
+        int opened = graphCommonRepository.openConnections(connections);
+        log.info("Warm-up opened {} Bolt connection(s)", opened);
+    }
+
+    /**
+     * 라벨별로 검색 서비스가 만드는 것과 같은 검색 문장을 EXPLAIN 하고, 라벨 테이블 첫 페이지를 조회합니다.
+     * 계획 캐시는 문장 텍스트로 찾으므로 검색 limit(graph.warmup.search-limit)은 화면의 기본 limit 과 같아야 효과가 있습니다.
+     */
+    private void warmPlans() {
+        int explained = 0;
+        for (GraphSchemaDto schema : limit(graphCommonService.getSchemaInfo(), maxLabels)) {
+            if (Thread.currentThread().isInterrupted()) return;
+            // db.schema.nodeTypeProperties 의 라벨은 백틱으로 감싸져 있음 (`Movie`)
+            String label = schema.label().replace("`", "");
+
+            List<Map<String, Object>> predicates = new ArrayList<>();
+            predicates.add(null);
+            if (schema.properties() != null) {
+                schema.properties().entrySet().stream()
+                        .filter(entry -> entry.getValue() != null && entry.getValue().toLowerCase().contains("string"))
+                        .limit(maxProperties)
+                        .forEach(entry -> predicates.add(Map.of(entry.getKey(),
+                                Map.of("value", WARMUP_VALUE, "operator", "EQUALS", "type", "String"))));
+            }
+
+            for (Map<String, Object> properties : predicates) {
+                Statement statement = graphSearchService.buildSearchStatement(GraphSearchRequestDto.builder()
+                        .limit(searchLimit)
+                        .cyphers(List.of(CypherBlock.builder()
+                                .type("NODE")
+                                .label(label)
+                                .properties(properties)
+                                .build()))
+                        .build());
+                graphCommonRepository.explainStatement(Renderer.getDefaultRenderer().render(statement),
+                        statement.getCatalog().getParameters());
+                explained++;
+            }
+
+            genericNodeService.getNodesByLabelForTable(GraphLabelNodesRequestDto.builder()
+                    .label(label)
+                    .pageIndex(0)
+                    .pageSize(tablePageSize)
+                    .build());
+        }
+        log.info("Warm-up explained {} search statement(s)", explained);
+    }
+
+    /**
+     * 저장된 쿼리를 검증 캐시를 거쳐 EXPLAIN 합니다. 검증 캐시는 유효/무효가 확정된 결과만 남기므로,
+     * 일시적 오류로 실패한 쿼리는 캐시되지 않고 다음 목록 조회 때 다시 검증됩니다.
+     */
+    private void warmSavedQueries() {
+        int count = 0;
+        int failed = 0;
+        for (GraphCypherQuery query : graphCypherQueryRepository.findAll()) {
+            if (Thread.currentThread().isInterrupted()) return;
+            if (query.getCypherQuery() == null || query.getCypherQuery().isBlank()) continue;
+
+            try {
+                graphCypherValidationService.validate(query.getCypherQuery());
+                count++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.debug("Warm-up validation failed. queryId: {}", query.getId(), e);
+            }
+        }
+        log.info("Warm-up explained {} saved quer(ies), failed: {}", count, failed);
+    }
+
+    /**
+     * 스키마, 라벨 카운트, 검색바 조회를 한 번씩 실행합니다. 결과를 보관하는 캐시는 없으며 Neo4j 쪽 계획/페이지 캐시만 데워집니다.
+     */
+    private void warmData() {
+        graphCommonService.getLabelCounts();
+        graphCommonService.getSearchBarData();
+    }
+
+    private static <T> List<T> limit(Collection<T> items, int max) {
+        return items.stream().limit(Math.max(0, max)).toList();
+    }
+
+    private Callable<Void> step(String name, Runnable task) {
+        return () -> {
+            long start = System.currentTimeMillis();
+            try {
+                task.run();
+                log.info("Warm-up step '{}' done in {}ms", name, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                // 웜업 실패로 기동을 막지 않는다
+                log.warn("Warm-up step '{}' failed: {}", name, e.getMessage());
+            }
+            return null;
+        };
+    }
+}
@@ -1,9 +1,12 @@
 package com.empasy.graph.api.support;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.util.Map;
+
 @Getter
 @NoArgsConstructor // This is legacy. Do not use Default Constructor
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
@@ -11,6 +14,10 @@ public class BaseResponse<T> extends BaseResponseDto {
     @Schema(title = "결과데이터", description = "결과데이터", example = "{'key':'value'}")
     private T data;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(title = "디버그 정보", description = "debug=timing 요청 시에만 포함되는 단계별 소요 시간")
+    private Map<String, Object> debug;
+
     @Builder
     public BaseResponse(String resultCode, String resultMessage, T data) {
         super.setResultCode(resultCode);
@@ -58,6 +65,10 @@ public class BaseResponse<T> extends BaseResponseDto {
                 .build();
     }
 
+    public void setDebug(Map<String, Object> debug) {
+        this.debug = debug;
+    }
+
     @Deprecated
     @Override
     public void setResultCode(String resultCode) {
@@ -1,39 +1,148 @@
 package com.empasy.graph.api.support;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 @Slf4j
 public abstract class BaseRestControllerV2 {
 
-    private static final long timeOut = 5000000L;
-    
+    /**
+     * 요청 타임아웃입니다. 지나면 503 으로 응답하고 실행 중인 작업(Neo4j 트랜잭션 포함)을 취소합니다.
+     */
+    @Value("${graph.request.timeout-ms:60000}")
+    protected long requestTimeoutMs;
+
+    /**
+     * bulk, 백필 등 오래 걸리는 관리용 작업의 요청 타임아웃입니다.
+     */
+    @Value("${graph.request.long-timeout-ms:1800000}")
+    protected long longRequestTimeoutMs;
+
     // 비동기 처리를 위한 스레드 풀
-    protected static final Executor shortTimeDbExecutor = Executors.newFixedThreadPool(20);
+    protected static final ExecutorService shortTimeDbExecutor = Executors.newFixedThreadPool(20);
 
     protected <V> DeferredResult<V> deferShortTimeDb(Supplier<V> supplier) {
-        return deferShortTimeDb(timeOut, supplier);
+        return deferShortTimeDb(requestTimeoutMs, supplier);
     }
 
     protected <V> DeferredResult<V> deferShortTimeDb(long timeOut, Supplier<V> supplier) {
         DeferredResult<V> dr = new DeferredResult<>(timeOut);
-        CompletableFuture.runAsync(() -> {
+        AtomicBoolean finished = new AtomicBoolean(false);
+        RequestTimings timings = RequestTimings.current();
+        long submittedAt = System.nanoTime();
+
+        Future<?> future = shortTimeDbExecutor.submit(() -> {
+            // 요청 스레드의 단계 측정을 작업 스레드에서 이어서 기록한다
+            RequestTimings previous = RequestTimings.bind(timings);
             try {
-                dr.setResult(supplier.get());
+                if (timings != null) {
+                    timings.record("queue", System.nanoTime() - submittedAt);
+                }
+                V result;
+                try (RequestTimings.Phase phase = RequestTimings.start("handler")) {
+                    result = supplier.get();
+                }
+                finished.set(true);
+                dr.setResult(result);
             } catch (Exception e) {
+                finished.set(true);
+                if (Thread.currentThread().isInterrupted() || dr.isSetOrExpired()) {
+                    log.debug("Cancelled task finished with exception: {}", e.getMessage());
+                    return;
+                }
                 log.error("Unhandled exception in deferShortTimeDb", e);
                 dr.setErrorResult(e);
+            } finally {
+                RequestTimings.bind(previous);
             }
-        }, shortTimeDbExecutor).exceptionally(t -> {
-            log.error("Unhandled exception in CompletableFuture", t);
-            dr.setErrorResult(t.getCause());
-            return null;
         });
+
+        dr.onTimeout(() -> cancel(future, finished, "timeout"));
+        dr.onError(t -> cancel(future, finished, "error"));
+        dr.onCompletion(() -> cancel(future, finished, "disconnect"));
         return dr;
     }
+
+    /**
+     * 조건부 요청(If-None-Match)을 지원하는 deferShortTimeDb 입니다.
+     * 요청의 ETag 가 현재 etag 와 같으면 작업을 시작하지 않고 null 을 반환하며, 이때 Spring 이 304 Not Modified 로 응답을 마무리합니다.
+     * 다르면 ETag 헤더를 붙여 평소처럼 처리합니다. etag 는 작업 전에 계산하므로, 그 사이 변경이 생겨도 다음 요청에서 다시 조회됩니다.
+     */
+    protected <V> DeferredResult<V> deferShortTimeDbIfModified(WebRequest webRequest, String etag, Supplier<V> supplier) {
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            GraphMetrics.increment("request.not-modified");
+            return null;
+        }
+        return deferShortTimeDb(supplier);
+    }
+
+    /**
+     * 진행 상황을 NDJSON(한 줄에 JSON 하나)으로 흘려보내는 스트리밍 응답입니다.
+     * task 는 진행 이벤트를 보낼 수 있는 콜백을 받고, 마지막 결과를 반환하면 그 결과를 보낸 뒤 스트림을 닫습니다.
+     */
+    protected ResponseBodyEmitter streamShortTimeDb(Function<Consumer<Object>, Object> task) {
+        return streamShortTimeDb(requestTimeoutMs, task);
+    }
+
+    protected ResponseBodyEmitter streamShortTimeDb(long timeOut, Function<Consumer<Object>, Object> task) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeOut);
+        Consumer<Object> sender = event -> sendLine(emitter, event);
+        AtomicBoolean finished = new AtomicBoolean(false);
+
+        Future<?> future = shortTimeDbExecutor.submit(() -> {
+            try {
+                sender.accept(task.apply(sender));
+                finished.set(true);
+                emitter.complete();
+            } catch (Exception e) {
+                finished.set(true);
+                if (Thread.currentThread().isInterrupted()) {
+                    log.debug("Cancelled stream finished with exception: {}", e.getMessage());
+                    return;
+                }
+                log.error("Unhandled exception in streamShortTimeDb", e);
+                emitter.completeWithError(e);
+            }
+        });
+
+        emitter.onTimeout(() -> cancel(future, finished, "timeout"));
+        emitter.onError(t -> cancel(future, finished, "error"));
+        emitter.onCompletion(() -> cancel(future, finished, "disconnect"));
+        return emitter;
+    }
+
+    /**
+     * 작업이 아직 끝나지 않았으면 실행 스레드를 인터럽트합니다.
+     * Neo4j 드라이버는 인터럽트된 스레드의 커넥션을 종료하므로 서버의 트랜잭션도 함께 중단됩니다.
+     */
+    private void cancel(Future<?> future, AtomicBoolean finished, String reason) {
+        if (finished.get() || future.isDone()) return;
+
+        if (future.cancel(true)) {
+            GraphMetrics.increment("request.cancelled." + reason);
+            log.info("Cancelled in-flight request. reason: {}", reason);
+        }
+    }
+
+    private void sendLine(ResponseBodyEmitter emitter, Object event) {
+        try {
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to send stream event", e);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.empasy.graph.api.support;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 애플리케이션 내부 카운터입니다. (별도 메트릭 라이브러리 없이 /api/v1/graph/metrics 로 조회)
+ */
+public final class GraphMetrics {
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private GraphMetrics() {
+    }
+
+    public static void increment(String name) {
+        COUNTERS.computeIfAbsent(name, k -> new LongAdder()).increment();
+    }
+
+    public static long get(String name) {
+        LongAdder counter = COUNTERS.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+}
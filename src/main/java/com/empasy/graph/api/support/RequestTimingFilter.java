@@ -0,0 +1,75 @@
+package com.empasy.graph.api.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * API 요청마다 RequestTimings 를 만들어 요청 속성과 현재 스레드에 연결합니다.
+ * Server-Timing 헤더는 응답 본문을 쓰기 직전(RequestTimingResponseAdvice)에 붙으므로 JSON 직렬화 시간은 들어가지 않습니다.
+ * debug=timing 파라미터나 X-Debug-Timing 헤더가 있으면 응답 본문을 버퍼링해 직렬화(serialize) 시간까지 측정한 뒤 헤더를 다시 씁니다.
+ * 이 경우 응답 전체를 메모리에 복사하므로 진단할 때만 사용합니다.
+ */
+@Component
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Value("${graph.timing.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // DeferredResult 응답은 async dispatch 에서 본문을 쓰므로 그때도 측정을 이어간다
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = (RequestTimings) request.getAttribute(RequestTimings.ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings(isDebugRequested(request));
+            request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        }
+
+        HttpServletResponse responseToUse = response;
+        if (timings.isDebug() && !isAsyncDispatch(request)
+                && WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+
+        RequestTimings previous = RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            RequestTimings.bind(previous);
+            if (!isAsyncStarted(request)) {
+                ContentCachingResponseWrapper wrapper =
+                        WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+                if (wrapper != null) {
+                    timings.recordWrite();
+                    wrapper.setHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+                    wrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private boolean isDebugRequested(HttpServletRequest request) {
+        return "timing".equals(request.getParameter("debug")) || request.getHeader("X-Debug-Timing") != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.empasy.graph.api.support;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 쓰기 직전에 지금까지의 단계별 시간을 Server-Timing 헤더로 붙이고, debug 요청이면 BaseResponse.debug 에도 넣습니다.
+ */
+@ControllerAdvice
+public class RequestTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) return body;
+
+        RequestTimings timings = (RequestTimings) servletRequest.getServletRequest().getAttribute(RequestTimings.ATTRIBUTE);
+        if (timings == null) return body;
+
+        if (timings.isDebug() && body instanceof BaseResponse<?> baseResponse) {
+            baseResponse.setDebug(timings.toDebug());
+        }
+        response.getHeaders().set(RequestTimingFilter.SERVER_TIMING_HEADER, timings.toServerTiming());
+        timings.markWriteStart();
+        return body;
+    }
+}
@@ -0,0 +1,149 @@
+package com.empasy.graph.api.support;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 요청 하나의 단계별 소요 시간(DSL 생성, 쿼리, 연결 정보, 카운트, 스타일 조회, 변환, 직렬화 등)을 모읍니다.
+ * 요청 스레드와 deferShortTimeDb 작업 스레드가 같은 인스턴스를 공유하고, 코드에서는 start(단계) 로 현재 스레드의 인스턴스에 기록합니다.
+ * 같은 단계가 여러 번 실행되면 시간을 더하고 횟수를 셉니다. 결과는 Server-Timing 헤더와 BaseResponse.debug 로 내보냅니다.
+ * 단계 안에서 다른 단계가 실행되면(예: convert 안의 style, handler 안의 query) 안쪽 단계 시간은 바깥 단계에서 빼고 기록하므로,
+ * 각 단계 값은 겹치지 않는 자기 시간이고 handler 는 하위 단계로 측정되지 않은 나머지 처리 시간입니다.
+ */
+public final class RequestTimings {
+
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Phase> OPEN = new ThreadLocal<>();
+    private static final Phase NOOP = new Phase(null, null);
+
+    private final long startNanos = System.nanoTime();
+    private final boolean debug;
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    private volatile long writeStartNanos;
+
+    public RequestTimings(boolean debug) {
+        this.debug = debug;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 timings 를 연결하고, 이전에 연결되어 있던 인스턴스를 반환합니다. (복원용)
+     */
+    public static RequestTimings bind(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+        return previous;
+    }
+
+    /**
+     * 현재 스레드의 요청에 name 단계 측정을 시작합니다. 측정 중인 요청이 없으면 아무것도 하지 않습니다.
+     * try-with-resources 로 사용합니다.
+     */
+    public static Phase start(String name) {
+        RequestTimings timings = CURRENT.get();
+        return timings == null ? NOOP : new Phase(timings, name);
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public synchronized void record(String name, long nanos) {
+        long[] phase = phases.computeIfAbsent(name, k -> new long[2]);
+        phase[0] += nanos;
+        phase[1]++;
+    }
+
+    /**
+     * 응답 본문 쓰기(JSON 직렬화) 시작 시점을 기록합니다.
+     */
+    public void markWriteStart() {
+        writeStartNanos = System.nanoTime();
+    }
+
+    /**
+     * markWriteStart 이후 지금까지를 serialize 단계로 기록합니다. 본문을 버퍼링한 경우에만 의미가 있습니다.
+     */
+    public void recordWrite() {
+        if (writeStartNanos != 0) {
+            record("serialize", System.nanoTime() - writeStartNanos);
+        }
+    }
+
+    /**
+     * Server-Timing 헤더 값입니다. 예: dsl;dur=1.2, query;dur=45.0, style;dur=3.1;desc="x4", total;dur=52.7
+     */
+    public synchronized String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        phases.forEach((name, phase) -> {
+            String entry = name + ";dur=" + millis(phase[0]);
+            header.add(phase[1] > 1 ? entry + ";desc=\"x" + phase[1] + "\"" : entry);
+        });
+        header.add("total;dur=" + millis(System.nanoTime() - startNanos));
+        return header.toString();
+    }
+
+    /**
+     * BaseResponse.debug 에 넣는 값입니다. (단계별 ms, 횟수와 지금까지의 전체 시간)
+     */
+    public synchronized Map<String, Object> toDebug() {
+        Map<String, Object> phaseMap = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> phaseMap.put(name, Map.of("ms", Double.parseDouble(millis(phase[0])), "count", phase[1])));
+
+        Map<String, Object> debugMap = new LinkedHashMap<>();
+        debugMap.put("phases", phaseMap);
+        debugMap.put("totalMs", Double.parseDouble(millis(System.nanoTime() - startNanos)));
+        return debugMap;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    public static final class Phase implements AutoCloseable {
+        private final RequestTimings timings;
+        private final String name;
+        private final long startNanos;
+        private final Phase parent;
+        private long childNanos;
+
+        private Phase(RequestTimings timings, String name) {
+            this.timings = timings;
+            this.name = name;
+            this.startNanos = timings == null ? 0 : System.nanoTime();
+            this.parent = timings == null ? null : OPEN.get();
+            if (timings != null) {
+                OPEN.set(this);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (timings == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            timings.record(name, elapsed - childNanos);
+            if (parent == null) {
+                OPEN.remove();
+            } else {
+                // 같은 요청의 바깥 단계에는 이 단계 시간을 빼도록 전달한다
+                if (parent.timings == timings) {
+                    parent.childNanos += elapsed;
+                }
+                OPEN.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.empasy.graph.api.support;
+
+import com.empasy.graph.api.repository.TableVersion;
+import com.empasy.graph.api.util.CypherQueryUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 자주 바뀌지 않는 조회 리소스의 ETag 를 만듭니다.
+ * MariaDB 에 저장된 리소스(저장 쿼리, 씬, 스타일)는 persistedEtag 로 테이블의 행 수/마지막 수정일시에서 만들므로
+ * 여러 인스턴스가 같은 ETag 를 내고, API 를 거치지 않은 DB 변경(update_timestamp 갱신 포함)도 반영됩니다.
+ * Neo4j 데이터처럼 저장된 버전이 없는 리소스는 인스턴스별 버전 카운터를 사용합니다. 변경 경로에서 bump 하고 etag 로 ETag 를 만듭니다.
+ * 트랜잭션 안에서 bump 하면 커밋 이후에 버전을 올려, 커밋 전 데이터가 새 ETag 로 캐시되지 않도록 합니다.
+ * 인스턴스 시작 시각을 섞어 재시작 전후/다른 인스턴스의 카운터 ETag 가 겹치지 않게 합니다.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String CYPHER_QUERY = "cypher-query";
+    public static final String SCENE = "scene";
+    public static final String STYLE = "style";
+    public static final String GRAPH_DATA = "graph-data";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(String resource) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(resource);
+                }
+            });
+        } else {
+            increment(resource);
+        }
+    }
+
+    public long version(String resource) {
+        AtomicLong version = versions.get(resource);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * 리소스 버전과 응답을 구분하는 값(쿼리 파라미터 등)으로 ETag 를 만듭니다.
+     */
+    public String etag(String resource, Object... qualifiers) {
+        StringBuilder source = new StringBuilder(resource)
+                .append(':').append(epoch)
+                .append(':').append(version(resource));
+        for (Object qualifier : qualifiers) {
+            source.append(':').append(qualifier);
+        }
+        return "\"" + CypherQueryUtil.hash(source.toString()) + "\"";
+    }
+
+    /**
+     * DB 에 저장된 테이블 상태와 응답을 구분하는 값으로 ETag 를 만듭니다. 인스턴스와 무관하게 같은 상태면 같은 값입니다.
+     */
+    public String persistedEtag(String resource, TableVersion tableVersion, Object... qualifiers) {
+        StringBuilder source = new StringBuilder(resource)
+                .append(':').append(tableVersion.getRowCount())
+                .append(':').append(tableVersion.getLastUpdated() == null ? "" : tableVersion.getLastUpdated().toInstant());
+        for (Object qualifier : qualifiers) {
+            source.append(':').append(qualifier);
+        }
+        return "\"" + CypherQueryUtil.hash(source.toString()) + "\"";
+    }
+
+    private void increment(String resource) {
+        versions.computeIfAbsent(resource, key -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,164 @@
+package com.empasy.graph.api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 저장된(사용자 작성) Cypher 쿼리 문자열을 다루는 유틸입니다.
+ */
+public final class CypherQueryUtil {
+
+    private static final Pattern RETURN_PATTERN = Pattern.compile("(?i)\\bRETURN\\b");
+    private static final Pattern RETURN_TAIL_PATTERN = Pattern.compile("(?is)\\s+(ORDER\\s+BY|SKIP|LIMIT)\\b.*");
+    private static final Pattern DISTINCT_PATTERN = Pattern.compile("(?i)^DISTINCT\\s+");
+    private static final Pattern ALIAS_PATTERN = Pattern.compile("(?i)\\s+AS\\s+");
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*|`[^`]+`");
+
+    private CypherQueryUtil() {
+    }
+
+    /**
+     * 저장된 쿼리를 서브쿼리로 감싸 반환되는 노드/릴레이션을 Neo4j 안에서 중복 제거 후 라벨/타입별로 집계하는 쿼리를 만듭니다.
+     * 결과 컬럼은 label, type('NODE' | 'REL'), cnt 입니다. 저장된 쿼리는 한 번만 실행하고, 행을 모으지 않고
+     * 요소 단위로 풀어 WITH DISTINCT 로 흘려보내므로 Neo4j 힙에는 중복 제거용 요소 집합만 남습니다.
+     * 컬럼 값이 리스트(노드/릴레이션/Path 가 섞인 리스트 포함)나 맵이면 안쪽 값을 꺼내며, 중첩은 두 단계까지만 풉니다.
+     * (예: [[a, r, b]] 는 집계하고 [[[a]]] 는 무시)
+     * RETURN 절의 컬럼을 식별할 수 없으면 null 을 반환합니다.
+     */
+    public static String buildElementCountQuery(String rawQuery) {
+        List<String> columns = extractReturnColumns(rawQuery);
+        if (columns == null || columns.isEmpty()) {
+            return null;
+        }
+
+        // 빈 맵을 덧붙여 목록의 정적 타입을 넓힌다 (컬럼이 모두 Path 이면 keys() 타입 검사에서 실패). 빈 맵은 풀면 아무것도 남지 않음
+        String values = "[" + String.join(", ", columns) + ", {}]";
+
+        return """
+                CALL {
+                    %1$s
+                }
+                UNWIND %2$s AS _v0
+                UNWIND %3$s AS _v1
+                UNWIND %4$s AS _v
+                UNWIND CASE
+                        WHEN _v IS :: PATH THEN nodes(_v) + relationships(_v)
+                        WHEN _v IS :: NODE OR _v IS :: RELATIONSHIP THEN [_v]
+                        ELSE [] END AS _e
+                WITH DISTINCT _e
+                WITH _e, _e IS :: NODE AS _isNode
+                RETURN CASE WHEN _isNode THEN coalesce(labels(_e)[0], 'Unknown') ELSE type(_e) END AS label,
+                       CASE WHEN _isNode THEN 'NODE' ELSE 'REL' END AS type,
+                       count(_e) AS cnt
+                """.formatted(stripTrailingSemicolon(rawQuery), values, unwrap("_v0"), unwrap("_v1"));
+    }
+
+    /**
+     * 리스트는 그대로, 맵은 값 목록으로, 그 밖의 값은 한 개짜리 리스트로 바꾸는 식입니다. (UNWIND 로 한 단계 풀 때 사용)
+     */
+    private static String unwrap(String variable) {
+        return "CASE WHEN %1$s IS :: LIST<ANY> THEN %1$s WHEN %1$s IS :: MAP THEN [_k IN keys(%1$s) | %1$s[_k]] ELSE [%1$s] END"
+                .formatted(variable);
+    }
+
+    /**
+     * RETURN 절을 해석할 수 없는 쿼리(RETURN * 등)를 최대 maxRows 행까지만 가져오도록 감쌉니다.
+     */
+    public static String buildBoundedQuery(String rawQuery, int maxRows) {
+        return """
+                CALL {
+                    %s
+                }
+                RETURN *
+                LIMIT %d
+                """.formatted(stripTrailingSemicolon(rawQuery), maxRows);
+    }
+
+    /**
+     * 마지막 RETURN 절의 컬럼명(별칭 또는 단순 변수명)을 추출합니다. 식별할 수 없는 컬럼이 있으면 null 을 반환합니다.
+     */
+    public static List<String> extractReturnColumns(String rawQuery) {
+        if (rawQuery == null) return null;
+
+        String query = stripTrailingSemicolon(rawQuery);
+        Matcher matcher = RETURN_PATTERN.matcher(query);
+        int returnEnd = -1;
+        while (matcher.find()) {
+            returnEnd = matcher.end();
+        }
+        if (returnEnd == -1) return null;
+
+        String returnBody = query.substring(returnEnd).trim();
+        returnBody = RETURN_TAIL_PATTERN.matcher(returnBody).replaceAll("").trim();
+        returnBody = DISTINCT_PATTERN.matcher(returnBody).replaceAll("").trim();
+        if (returnBody.isEmpty() || returnBody.equals("*")) return null;
+
+        List<String> columns = new ArrayList<>();
+        for (String item : splitTopLevel(returnBody)) {
+            String[] aliasSplit = ALIAS_PATTERN.split(item.trim());
+            String column = aliasSplit[aliasSplit.length - 1].trim();
+            if (!IDENTIFIER_PATTERN.matcher(column).matches()) {
+                return null;
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * 쿼리 본문의 SHA-256 해시(hex)를 반환합니다. 앞뒤 공백 차이는 같은 쿼리로 취급합니다.
+     */
+    public static String hash(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((query == null ? "" : query.trim()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String stripTrailingSemicolon(String query) {
+        String trimmed = query.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    private static List<String> splitTopLevel(String body) {
+        List<String> items = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+                continue;
+            }
+            switch (c) {
+                case '\'', '"', '`' -> quote = c;
+                case '(', '[', '{' -> depth++;
+                case ')', ']', '}' -> depth--;
+                case ',' -> {
+                    if (depth == 0) {
+                        items.add(body.substring(start, i));
+                        start = i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        items.add(body.substring(start));
+        return items;
+    }
+}
@@ -0,0 +1,91 @@
+package com.empasy.graph.api.util;
+
+import java.util.Arrays;
+
+/**
+ * 요청 단위로 elementId 문자열을 0부터 시작하는 연속된 int 핸들로 바꿉니다.
+ * 핸들을 얻은 뒤의 방문 여부/부가 정보는 BitSet, 배열처럼 int 인덱스 구조로 관리해 문자열 해싱/비교를 반복하지 않습니다.
+ * 노드와 릴레이션의 elementId 는 같은 문자열일 수 있으므로 종류별로 별도 인스턴스를 사용해야 합니다. (thread-safe 하지 않음)
+ */
+public final class ElementIdInterner {
+
+    private String[] ids;
+    private int[] slots; // handle + 1, 0 은 빈 슬롯
+    private int size;
+
+    public ElementIdInterner() {
+        this(64);
+    }
+
+    public ElementIdInterner(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.ids = new String[Math.max(16, expectedSize)];
+        this.slots = new int[capacity];
+    }
+
+    /**
+     * id 의 핸들을 반환합니다. 처음 보는 id 이면 새 핸들(현재 size)을 발급합니다.
+     */
+    public int intern(String id) {
+        int mask = slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) break;
+            if (ids[entry - 1].equals(id)) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+
+        int handle = size++;
+        if (handle == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[handle] = id;
+        slots[slot] = handle + 1;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return handle;
+    }
+
+    /**
+     * id 의 핸들을 반환합니다. 없으면 -1 을 반환합니다.
+     */
+    public int find(String id) {
+        if (id == null) return -1;
+        int mask = slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) return -1;
+            if (ids[entry - 1].equals(id)) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public String idOf(int handle) {
+        return ids[handle];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int handle = 0; handle < size; handle++) {
+            int slot = mix(ids[handle].hashCode()) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = handle + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
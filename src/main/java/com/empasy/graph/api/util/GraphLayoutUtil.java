@@ -0,0 +1,279 @@
+package com.empasy.graph.api.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Force-directed(Fruchterman-Reingold) 레이아웃 계산 유틸입니다.
+ * 반발력은 Barnes-Hut 쿼드트리로 근사하고, 노드 구간을 fork-join 으로 나누어 병렬 계산합니다.
+ * 좌표/쿼드트리는 모두 primitive 배열로 관리합니다.
+ */
+public final class GraphLayoutUtil {
+
+    private static final double IDEAL_EDGE_LENGTH = 100.0;
+    private static final double GRAVITY = 0.05;
+    private static final double MIN_DISTANCE_SQ = 0.01;
+    private static final int MAX_TREE_DEPTH = 48;
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private GraphLayoutUtil() {
+    }
+
+    /**
+     * 노드 좌표를 계산합니다.
+     *
+     * @param nodeCount   노드 수
+     * @param edgeSources 릴레이션의 시작 노드 인덱스
+     * @param edgeTargets 릴레이션의 끝 노드 인덱스
+     * @param initialX    초기 x 좌표 (null 가능, 값이 NaN 인 노드는 임의 배치)
+     * @param initialY    초기 y 좌표
+     * @param iterations  반복 횟수
+     * @param theta       Barnes-Hut 근사 기준 (클수록 빠르고 부정확)
+     * @return {x[], y[]}
+     */
+    public static double[][] computeLayout(int nodeCount, int[] edgeSources, int[] edgeTargets,
+                                           double[] initialX, double[] initialY, int iterations, double theta) {
+        double[] x = new double[nodeCount];
+        double[] y = new double[nodeCount];
+        if (nodeCount == 0) {
+            return new double[][]{x, y};
+        }
+
+        double k = IDEAL_EDGE_LENGTH;
+        double radius = Math.sqrt(nodeCount) * k;
+        Random random = new Random(42);
+        for (int i = 0; i < nodeCount; i++) {
+            boolean preset = initialX != null && !Double.isNaN(initialX[i]) && !Double.isNaN(initialY[i]);
+            // 같은 좌표에 겹친 노드는 힘의 방향이 없으므로 아주 작은 흔들림을 준다
+            x[i] = preset ? initialX[i] + (random.nextDouble() - 0.5) : (random.nextDouble() - 0.5) * radius;
+            y[i] = preset ? initialY[i] + (random.nextDouble() - 0.5) : (random.nextDouble() - 0.5) * radius;
+        }
+
+        double[] dispX = new double[nodeCount];
+        double[] dispY = new double[nodeCount];
+        QuadTree tree = new QuadTree(nodeCount);
+        double temperature = radius / 10;
+        double cooling = temperature / (iterations + 1);
+
+        for (int iter = 0; iter < iterations; iter++) {
+            Arrays.fill(dispX, 0);
+            Arrays.fill(dispY, 0);
+
+            tree.build(x, y);
+            ForkJoinPool.commonPool().invoke(new RepulsionTask(tree, x, y, dispX, dispY, k * k, theta * theta, 0, nodeCount));
+
+            for (int e = 0; e < edgeSources.length; e++) {
+                int u = edgeSources[e];
+                int v = edgeTargets[e];
+                if (u == v) continue;
+
+                double dx = x[u] - x[v];
+                double dy = y[u] - y[v];
+                double dist = Math.sqrt(Math.max(dx * dx + dy * dy, MIN_DISTANCE_SQ));
+                double force = dist / k; // (dist^2 / k) / dist
+                dispX[u] -= dx * force;
+                dispY[u] -= dy * force;
+                dispX[v] += dx * force;
+                dispY[v] += dy * force;
+            }
+
+            for (int i = 0; i < nodeCount; i++) {
+                dispX[i] -= x[i] * GRAVITY;
+                dispY[i] -= y[i] * GRAVITY;
+
+                double length = Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+                if (length > 0) {
+                    double step = Math.min(length, temperature);
+                    x[i] += dispX[i] / length * step;
+                    y[i] += dispY[i] / length * step;
+                }
+            }
+            temperature -= cooling;
+        }
+
+        return new double[][]{x, y};
+    }
+
+    /**
+     * 노드 구간 [from, to) 의 반발력을 쿼드트리로 근사 계산합니다. 각 노드의 dispX/dispY 는 해당 구간의 작업만 기록합니다.
+     */
+    private static final class RepulsionTask extends RecursiveAction {
+        private final QuadTree tree;
+        private final double[] x, y, dispX, dispY;
+        private final double kSquared, thetaSquared;
+        private final int from, to;
+
+        private RepulsionTask(QuadTree tree, double[] x, double[] y, double[] dispX, double[] dispY,
+                              double kSquared, double thetaSquared, int from, int to) {
+            this.tree = tree;
+            this.x = x;
+            this.y = y;
+            this.dispX = dispX;
+            this.dispY = dispY;
+            this.kSquared = kSquared;
+            this.thetaSquared = thetaSquared;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RepulsionTask(tree, x, y, dispX, dispY, kSquared, thetaSquared, from, mid),
+                        new RepulsionTask(tree, x, y, dispX, dispY, kSquared, thetaSquared, mid, to));
+                return;
+            }
+
+            int[] stack = new int[MAX_TREE_DEPTH * 4 + 4];
+            for (int i = from; i < to; i++) {
+                double fx = 0;
+                double fy = 0;
+                int top = 0;
+                stack[top++] = 0;
+
+                while (top > 0) {
+                    int cell = stack[--top];
+                    double mass = tree.mass[cell];
+                    if (mass == 0) continue;
+                    if (tree.body[cell] == i) continue;
+
+                    double dx = x[i] - tree.centerX[cell] / mass;
+                    double dy = y[i] - tree.centerY[cell] / mass;
+                    double distSq = Math.max(dx * dx + dy * dy, MIN_DISTANCE_SQ);
+                    double size = tree.size[cell];
+
+                    if (tree.isLeaf(cell) || size * size < thetaSquared * distSq) {
+                        double force = kSquared * mass / distSq; // (k^2 / dist) / dist
+                        fx += dx * force;
+                        fy += dy * force;
+                    } else {
+                        for (int q = 0; q < 4; q++) {
+                            int child = tree.children[cell * 4 + q];
+                            if (child >= 0) stack[top++] = child;
+                        }
+                    }
+                }
+                dispX[i] += fx;
+                dispY[i] += fy;
+            }
+        }
+    }
+
+    /**
+     * 배열 기반 쿼드트리입니다. centerX/centerY 는 질량 가중 합(나누기 전)을 보관합니다.
+     * body: 단일 노드 리프는 노드 인덱스, 비어 있거나 내부 셀은 -1, 같은 좌표가 겹친 리프는 -2
+     */
+    private static final class QuadTree {
+        private int capacity;
+        private int count;
+        private double[] minX, minY, size, centerX, centerY, mass;
+        private int[] body, children;
+
+        private QuadTree(int nodeCount) {
+            allocate(Math.max(16, nodeCount * 4));
+        }
+
+        private void allocate(int newCapacity) {
+            capacity = newCapacity;
+            minX = minX == null ? new double[capacity] : Arrays.copyOf(minX, capacity);
+            minY = minY == null ? new double[capacity] : Arrays.copyOf(minY, capacity);
+            size = size == null ? new double[capacity] : Arrays.copyOf(size, capacity);
+            centerX = centerX == null ? new double[capacity] : Arrays.copyOf(centerX, capacity);
+            centerY = centerY == null ? new double[capacity] : Arrays.copyOf(centerY, capacity);
+            mass = mass == null ? new double[capacity] : Arrays.copyOf(mass, capacity);
+            body = body == null ? new int[capacity] : Arrays.copyOf(body, capacity);
+            children = children == null ? new int[capacity * 4] : Arrays.copyOf(children, capacity * 4);
+        }
+
+        private boolean isLeaf(int cell) {
+            return body[cell] != -1;
+        }
+
+        private int newCell(double cellMinX, double cellMinY, double cellSize) {
+            if (count == capacity) {
+                allocate(capacity * 2);
+            }
+            int cell = count++;
+            minX[cell] = cellMinX;
+            minY[cell] = cellMinY;
+            size[cell] = cellSize;
+            centerX[cell] = 0;
+            centerY[cell] = 0;
+            mass[cell] = 0;
+            body[cell] = -1;
+            Arrays.fill(children, cell * 4, cell * 4 + 4, -1);
+            return cell;
+        }
+
+        private void build(double[] x, double[] y) {
+            double lowX = Double.MAX_VALUE, lowY = Double.MAX_VALUE;
+            double highX = -Double.MAX_VALUE, highY = -Double.MAX_VALUE;
+            for (int i = 0; i < x.length; i++) {
+                lowX = Math.min(lowX, x[i]);
+                lowY = Math.min(lowY, y[i]);
+                highX = Math.max(highX, x[i]);
+                highY = Math.max(highY, y[i]);
+            }
+
+            count = 0;
+            newCell(lowX, lowY, Math.max(Math.max(highX - lowX, highY - lowY), 1.0) * 1.0001);
+            for (int i = 0; i < x.length; i++) {
+                insert(i, x[i], y[i]);
+            }
+        }
+
+        private void insert(int index, double px, double py) {
+            int cell = 0;
+            for (int depth = 0; ; depth++) {
+                if (mass[cell] == 0) {
+                    // 빈 셀: 노드를 그대로 둔다
+                    body[cell] = index;
+                    addMass(cell, px, py);
+                    return;
+                }
+
+                if (isLeaf(cell)) {
+                    if (depth >= MAX_TREE_DEPTH || body[cell] == -2) {
+                        // 좌표가 사실상 같은 노드들: 더 나누지 않고 질량만 합친다
+                        body[cell] = -2;
+                        addMass(cell, px, py);
+                        return;
+                    }
+                    // 기존 노드를 자식 셀로 내린다
+                    int existing = body[cell];
+                    body[cell] = -1;
+                    int child = childFor(cell, centerX[cell], centerY[cell]);
+                    body[child] = existing;
+                    centerX[child] = centerX[cell];
+                    centerY[child] = centerY[cell];
+                    mass[child] = mass[cell];
+                }
+
+                addMass(cell, px, py);
+                cell = childFor(cell, px, py);
+            }
+        }
+
+        private void addMass(int cell, double px, double py) {
+            centerX[cell] += px;
+            centerY[cell] += py;
+            mass[cell] += 1;
+        }
+
+        private int childFor(int cell, double px, double py) {
+            double half = size[cell] / 2;
+            int quadrant = (px >= minX[cell] + half ? 1 : 0) + (py >= minY[cell] + half ? 2 : 0);
+            int child = children[cell * 4 + quadrant];
+            if (child < 0) {
+                double childMinX = minX[cell] + ((quadrant & 1) == 1 ? half : 0);
+                double childMinY = minY[cell] + ((quadrant & 2) == 2 ? half : 0);
+                child = newCell(childMinX, childMinY, half);
+                children[cell * 4 + quadrant] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.empasy.graph.api.util;
+
+import com.empasy.graph.api.dto.GraphDetailDto;
+import com.empasy.graph.api.dto.GraphSearchResponseDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 여러 요청이 공유하는 결과(요청 합치기 등)를 각 요청에 넘기기 전에 복사합니다.
+ * 노드/릴레이션 맵은 이후 단계(레이아웃 적용 등)에서 수정될 수 있으므로 중첩된 Map/List 까지 복사합니다.
+ */
+public final class GraphResultCopyUtil {
+
+    private GraphResultCopyUtil() {
+    }
+
+    public static GraphDetailDto copy(GraphDetailDto source) {
+        if (source == null) {
+            return null;
+        }
+        return source.toBuilder()
+                .centerNode(deepCopy(source.getCenterNode()))
+                .nodes(deepCopy(source.getNodes()))
+                .relationships(deepCopy(source.getRelationships()))
+                .nodeCount(deepCopy(source.getNodeCount()))
+                .relationCount(deepCopy(source.getRelationCount()))
+                .build();
+    }
+
+    public static GraphSearchResponseDto copy(GraphSearchResponseDto source) {
+        if (source == null) {
+            return null;
+        }
+        return source.toBuilder()
+                .nodes(deepCopy(source.getNodes()))
+                .relationships(deepCopy(source.getRelationships()))
+                .nodeStyles(deepCopy(source.getNodeStyles()))
+                .relationshipStyles(deepCopy(source.getRelationshipStyles()))
+                .nodeCount(deepCopy(source.getNodeCount()))
+                .relationCount(deepCopy(source.getRelationCount()))
+                .build();
+    }
+
+    /**
+     * Map/List/Set 은 새 컬렉션으로 재귀 복사하고, 그 밖의 값(문자열, 숫자, 드라이버 값 등 불변 값)은 그대로 둡니다.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deepCopy(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copied = new LinkedHashMap<>(Math.max(16, map.size() * 4 / 3 + 1));
+            map.forEach((key, item) -> copied.put(key, deepCopy(item)));
+            return (T) copied;
+        }
+        if (value instanceof Set<?> set) {
+            Set<Object> copied = new LinkedHashSet<>(Math.max(16, set.size() * 4 / 3 + 1));
+            set.forEach(item -> copied.add(deepCopy(item)));
+            return (T) copied;
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> copied = new ArrayList<>(collection.size());
+            collection.forEach(item -> copied.add(deepCopy(item)));
+            return (T) copied;
+        }
+        return value;
+    }
+}
@@ -2,6 +2,7 @@ package com.empasy.graph.api.util;
 
 import com.empasy.graph.api.entity.GraphStyle;
 import com.empasy.graph.api.repository.GraphStyleRepository;
+import com.empasy.graph.api.support.RequestTimings;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -26,7 +27,10 @@ public class GraphUtil {
         }
 
          
-        Optional<GraphStyle> styleOpt = graphStyleRepository.findByLabelAndElementType(label, elementType);
+        Optional<GraphStyle> styleOpt;
+        try (RequestTimings.Phase phase = RequestTimings.start("style")) {
+            styleOpt = graphStyleRepository.findByLabelAndElementType(label, elementType);
+        }
         Map<String, Object> result = styleOpt.map(GraphStyle::getStyleConfig).orElse(null);
 
          
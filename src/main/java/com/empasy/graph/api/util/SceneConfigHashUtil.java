@@ -0,0 +1,61 @@
+package com.empasy.graph.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 씬 설정(sceneConfig) JSON 의 SHA-256 해시입니다. 맵 키를 정렬해 직렬화하므로 내용이 같으면 항상 같은 값입니다.
+ * 카운트/레이아웃을 어떤 설정으로 계산했는지 기록하고, 저장 시 설정이 그사이 바뀌었는지 확인하는 데 사용합니다.
+ */
+public final class SceneConfigHashUtil {
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private static final List<String> BLOCK_FIELDS = List.of("type", "label", "direction", "properties", "savedQueryContent");
+
+    private SceneConfigHashUtil() {
+    }
+
+    public static String hash(Map<String, Object> sceneConfig) {
+        try {
+            byte[] json = CANONICAL_MAPPER.writeValueAsBytes(sceneConfig == null ? Map.of() : sceneConfig);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Cannot hash scene config", e);
+        }
+    }
+
+    /**
+     * 검색 블록(요청의 cyphers 또는 sceneConfig 의 cypherBlocks)의 해시입니다.
+     * 화면에서 덧붙인 필드는 무시하고 검색에 쓰이는 type, label, direction, properties, savedQueryContent 만 비교합니다.
+     */
+    public static String blocksHash(List<?> blocks) {
+        List<Map<String, Object>> normalized = new ArrayList<>();
+        if (blocks != null) {
+            for (Object block : blocks) {
+                Map<String, Object> source = CANONICAL_MAPPER.convertValue(block, new TypeReference<Map<String, Object>>() {});
+                Map<String, Object> projected = new HashMap<>();
+                for (String field : BLOCK_FIELDS) {
+                    Object value = source == null ? null : source.get(field);
+                    if (value != null) {
+                        projected.put(field, value);
+                    }
+                }
+                normalized.add(projected);
+            }
+        }
+        return hash(Map.of("cypherBlocks", normalized));
+    }
+}
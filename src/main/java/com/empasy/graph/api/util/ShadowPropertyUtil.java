@@ -0,0 +1,62 @@
+package com.empasy.graph.api.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 대소문자 무시 검색용 섀도 프로퍼티(_ci_&lt;프로퍼티&gt; = 소문자 값) 유틸입니다.
+ * 노드 쓰기 시 문자열 프로퍼티마다 섀도 값을 함께 저장하고, 응답에서는 섀도 프로퍼티를 숨깁니다.
+ * 섀도 프로퍼티에 인덱스가 있으면 toLower(n.prop) 대신 n._ci_prop 으로 비교해 인덱스를 사용할 수 있습니다.
+ */
+public final class ShadowPropertyUtil {
+
+    public static final String PREFIX = "_ci_";
+
+    private ShadowPropertyUtil() {
+    }
+
+    public static boolean isShadow(String key) {
+        return key != null && key.startsWith(PREFIX);
+    }
+
+    public static String shadowOf(String key) {
+        return PREFIX + key;
+    }
+
+    public static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 쓰기용 프로퍼티에 섀도 값을 더한 복사본을 반환합니다. 요청에 섞여 온 섀도 키는 버리고,
+     * 문자열이 아닌 값(null 포함)으로 바뀐 프로퍼티의 섀도는 null 로 지정해 SET += 시 제거되게 합니다.
+     */
+    public static Map<String, Object> withShadows(Map<String, Object> properties) {
+        if (properties == null) return null;
+
+        Map<String, Object> result = new HashMap<>(properties.size() * 2);
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            String key = entry.getKey();
+            if (isShadow(key)) continue;
+
+            Object value = entry.getValue();
+            result.put(key, value);
+            result.put(shadowOf(key), value instanceof String text ? normalize(text) : null);
+        }
+        return result;
+    }
+
+    /**
+     * 섀도 프로퍼티를 뺀 맵을 반환합니다. 섀도 프로퍼티가 없으면 원본을 그대로 반환합니다.
+     */
+    public static Map<String, Object> strip(Map<String, Object> properties) {
+        if (properties == null || properties.keySet().stream().noneMatch(ShadowPropertyUtil::isShadow)) {
+            return properties;
+        }
+
+        Map<String, Object> result = new HashMap<>(properties);
+        result.keySet().removeIf(ShadowPropertyUtil::isShadow);
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.empasy.graph.planregression;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * 실행 계획 회귀 검사용으로 Driver 를 감싸, Session / Transaction 의 run 호출을 CypherStatementCapture 에 기록합니다.
+ * 모든 호출이 프록시를 거치므로 애플리케이션에는 포함하지 않고, 회귀 검사 하네스(GraphPlanRegressionTest)가 기동할 때만 소스로 추가합니다.
+ */
+@Configuration
+class CypherCaptureConfig {
+
+    @Bean
+    public static BeanPostProcessor cypherCaptureDriverPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof Driver driver ? wrap(driver, Driver.class) : bean;
+            }
+        };
+    }
+
+    private static <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("run".equals(method.getName()) && args != null && args.length > 0 && CypherStatementCapture.isActive()) {
+                CypherStatementCapture.record(toQuery(args));
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Transaction transaction) {
+                return wrap(transaction, Transaction.class);
+            }
+            if (result instanceof Session session && method.getReturnType().isAssignableFrom(Session.class)) {
+                return wrap(session, Session.class);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Query toQuery(Object[] args) {
+        if (args[0] instanceof Query query) {
+            return query;
+        }
+        String text = (String) args[0];
+        Object parameters = args.length > 1 ? args[1] : null;
+        if (parameters instanceof Value value) return new Query(text, value);
+        if (parameters instanceof Map<?, ?> map) return new Query(text, (Map<String, Object>) map);
+        if (parameters instanceof Record record) return new Query(text, record.asMap());
+        // run(String) / run(String, TransactionConfig)
+        return new Query(text);
+    }
+}
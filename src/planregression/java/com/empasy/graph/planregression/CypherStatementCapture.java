@@ -0,0 +1,47 @@
+package com.empasy.graph.planregression;
+
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 현재 스레드에서 드라이버로 실행되는 Cypher 문과 파라미터를 기록합니다.
+ * 실행 계획 회귀 검사(PlanRegressionChecker)가 서비스가 실제로 만든 쿼리를 PROFILE 하는 데 사용하며,
+ * 드라이버 래핑(CypherCaptureConfig)은 회귀 검사 하네스에서만 등록됩니다.
+ */
+final class CypherStatementCapture {
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    private CypherStatementCapture() {
+    }
+
+    static void begin() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * 기록을 끝내고 begin 이후 실행된 문장을 실행 순서대로 반환합니다.
+     */
+    static List<CapturedStatement> end() {
+        List<CapturedStatement> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    static boolean isActive() {
+        return CAPTURED.get() != null;
+    }
+
+    static void record(Query query) {
+        List<CapturedStatement> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(new CapturedStatement(query.text(), query.parameters()));
+        }
+    }
+
+    record CapturedStatement(String text, Value parameters) {
+    }
+}
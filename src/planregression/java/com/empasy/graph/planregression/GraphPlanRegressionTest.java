@@ -0,0 +1,228 @@
+package com.empasy.graph.planregression;
+
+import com.empasy.graph.api.EmpasyGraphApiApplication;
+import com.empasy.graph.planregression.PlanRegressionChecker.CatalogEntry;
+import com.empasy.graph.planregression.PlanRegressionChecker.EntryResult;
+import com.empasy.graph.planregression.PlanRegressionChecker.StatementProfile;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 실행 계획 회귀 검사 하네스입니다. in-process Neo4j 에 고정 픽스처(movies 예제 일부 + 결정적 합성 데이터)를 적재하고
+ * MariaDB 모드 H2 로 애플리케이션을 띄운 뒤, 카탈로그(plan-regression/catalog.json)의 대표 요청이 만든 Cypher 문을 PROFILE 해
+ * 기준선(plan-regression/baseline.json)과 비교합니다. REGRESSED / NO_BASELINE / ERROR 가 하나라도 있으면 종료 코드 1 로 끝나 빌드가 실패합니다.
+ * <p>
+ * 실행: mvn -Pplan-regression verify
+ * <br>기준선 갱신: mvn -Pplan-regression verify -Dplanregression.args="-Dplanregression.update=true" (의도한 계획 변경일 때만 커밋)
+ * <ul>
+ *     <li>planregression.update: 검사 대신 baseline.json 을 이번 결과로 다시 쓴다 (기본 false)</li>
+ *     <li>planregression.baseline-file: 갱신할 기준선 파일 경로 (기본 src/planregression/resources/plan-regression/baseline.json)</li>
+ *     <li>planregression.db-hits-tolerance / planregression.db-hits-slack: DB hits 허용 증가율 / 절대 허용치 (기본 0.2 / 100)</li>
+ *     <li>planregression.entries: 검사할 카탈로그 항목 이름 (쉼표 구분, 기본 전체)</li>
+ * </ul>
+ */
+public final class GraphPlanRegressionTest {
+
+    private static final String CATALOG = "plan-regression/catalog.json";
+    private static final String BASELINE = "plan-regression/baseline.json";
+
+    private GraphPlanRegressionTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean update = Boolean.getBoolean("planregression.update");
+        Path baselineFile = Path.of(System.getProperty("planregression.baseline-file",
+                "src/planregression/resources/" + BASELINE));
+        double tolerance = Double.parseDouble(System.getProperty("planregression.db-hits-tolerance", "0.2"));
+        long slack = Long.getLong("planregression.db-hits-slack", 100);
+        Set<String> selected = parseNames(System.getProperty("planregression.entries", ""));
+
+        boolean passed;
+        try (Neo4j neo4j = Neo4jBuilders.newInProcessBuilder()
+                .withDisabledServer()
+                .withFixture(db -> {
+                    fixture().forEach(db::executeTransactionally);
+                    return null;
+                })
+                .build()) {
+
+            SpringApplication application = new SpringApplication(EmpasyGraphApiApplication.class, CypherCaptureConfig.class);
+            application.setAdditionalProfiles("planregression");
+            try (ConfigurableApplicationContext context = application.run(
+                    "--spring.neo4j.uri=" + neo4j.boltURI(),
+                    "--server.port=0")) {
+
+                ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+                List<CatalogEntry> catalog = read(objectMapper, CATALOG, new TypeReference<List<CatalogEntry>>() {});
+                Map<String, List<StatementProfile>> baseline = update ? Map.of()
+                        : read(objectMapper, BASELINE, new TypeReference<Map<String, List<StatementProfile>>>() {});
+
+                PlanRegressionChecker checker = new PlanRegressionChecker(context, tolerance, slack, Duration.ofSeconds(30));
+                List<EntryResult> results = new ArrayList<>();
+                for (CatalogEntry entry : catalog) {
+                    if (selected.isEmpty() || selected.contains(entry.name())) {
+                        results.add(checker.check(entry, baseline.get(entry.name())));
+                    }
+                }
+                print(results);
+
+                if (update) {
+                    passed = writeBaseline(objectMapper, baselineFile, results);
+                } else {
+                    passed = !results.isEmpty() && results.stream().allMatch(result -> "PASS".equals(result.status()));
+                    System.out.println(passed ? "Plan regression check passed." : "Plan regression check FAILED.");
+                }
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * 검사 결과의 PROFILE 을 기준선 파일로 저장합니다. ERROR 항목이 있으면 저장하지 않습니다.
+     */
+    private static boolean writeBaseline(ObjectMapper objectMapper, Path file, List<EntryResult> results) throws IOException {
+        if (results.stream().anyMatch(result -> "ERROR".equals(result.status()))) {
+            System.out.println("Baseline not written: some entries failed.");
+            return false;
+        }
+        Map<String, List<StatementProfile>> baseline = new LinkedHashMap<>();
+        results.forEach(result -> baseline.put(result.name(), result.profiles()));
+        Files.writeString(file, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(baseline) + System.lineSeparator());
+        System.out.printf("Baseline written: %s (%d entries)%n", file.toAbsolutePath(), baseline.size());
+        return true;
+    }
+
+    /**
+     * Neo4j movies 예제 일부(Matrix 3부작, Tom Hanks 출연작)와 계획이 소량 데이터용으로 바뀌지 않도록 넣는 결정적 합성 노드입니다.
+     * 문장마다 별도 트랜잭션으로 실행하고, 인덱스는 데이터보다 먼저 만들어 통계가 항상 같게 합니다.
+     */
+    private static List<String> fixture() {
+        return List.of(
+                "CREATE INDEX person_name IF NOT EXISTS FOR (p:Person) ON (p.name)",
+                "CREATE INDEX movie_title IF NOT EXISTS FOR (m:Movie) ON (m.title)",
+                "CALL db.awaitIndexes(60)",
+                """
+                UNWIND [
+                  {title: 'The Matrix', released: 1999, tagline: 'Welcome to the Real World'},
+                  {title: 'The Matrix Reloaded', released: 2003, tagline: 'Free your mind'},
+                  {title: 'The Matrix Revolutions', released: 2003, tagline: 'Everything that has a beginning has an end'},
+                  {title: 'The Devil\\'s Advocate', released: 1997, tagline: 'Evil has its winning ways'},
+                  {title: 'Sleepless in Seattle', released: 1993, tagline: 'What if someone you never met, someone you never saw, someone you never knew was the only someone for you?'},
+                  {title: 'You\\'ve Got Mail', released: 1998, tagline: 'At odds in life... in love on-line.'},
+                  {title: 'Apollo 13', released: 1995, tagline: 'Houston, we have a problem.'},
+                  {title: 'Cast Away', released: 2000, tagline: 'At the edge of the world, his journey begins.'},
+                  {title: 'The Green Mile', released: 1999, tagline: 'Walk a mile you\\'ll never forget.'},
+                  {title: 'The Da Vinci Code', released: 2006, tagline: 'Break The Codes'},
+                  {title: 'Cloud Atlas', released: 2012, tagline: 'Everything is connected'},
+                  {title: 'The Polar Express', released: 2004, tagline: 'This Holiday Season... Believe'}
+                ] AS movie
+                CREATE (:Movie {title: movie.title, released: movie.released, tagline: movie.tagline})
+                """,
+                """
+                UNWIND [
+                  {name: 'Keanu Reeves', born: 1964}, {name: 'Carrie-Anne Moss', born: 1967},
+                  {name: 'Laurence Fishburne', born: 1961}, {name: 'Hugo Weaving', born: 1960},
+                  {name: 'Lilly Wachowski', born: 1967}, {name: 'Lana Wachowski', born: 1965},
+                  {name: 'Al Pacino', born: 1940}, {name: 'Taylor Hackford', born: 1944},
+                  {name: 'Tom Hanks', born: 1956}, {name: 'Meg Ryan', born: 1961},
+                  {name: 'Nora Ephron', born: 1941}, {name: 'Kevin Bacon', born: 1958},
+                  {name: 'Ron Howard', born: 1954}, {name: 'Helen Hunt', born: 1963},
+                  {name: 'Robert Zemeckis', born: 1951}, {name: 'Michael Clarke Duncan', born: 1957},
+                  {name: 'Frank Darabont', born: 1959}, {name: 'Halle Berry', born: 1966},
+                  {name: 'Tom Tykwer', born: 1965}
+                ] AS person
+                CREATE (:Person {name: person.name, born: person.born})
+                """,
+                """
+                UNWIND [
+                  ['Keanu Reeves', 'The Matrix', 'Neo'], ['Carrie-Anne Moss', 'The Matrix', 'Trinity'],
+                  ['Laurence Fishburne', 'The Matrix', 'Morpheus'], ['Hugo Weaving', 'The Matrix', 'Agent Smith'],
+                  ['Keanu Reeves', 'The Matrix Reloaded', 'Neo'], ['Carrie-Anne Moss', 'The Matrix Reloaded', 'Trinity'],
+                  ['Laurence Fishburne', 'The Matrix Reloaded', 'Morpheus'], ['Hugo Weaving', 'The Matrix Reloaded', 'Agent Smith'],
+                  ['Keanu Reeves', 'The Matrix Revolutions', 'Neo'], ['Carrie-Anne Moss', 'The Matrix Revolutions', 'Trinity'],
+                  ['Laurence Fishburne', 'The Matrix Revolutions', 'Morpheus'], ['Hugo Weaving', 'The Matrix Revolutions', 'Agent Smith'],
+                  ['Keanu Reeves', 'The Devil\\'s Advocate', 'Kevin Lomax'], ['Al Pacino', 'The Devil\\'s Advocate', 'John Milton'],
+                  ['Tom Hanks', 'Sleepless in Seattle', 'Sam Baldwin'], ['Meg Ryan', 'Sleepless in Seattle', 'Annie Reed'],
+                  ['Tom Hanks', 'You\\'ve Got Mail', 'Joe Fox'], ['Meg Ryan', 'You\\'ve Got Mail', 'Kathleen Kelly'],
+                  ['Tom Hanks', 'Apollo 13', 'Jim Lovell'], ['Kevin Bacon', 'Apollo 13', 'Jack Swigert'],
+                  ['Tom Hanks', 'Cast Away', 'Chuck Noland'], ['Helen Hunt', 'Cast Away', 'Kelly Frears'],
+                  ['Tom Hanks', 'The Green Mile', 'Paul Edgecomb'], ['Michael Clarke Duncan', 'The Green Mile', 'John Coffey'],
+                  ['Tom Hanks', 'The Da Vinci Code', 'Dr. Robert Langdon'], ['Tom Hanks', 'Cloud Atlas', 'Zachry'],
+                  ['Halle Berry', 'Cloud Atlas', 'Luisa Rey'], ['Hugo Weaving', 'Cloud Atlas', 'Bill Smoke'],
+                  ['Tom Hanks', 'The Polar Express', 'Hero Boy']
+                ] AS role
+                MATCH (p:Person {name: role[0]}), (m:Movie {title: role[1]})
+                CREATE (p)-[:ACTED_IN {roles: [role[2]]}]->(m)
+                """,
+                """
+                UNWIND [
+                  ['Lilly Wachowski', 'The Matrix'], ['Lana Wachowski', 'The Matrix'],
+                  ['Lilly Wachowski', 'The Matrix Reloaded'], ['Lana Wachowski', 'The Matrix Reloaded'],
+                  ['Lilly Wachowski', 'The Matrix Revolutions'], ['Lana Wachowski', 'The Matrix Revolutions'],
+                  ['Taylor Hackford', 'The Devil\\'s Advocate'], ['Nora Ephron', 'Sleepless in Seattle'],
+                  ['Nora Ephron', 'You\\'ve Got Mail'], ['Ron Howard', 'Apollo 13'], ['Robert Zemeckis', 'Cast Away'],
+                  ['Frank Darabont', 'The Green Mile'], ['Ron Howard', 'The Da Vinci Code'],
+                  ['Tom Tykwer', 'Cloud Atlas'], ['Lana Wachowski', 'Cloud Atlas'], ['Robert Zemeckis', 'The Polar Express']
+                ] AS credit
+                MATCH (p:Person {name: credit[0]}), (m:Movie {title: credit[1]})
+                CREATE (p)-[:DIRECTED]->(m)
+                """,
+                """
+                UNWIND range(0, 1999) AS i
+                CREATE (:Person {name: 'person-' + i, born: 1940 + i % 70})
+                """,
+                """
+                UNWIND range(0, 499) AS i
+                CREATE (:Movie {title: 'movie-' + i, released: 1970 + i % 55, tagline: 'tagline of movie ' + i})
+                """,
+                """
+                MATCH (p:Person) WHERE p.name STARTS WITH 'person-'
+                WITH p, toInteger(substring(p.name, 7)) AS i
+                MATCH (m:Movie {title: 'movie-' + ((i * 7) % 500)})
+                CREATE (p)-[:ACTED_IN {roles: ['role-' + i]}]->(m)
+                """,
+                """
+                MATCH (p:Person) WHERE p.name STARTS WITH 'person-'
+                WITH p, toInteger(substring(p.name, 7)) AS i
+                WHERE i % 10 = 0
+                MATCH (m:Movie {title: 'movie-' + (i / 10 % 500)})
+                CREATE (p)-[:DIRECTED]->(m)
+                """);
+    }
+
+    private static <T> T read(ObjectMapper objectMapper, String resource, TypeReference<T> type) throws IOException {
+        try (InputStream input = GraphPlanRegressionTest.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Plan regression resource not found: " + resource);
+            }
+            return objectMapper.readValue(input, type);
+        }
+    }
+
+    private static Set<String> parseNames(String value) {
+        Set<String> names = new HashSet<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) names.add(name.trim());
+        }
+        return names;
+    }
+
+    private static void print(List<EntryResult> results) {
+        System.out.printf("%n%-34s %-12s %10s  %s%n", "entry", "status", "db hits", "messages");
+        for (EntryResult result : results) {
+            long dbHits = result.profiles().stream().mapToLong(StatementProfile::dbHits).sum();
+            System.out.printf("%-34s %-12s %10d  %s%n", result.name(), result.status(), dbHits, String.join(" / ", result.messages()));
+        }
+    }
+}
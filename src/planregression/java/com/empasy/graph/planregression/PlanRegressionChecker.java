@@ -0,0 +1,226 @@
+package com.empasy.graph.planregression;
+
+import com.empasy.graph.api.dto.GraphExpansionCriteriaDto;
+import com.empasy.graph.api.dto.GraphLabelNodesRequestDto;
+import com.empasy.graph.api.dto.GraphMultiHopRequestDto;
+import com.empasy.graph.api.dto.GraphSearchRequestDto;
+import com.empasy.graph.api.repository.GenericNodeRepository;
+import com.empasy.graph.api.service.GenericNodeService;
+import com.empasy.graph.api.service.GraphCommonService;
+import com.empasy.graph.api.service.GraphSearchService;
+import com.empasy.graph.planregression.CypherStatementCapture.CapturedStatement;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 카탈로그의 대표 요청을 실제 서비스로 실행하면서 드라이버로 나간 Cypher 문을 기록하고, 각 문장을 PROFILE 해 기준선과 비교합니다.
+ * 문장 수나 연산자 구성(깊이, 연산자 이름)이 바뀌거나 DB hits 가 허용 범위를 넘어 늘면 REGRESSED, 기준선이 없으면 NO_BASELINE 입니다.
+ */
+final class PlanRegressionChecker {
+
+    private final GraphSearchService graphSearchService;
+    private final GraphCommonService graphCommonService;
+    private final GenericNodeService genericNodeService;
+    private final GenericNodeRepository genericNodeRepository;
+    private final Driver driver;
+    private final ObjectMapper objectMapper;
+    private final double dbHitsTolerance;
+    private final long dbHitsSlack;
+    private final Duration timeout;
+
+    PlanRegressionChecker(ConfigurableApplicationContext context, double dbHitsTolerance, long dbHitsSlack, Duration timeout) {
+        this.graphSearchService = context.getBean(GraphSearchService.class);
+        this.graphCommonService = context.getBean(GraphCommonService.class);
+        this.genericNodeService = context.getBean(GenericNodeService.class);
+        this.genericNodeRepository = context.getBean(GenericNodeRepository.class);
+        this.driver = context.getBean(Driver.class);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.dbHitsTolerance = dbHitsTolerance;
+        this.dbHitsSlack = dbHitsSlack;
+        this.timeout = timeout;
+    }
+
+    EntryResult check(CatalogEntry entry, List<StatementProfile> expected) {
+        List<String> messages = new ArrayList<>();
+        List<StatementProfile> profiles = new ArrayList<>();
+        try {
+            for (CapturedStatement statement : capture(entry)) {
+                profiles.add(profile(statement));
+            }
+        } catch (RuntimeException e) {
+            return new EntryResult(entry.name(), "ERROR", List.of(String.valueOf(e.getMessage())), profiles);
+        }
+
+        if (expected == null) {
+            messages.add("No baseline for this entry. Run with -Dplanregression.update=true to record it.");
+            return new EntryResult(entry.name(), "NO_BASELINE", messages, profiles);
+        }
+        if (expected.size() != profiles.size()) {
+            messages.add("Statement count changed: %d -> %d".formatted(expected.size(), profiles.size()));
+            return new EntryResult(entry.name(), "REGRESSED", messages, profiles);
+        }
+
+        boolean regressed = false;
+        for (int i = 0; i < profiles.size(); i++) {
+            StatementProfile before = expected.get(i);
+            StatementProfile after = profiles.get(i);
+
+            List<String> beforeShape = shape(before);
+            List<String> afterShape = shape(after);
+            if (!beforeShape.equals(afterShape)) {
+                regressed = true;
+                messages.add("Statement %d operator shape changed: %s -> %s".formatted(i, beforeShape, afterShape));
+            }
+
+            long limit = (long) Math.ceil(before.dbHits() * (1 + dbHitsTolerance)) + dbHitsSlack;
+            if (after.dbHits() > limit) {
+                regressed = true;
+                messages.add("Statement %d db hits increased: %d -> %d (limit %d)"
+                        .formatted(i, before.dbHits(), after.dbHits(), limit));
+            } else if (after.dbHits() < before.dbHits() * (1 - dbHitsTolerance) - dbHitsSlack) {
+                messages.add("Statement %d db hits improved: %d -> %d. Consider updating the baseline."
+                        .formatted(i, before.dbHits(), after.dbHits()));
+            }
+        }
+        return new EntryResult(entry.name(), regressed ? "REGRESSED" : "PASS", messages, profiles);
+    }
+
+    /**
+     * 항목의 요청을 실행하면서 드라이버로 나간 문장을 기록합니다. 캐시 상태에 따라 달라지는 SHOW / db 프로시저 조회는 제외합니다.
+     */
+    private List<CapturedStatement> capture(CatalogEntry entry) {
+        String startId = resolveStart(entry);
+        Map<String, Object> request = entry.request() == null ? Map.of() : entry.request();
+
+        List<CapturedStatement> statements;
+        CypherStatementCapture.begin();
+        try {
+            switch (entry.type()) {
+                case "SEARCH" -> graphSearchService.searchByCyphers(objectMapper.convertValue(request, GraphSearchRequestDto.class));
+                case "LABEL_TABLE" -> genericNodeService.getNodesByLabelForTable(
+                        objectMapper.convertValue(request, GraphLabelNodesRequestDto.class));
+                case "CHILDREN" -> genericNodeService.getChildrenNodes(startId);
+                case "NEIGHBORS" -> graphCommonService.findNodeAndNeighbors(startId, false);
+                case "NEIGHBORS_BATCH" -> graphCommonService.findSpecificNodeNeighborsBatch(startId,
+                        objectMapper.convertValue(request.get("criteriaList"), new TypeReference<List<GraphExpansionCriteriaDto>>() {}),
+                        (Integer) request.get("limit"));
+                case "EXPAND" -> graphCommonService.expandNeighborhood(startId,
+                        objectMapper.convertValue(request, GraphMultiHopRequestDto.class));
+                default -> throw new IllegalArgumentException("Unknown catalog entry type: " + entry.type());
+            }
+        } finally {
+            statements = CypherStatementCapture.end();
+        }
+
+        return statements.stream()
+                .filter(statement -> !isEnvironmentLookup(statement.text()))
+                .toList();
+    }
+
+    private boolean isEnvironmentLookup(String text) {
+        String normalized = text.stripLeading().toUpperCase(Locale.ROOT);
+        return normalized.startsWith("SHOW ") || normalized.startsWith("CALL DB.");
+    }
+
+    /**
+     * 시작 노드 조건(label, property, value)에 맞는 첫 노드의 elementId 입니다. 픽스처를 다시 적재하면 elementId 가 바뀔 수 있으므로 값으로 찾습니다.
+     */
+    private String resolveStart(CatalogEntry entry) {
+        Map<String, Object> start = entry.start();
+        if (start == null) return null;
+
+        String label = (String) start.get("label");
+        String property = (String) start.get("property");
+        if (label == null || property == null) {
+            throw new IllegalArgumentException("start requires label and property: " + entry.name());
+        }
+        List<String> ids = genericNodeRepository.findNodeIds(label, Map.of(property, start.get("value")), 1);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Start node not found for " + entry.name() + ": " + start);
+        }
+        return ids.get(0);
+    }
+
+    /**
+     * 문장을 PROFILE 로 실행해 연산자별 DB hits 와 행 수를 구합니다. 읽기 전용 트랜잭션에서 실행하고 롤백합니다.
+     */
+    private StatementProfile profile(CapturedStatement statement) {
+        SessionConfig sessionConfig = SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build();
+        TransactionConfig txConfig = TransactionConfig.builder().withTimeout(timeout).build();
+
+        ProfiledPlan root;
+        try (Session session = driver.session(sessionConfig);
+             Transaction tx = session.beginTransaction(txConfig)) {
+            root = tx.run(new Query("PROFILE " + statement.text(), statement.parameters())).consume().profile();
+            tx.rollback();
+        }
+
+        List<Operator> operators = new ArrayList<>();
+        long dbHits = 0;
+        Deque<Map.Entry<ProfiledPlan, Integer>> stack = new ArrayDeque<>();
+        stack.push(Map.entry(root, 0));
+        while (!stack.isEmpty()) {
+            Map.Entry<ProfiledPlan, Integer> entry = stack.pop();
+            ProfiledPlan plan = entry.getKey();
+            Value details = plan.arguments().get("Details");
+            operators.add(new Operator(normalizeOperator(plan.operatorType()), entry.getValue(), plan.dbHits(), plan.records(),
+                    details == null || details.isNull() ? null : details.asString()));
+            dbHits += plan.dbHits();
+
+            List<ProfiledPlan> children = plan.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(Map.entry(children.get(i), entry.getValue() + 1));
+            }
+        }
+        return new StatementProfile(statement.text(), dbHits, root.records(), operators);
+    }
+
+    private String normalizeOperator(String operatorType) {
+        int at = operatorType.indexOf('@');
+        return at > 0 ? operatorType.substring(0, at) : operatorType;
+    }
+
+    /**
+     * 비교에 사용하는 실행 계획 모양입니다. (깊이:연산자, 전위 순회)
+     */
+    private List<String> shape(StatementProfile profile) {
+        return profile.operators().stream()
+                .map(operator -> operator.depth() + ":" + operator.operator())
+                .toList();
+    }
+
+    /**
+     * 카탈로그 항목입니다. type 은 SEARCH | LABEL_TABLE | CHILDREN | NEIGHBORS | NEIGHBORS_BATCH | EXPAND,
+     * start 는 노드 기준 요청의 시작 노드 조건(label, property, value), request 는 요청 종류별 API 요청 본문입니다.
+     */
+    record CatalogEntry(String name, String type, String description, Map<String, Object> start, Map<String, Object> request) {
+    }
+
+    /**
+     * PROFILE 한 문장 하나의 결과입니다. operators 는 전위 순회 순서입니다.
+     */
+    record StatementProfile(String statement, long dbHits, long rows, List<Operator> operators) {
+    }
+
+    record Operator(String operator, int depth, long dbHits, long rows, String details) {
+    }
+
+    /**
+     * 항목별 검사 결과입니다. status 는 PASS | REGRESSED | NO_BASELINE | ERROR 입니다.
+     */
+    record EntryResult(String name, String status, List<String> messages, List<StatementProfile> profiles) {
+    }
+}